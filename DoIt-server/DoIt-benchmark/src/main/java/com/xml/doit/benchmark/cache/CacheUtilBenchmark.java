@@ -0,0 +1,111 @@
+package com.xml.doit.benchmark.cache;
+
+import com.xml.common.util.cache.CacheUtil;
+import com.xml.common.util.cache.memory.MemoryCacheUtil;
+import com.xml.common.util.cache.redis.configuration.DoItRedisConfiguration;
+import com.xml.common.util.cache.redis.constants.RedisConstants;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CacheUtil逐个读写与批量读写的对比，每次调用读写batchSize个键<br/>
+ * <li>backend=memory：进程内实现，不依赖外部服务，衡量调用本身的开销</li>
+ * <li>backend=redis：RedisUtil，需要可访问的Redis，如 -p backend=redis -p redisHost=localhost -p redisPort=6379，
+ * 或通过Maven的benchmark-redis profile运行</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheUtilBenchmark {
+
+    private static final String KEY_PREFIX = "doit:benchmark:";
+
+    @Param({"memory"})
+    private String backend;
+
+    @Param({"localhost"})
+    private String redisHost;
+
+    @Param({"6379"})
+    private int redisPort;
+
+    @Param({"10", "100"})
+    private int batchSize;
+
+    private AnnotationConfigApplicationContext context;
+
+    private CacheUtil cacheUtil;
+
+    private List<String> keys;
+
+    private Map<String, Object> values;
+
+    @Setup
+    public void setUp() {
+        if ("redis".equals(backend)) {
+            context = new AnnotationConfigApplicationContext();
+            context.registerBean(LettuceConnectionFactory.class, () -> new LettuceConnectionFactory(redisHost, redisPort));
+            context.register(DoItRedisConfiguration.class);
+            context.refresh();
+            cacheUtil = context.getBean(CacheUtil.class);
+        } else {
+            cacheUtil = new MemoryCacheUtil(RedisConstants.DEFAULT_MEMORY_TICK_MILLIS, RedisConstants.DEFAULT_MEMORY_WHEEL_SIZE);
+        }
+        keys = new ArrayList<>(batchSize);
+        values = new LinkedHashMap<>(batchSize * 2);
+        for (int i = 0; i < batchSize; i++) {
+            String key = KEY_PREFIX + i;
+            keys.add(key);
+            values.put(key, "value-" + i);
+        }
+        cacheUtil.batchSetString(values, 0);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        cacheUtil.batchDeleteByKey(keys);
+        if (context != null) {
+            context.close();
+        } else {
+            ((MemoryCacheUtil) cacheUtil).destroy();
+        }
+    }
+
+    @Benchmark
+    public void singleGet(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(cacheUtil.getString(key));
+        }
+    }
+
+    @Benchmark
+    public List<Object> batchGet() {
+        return cacheUtil.batchGetString(keys);
+    }
+
+    @Benchmark
+    public void singleSet(Blackhole blackhole) {
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            blackhole.consume(cacheUtil.setString(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Benchmark
+    public boolean batchSet() {
+        return cacheUtil.batchSetString(values, 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.xml.doit.benchmark.context;
+
+import com.xml.doit.common.core.context.SpringContextHolder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 无法注入时通过 {@link SpringContextHolder} 查找bean的开销，对照直接调用容器查找
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpringBeanLookupBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(SpringContextHolder.class);
+        for (int i = 0; i < 50; i++) {
+            context.registerBean("filler" + i, Filler.class);
+        }
+        context.registerBean("primaryHandler", Handler.class, () -> new Handler("primary"));
+        context.registerBean("backupHandler", Handler.class, () -> new Handler("backup"));
+        context.registerBean(Service.class);
+        context.refresh();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Service contextGetBean() {
+        return context.getBean(Service.class);
+    }
+
+    @Benchmark
+    public Service holderGetBean() {
+        return SpringContextHolder.getBean(Service.class);
+    }
+
+    @Benchmark
+    public Handler contextGetNamedBean() {
+        return context.getBean("backupHandler", Handler.class);
+    }
+
+    @Benchmark
+    public Handler holderGetNamedBean() {
+        return SpringContextHolder.getBean("backupHandler", Handler.class);
+    }
+
+    @Benchmark
+    public Map<String, Handler> contextGetBeansOfType() {
+        return context.getBeansOfType(Handler.class);
+    }
+
+    @Benchmark
+    public Map<String, Handler> holderGetBeansOfType() {
+        return SpringContextHolder.getBeansOfType(Handler.class);
+    }
+
+    public static class Filler {
+    }
+
+    public static class Service {
+    }
+
+    public static class Handler {
+
+        private final String name;
+
+        public Handler(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
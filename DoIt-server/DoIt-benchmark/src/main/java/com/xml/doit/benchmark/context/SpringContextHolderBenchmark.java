@@ -0,0 +1,70 @@
+package com.xml.doit.benchmark.context;
+
+import com.xml.doit.common.core.context.SpringContextHolder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求上下文的读写开销：每个请求通常写入几项、读取多次，结束时清除
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpringContextHolderBenchmark {
+
+    private static final String USER_ID = "userId";
+
+    private static final String TENANT_ID = "tenantId";
+
+    private static final String TRACE_ID = "traceId";
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        SpringContextHolder.set(USER_ID, "42");
+        SpringContextHolder.set(TENANT_ID, "7");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        SpringContextHolder.removeLocalMap();
+    }
+
+    @Benchmark
+    public String get() {
+        return SpringContextHolder.get(USER_ID);
+    }
+
+    @Benchmark
+    public String getMissing() {
+        return SpringContextHolder.get(TRACE_ID);
+    }
+
+    @Benchmark
+    public void set() {
+        SpringContextHolder.set(USER_ID, "42");
+    }
+
+    /**
+     * 模拟一个请求：写入3项、读取6次后清除
+     */
+    @Benchmark
+    public void request(Blackhole blackhole) {
+        SpringContextHolder.set(USER_ID, "42");
+        SpringContextHolder.set(TENANT_ID, "7");
+        SpringContextHolder.set(TRACE_ID, "a1b2c3");
+        for (int i = 0; i < 2; i++) {
+            blackhole.consume(SpringContextHolder.get(USER_ID));
+            blackhole.consume(SpringContextHolder.get(TENANT_ID));
+            blackhole.consume(SpringContextHolder.get(TRACE_ID));
+        }
+        SpringContextHolder.removeLocalMap();
+    }
+}
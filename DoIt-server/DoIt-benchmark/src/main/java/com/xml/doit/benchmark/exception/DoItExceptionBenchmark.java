@@ -0,0 +1,99 @@
+package com.xml.doit.benchmark.exception;
+
+import com.xml.doit.common.core.exception.DoItException;
+import com.xml.doit.common.core.exception.DoItExceptionCode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 业务异常的开销：创建、在不同调用深度抛出并捕获，以及不使用异常返回错误码作为对照<br/>
+ * 创建异常时填充调用栈的开销随调用深度增长，无调用栈及预先创建的异常不受调用深度影响
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoItExceptionBenchmark {
+
+    /**
+     * 抛出异常时的调用深度，Web请求中业务代码的调用深度通常在100以上
+     */
+    @Param({"10", "100"})
+    private int depth;
+
+    @Benchmark
+    public DoItException create() {
+        return new DoItException(DoItExceptionCode.SYSTEM_501);
+    }
+
+    @Benchmark
+    public int throwAndCatch() {
+        try {
+            return this.throwAt(depth);
+        } catch (DoItException e) {
+            return e.getServiceResult().getCode();
+        }
+    }
+
+    @Benchmark
+    public DoItException createStackless() {
+        return DoItException.stackless(DoItExceptionCode.SYSTEM_501);
+    }
+
+    @Benchmark
+    public int throwStacklessAndCatch() {
+        try {
+            return this.throwStacklessAt(depth);
+        } catch (DoItException e) {
+            return e.getServiceResult().getCode();
+        }
+    }
+
+    @Benchmark
+    public int throwCachedAndCatch() {
+        try {
+            return this.throwCachedAt(depth);
+        } catch (DoItException e) {
+            return e.getServiceResult().getCode();
+        }
+    }
+
+    @Benchmark
+    public int returnCode() {
+        return this.returnAt(depth);
+    }
+
+    private int throwAt(int remaining) {
+        if (remaining == 0) {
+            throw new DoItException(DoItExceptionCode.SYSTEM_501);
+        }
+        return this.throwAt(remaining - 1);
+    }
+
+    private int throwStacklessAt(int remaining) {
+        if (remaining == 0) {
+            throw DoItException.stackless(DoItExceptionCode.SYSTEM_501);
+        }
+        return this.throwStacklessAt(remaining - 1);
+    }
+
+    private int throwCachedAt(int remaining) {
+        if (remaining == 0) {
+            throw DoItException.of(DoItExceptionCode.SYSTEM_501);
+        }
+        return this.throwCachedAt(remaining - 1);
+    }
+
+    private int returnAt(int remaining) {
+        if (remaining == 0) {
+            return DoItExceptionCode.SYSTEM_501.getCode();
+        }
+        return this.returnAt(remaining - 1);
+    }
+}
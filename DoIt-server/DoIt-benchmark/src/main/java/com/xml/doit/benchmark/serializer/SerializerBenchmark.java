@@ -0,0 +1,124 @@
+package com.xml.doit.benchmark.serializer;
+
+import com.xml.common.util.cache.redis.constants.RedisConstants;
+import com.xml.common.util.cache.redis.serializer.CompactRedisSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisTemplate值序列化基准：默认的JDK序列化与紧凑序列化<br/>
+ * 序列化基准同时输出数据大小（payloadBytes，字节），与吞吐量一起写入JSON结果
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+    /**
+     * 子项数量：0 为单个待办，100 为一整页并会触发压缩
+     */
+    @Param({"0", "100"})
+    private int childrenSize;
+
+    private RedisSerializer<Object> jdk;
+
+    private RedisSerializer<Object> compact;
+
+    private RedisSerializer<Object> compactRegistered;
+
+    private TodoSample sample;
+
+    private byte[] jdkBytes;
+
+    private byte[] compactBytes;
+
+    private byte[] compactRegisteredBytes;
+
+    @Setup
+    public void setUp() {
+        jdk = new JdkSerializationRedisSerializer();
+        compact = new CompactRedisSerializer(RedisConstants.DEFAULT_COMPRESS_THRESHOLD, null);
+        compactRegistered = new CompactRedisSerializer(RedisConstants.DEFAULT_COMPRESS_THRESHOLD,
+                Collections.singletonMap(TodoSample.class, 100));
+        sample = TodoSample.of(42, childrenSize);
+        jdkBytes = jdk.serialize(sample);
+        compactBytes = compact.serialize(sample);
+        compactRegisteredBytes = compactRegistered.serialize(sample);
+    }
+
+    @Benchmark
+    public byte[] jdkSerialize(PayloadSize payloadSize) {
+        return payloadSize.record(jdk.serialize(sample));
+    }
+
+    @Benchmark
+    public byte[] compactSerialize(PayloadSize payloadSize) {
+        return payloadSize.record(compact.serialize(sample));
+    }
+
+    @Benchmark
+    public byte[] compactRegisteredSerialize(PayloadSize payloadSize) {
+        return payloadSize.record(compactRegistered.serialize(sample));
+    }
+
+    @Benchmark
+    public Object jdkDeserialize() {
+        return jdk.deserialize(jdkBytes);
+    }
+
+    @Benchmark
+    public Object compactDeserialize() {
+        return compact.deserialize(compactBytes);
+    }
+
+    @Benchmark
+    public Object compactRegisteredDeserialize() {
+        return compactRegistered.deserialize(compactRegisteredBytes);
+    }
+
+    /**
+     * 序列化后的数据大小，作为次要结果输出<br/>
+     * EVENTS类型的计数在各轮、各线程之间求和，同一参数下每次序列化的大小相同，
+     * 因此只在第一个线程的第一轮测量中记录，最终结果即为单次的字节数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        /**
+         * 单次序列化的字节数
+         */
+        public long payloadBytes;
+
+        private boolean active;
+
+        private boolean recorded;
+
+        @Setup(Level.Iteration)
+        public void reset(IterationParams iterationParams, ThreadParams threadParams) {
+            payloadBytes = 0;
+            active = !recorded && iterationParams.getType() == IterationType.MEASUREMENT && threadParams.getThreadIndex() == 0;
+        }
+
+        byte[] record(byte[] bytes) {
+            if (active) {
+                payloadBytes = bytes.length;
+                recorded = true;
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.xml.doit.benchmark.serializer;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 序列化基准测试使用的待办事项样本
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+public class TodoSample implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long listId;
+
+    private String title;
+
+    private String description;
+
+    private boolean done;
+
+    private int priority;
+
+    private long createTime;
+
+    private List<String> tags = new ArrayList<>();
+
+    private List<TodoSample> children = new ArrayList<>();
+
+    /**
+     * 生成样本
+     *
+     * @param id           id
+     * @param childrenSize 子项数量
+     * @return 样本
+     */
+    public static TodoSample of(long id, int childrenSize) {
+        TodoSample sample = new TodoSample();
+        sample.setId(id);
+        sample.setListId(id % 64);
+        sample.setTitle("待办事项-" + id);
+        sample.setDescription("因为市面上的TO-DO工具都感觉缺点意思，所以打算自己做一个。#" + id);
+        sample.setDone(id % 3 == 0);
+        sample.setPriority((int) (id % 5));
+        sample.setCreateTime(1700000000000L + id);
+        sample.getTags().add("work");
+        sample.getTags().add("list:" + id % 64);
+        for (int i = 0; i < childrenSize; i++) {
+            sample.getChildren().add(of(id * 1000 + i, 0));
+        }
+        return sample;
+    }
+}
@@ -0,0 +1,80 @@
+package com.xml.doit.common.core.api;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+
+/**
+ * 统一的接口响应结构 {"code":..,"message":"..","data":..}<br/>
+ * 创建后不可修改；{@link #ok()} 返回共享的实例，由 {@link DoItResponseWriter} 直接写出缓存的字节
+ *
+ * @param <T> The type of data
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+@JsonPropertyOrder({"code", "message", "data"})
+public class DoItResponseData<T> implements ResponseData<T> {
+
+    public static final int SUCCESS_CODE = 200;
+
+    public static final String SUCCESS_MESSAGE = "操作成功";
+
+    static final DoItResponseData<Object> OK = new DoItResponseData<>(SUCCESS_CODE, SUCCESS_MESSAGE, null);
+
+    private final int code;
+
+    private final String message;
+
+    private final T data;
+
+    public DoItResponseData(int code, String message, T data) {
+        this.code = code;
+        this.message = message;
+        this.data = data;
+    }
+
+    /**
+     * 无数据的成功响应
+     *
+     * @param <T> 泛型
+     * @return 共享的实例
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> DoItResponseData<T> ok() {
+        return (DoItResponseData<T>) OK;
+    }
+
+    /**
+     * 成功响应
+     *
+     * @param data 数据
+     * @param <T>  泛型
+     * @return 响应
+     */
+    public static <T> DoItResponseData<T> ok(T data) {
+        return data == null ? ok() : new DoItResponseData<>(SUCCESS_CODE, SUCCESS_MESSAGE, data);
+    }
+
+    /**
+     * 失败响应
+     *
+     * @param result 响应结果
+     * @param <T>    泛型
+     * @return 响应
+     */
+    public static <T> DoItResponseData<T> fail(ServiceResult result) {
+        return new DoItResponseData<>(result.getCode(), result.getMessage(), null);
+    }
+
+    /**
+     * 失败响应
+     *
+     * @param code    响应代码
+     * @param message 响应信息
+     * @param <T>     泛型
+     * @return 响应
+     */
+    public static <T> DoItResponseData<T> fail(int code, String message) {
+        return new DoItResponseData<>(code, message, null);
+    }
+}
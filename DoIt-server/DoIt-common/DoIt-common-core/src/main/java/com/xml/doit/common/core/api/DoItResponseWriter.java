@@ -0,0 +1,222 @@
+package com.xml.doit.common.core.api;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.xml.doit.common.core.exception.DoItExceptionCode;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 响应结构的序列化，与Spring MVC使用同一个 {@link ObjectMapper}<br/>
+ * <li>{@link DoItResponseData#ok()} 及 {@link DoItExceptionCode} 的响应体在启动时序列化，其他枚举类型的响应结果在第一次出现时序列化，之后直接写出字节</li>
+ * <li>缓存的响应体每次返回副本，调用方修改返回的字节不会影响之后的响应</li>
+ * <li>列表数据通过 {@link #writeList(Iterable, HttpServletResponse)} 逐项写入响应输出流，不在内存中拼接完整的JSON，全部写完后只刷新一次</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class DoItResponseWriter {
+
+    /**
+     * 枚举类型的响应结果数量有限，缓存数量的上限用于防止误用
+     */
+    private static final int MAX_CACHED_BODIES = 1024;
+
+    private static final HttpHeaders HEADERS;
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 写入列表项，每项写完后不刷新输出流
+     */
+    private final ObjectWriter itemWriter;
+
+    private final byte[] okBody;
+
+    private final Map<DoItExceptionCode, Body> codeBodies = new EnumMap<>(DoItExceptionCode.class);
+
+    private final Map<ServiceResult, Body> enumBodies = new ConcurrentHashMap<>();
+
+    public DoItResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.itemWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.okBody = this.serialize(DoItResponseData.OK);
+        for (DoItExceptionCode code : DoItExceptionCode.values()) {
+            codeBodies.put(code, new Body(code));
+        }
+    }
+
+    /**
+     * 序列化响应
+     *
+     * @param data 响应
+     * @return JSON字节
+     */
+    public byte[] toBytes(ResponseData<?> data) {
+        return data == DoItResponseData.OK ? okBody.clone() : this.serialize(data);
+    }
+
+    /**
+     * 序列化响应，HTTP状态为200
+     *
+     * @param data 响应
+     * @return 响应实体
+     */
+    public ResponseEntity<byte[]> toEntity(ResponseData<?> data) {
+        return this.entity(data == DoItResponseData.OK ? okBody.clone() : this.serialize(data));
+    }
+
+    /**
+     * 失败响应，HTTP状态为200，枚举类型的响应结果直接使用缓存的字节
+     *
+     * @param result 响应结果
+     * @return 响应实体
+     */
+    public ResponseEntity<byte[]> toEntity(ServiceResult result) {
+        return this.entity(this.errorBody(result));
+    }
+
+    /**
+     * 将响应写入输出流，不关闭输出流
+     *
+     * @param data 响应
+     * @param out  输出流
+     * @throws IOException 写入失败
+     */
+    public void write(ResponseData<?> data, OutputStream out) throws IOException {
+        if (data == DoItResponseData.OK) {
+            out.write(okBody);
+            return;
+        }
+        try (JsonGenerator generator = this.generator(out)) {
+            objectMapper.writeValue(generator, data);
+        }
+    }
+
+    /**
+     * 将列表数据作为成功响应逐项写入输出流，关闭生成器时刷新一次，不关闭输出流
+     *
+     * @param items 数据，可以是按需加载的迭代器
+     * @param out   输出流
+     * @throws IOException 写入失败
+     */
+    public void writeList(Iterable<?> items, OutputStream out) throws IOException {
+        try (JsonGenerator generator = this.generator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("code", DoItResponseData.SUCCESS_CODE);
+            generator.writeStringField("message", DoItResponseData.SUCCESS_MESSAGE);
+            generator.writeArrayFieldStart("data");
+            for (Object item : items) {
+                itemWriter.writeValue(generator, item);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * 将列表数据作为成功响应直接写入HTTP响应
+     *
+     * @param items    数据，可以是按需加载的迭代器
+     * @param response HTTP响应
+     * @throws IOException 写入失败
+     */
+    public void writeList(Iterable<?> items, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        this.writeList(items, response.getOutputStream());
+    }
+
+    /**
+     * 获取失败响应的字节，枚举的code或message被修改后重新序列化；缓存的字节返回副本
+     *
+     * @param result 响应结果
+     * @return JSON字节
+     */
+    private byte[] errorBody(ServiceResult result) {
+        Body body;
+        if (result instanceof DoItExceptionCode) {
+            body = codeBodies.get(result);
+        } else if (result instanceof Enum) {
+            body = enumBodies.get(result);
+            if (body == null && enumBodies.size() < MAX_CACHED_BODIES) {
+                body = enumBodies.computeIfAbsent(result, Body::new);
+            }
+        } else {
+            return this.serialize(DoItResponseData.fail(result));
+        }
+        if (body == null) {
+            return this.serialize(DoItResponseData.fail(result));
+        }
+        if (!body.matches(result)) {
+            body = new Body(result);
+            if (result instanceof DoItExceptionCode) {
+                // EnumMap的写入只替换数组中的引用，Body不可变，并发读取无需加锁
+                codeBodies.put((DoItExceptionCode) result, body);
+            } else {
+                enumBodies.put(result, body);
+            }
+        }
+        return body.bytes.clone();
+    }
+
+    private ResponseEntity<byte[]> entity(byte[] body) {
+        return new ResponseEntity<>(body, HEADERS, HttpStatus.OK);
+    }
+
+    private JsonGenerator generator(OutputStream out) throws IOException {
+        return objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private byte[] serialize(ResponseData<?> data) {
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 序列化后的响应体，记录序列化时的code与message
+     */
+    private final class Body {
+
+        private final int code;
+
+        private final String message;
+
+        private final byte[] bytes;
+
+        private Body(ServiceResult result) {
+            this.code = result.getCode();
+            this.message = result.getMessage();
+            this.bytes = serialize(DoItResponseData.fail(code, message));
+        }
+
+        private boolean matches(ServiceResult result) {
+            return code == result.getCode() && message == result.getMessage();
+        }
+    }
+}
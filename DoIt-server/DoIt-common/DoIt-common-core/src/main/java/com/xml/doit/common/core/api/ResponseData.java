@@ -5,7 +5,26 @@ package com.xml.doit.common.core.api;
  *
  * @param <T> The type of data
  * @author XMINGL
+ * @see DoItResponseData
  * @since 1.0.0
  */
 public interface ResponseData<T> {
+
+    /**
+     * 获取响应code
+     * @return 响应代码
+     */
+    int getCode();
+
+    /**
+     * 获取响应信息
+     * @return 响应信息
+     */
+    String getMessage();
+
+    /**
+     * 获取响应数据
+     * @return 响应数据
+     */
+    T getData();
 }
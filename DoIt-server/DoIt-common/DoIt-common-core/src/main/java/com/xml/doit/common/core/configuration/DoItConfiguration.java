@@ -1,6 +1,12 @@
 package com.xml.doit.common.core.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xml.doit.common.core.api.DoItResponseWriter;
+import com.xml.doit.common.core.context.RequestContextCleanupFilter;
+import com.xml.doit.common.core.context.RequestContextTaskDecorator;
 import com.xml.doit.common.core.context.SpringContextHolder;
+import com.xml.doit.common.core.exception.DoItExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,4 +22,31 @@ public class DoItConfiguration {
     public SpringContextHolder springContextHolder(){
         return new SpringContextHolder();
     }
+
+    @Bean
+    public RequestContextCleanupFilter requestContextCleanupFilter() {
+        return new RequestContextCleanupFilter();
+    }
+
+    /**
+     * 异步任务传递请求上下文；JDK 21及以上配置 spring.threads.virtual.enabled=true 后，
+     * Tomcat请求及applicationTaskExecutor均使用虚拟线程
+     */
+    @Bean
+    public RequestContextTaskDecorator requestContextTaskDecorator() {
+        return new RequestContextTaskDecorator();
+    }
+
+    /**
+     * 使用Spring MVC配置的ObjectMapper，保证响应的序列化方式一致
+     */
+    @Bean
+    public DoItResponseWriter doItResponseWriter(ObjectProvider<ObjectMapper> objectMapper) {
+        return new DoItResponseWriter(objectMapper.getIfAvailable(ObjectMapper::new));
+    }
+
+    @Bean
+    public DoItExceptionHandler doItExceptionHandler(DoItResponseWriter doItResponseWriter) {
+        return new DoItExceptionHandler(doItResponseWriter);
+    }
 }
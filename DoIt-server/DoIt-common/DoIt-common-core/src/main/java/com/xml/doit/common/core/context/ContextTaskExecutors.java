@@ -0,0 +1,47 @@
+package com.xml.doit.common.core.context;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * 创建传递请求上下文的执行器，用于把阻塞的Redis、数据库调用并行拆分为子任务<br/>
+ * 运行在JDK 21及以上时每个任务使用一个虚拟线程，否则使用数量受限的平台线程
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public final class ContextTaskExecutors {
+
+    private static final boolean VIRTUAL_THREADS_AVAILABLE = Runtime.version().feature() >= 21;
+
+    private ContextTaskExecutors() {
+    }
+
+    /**
+     * 当前JVM是否支持虚拟线程
+     *
+     * @return 结果
+     */
+    public static boolean isVirtualThreadsAvailable() {
+        return VIRTUAL_THREADS_AVAILABLE;
+    }
+
+    /**
+     * 创建执行器，每个任务使用一个新的线程
+     *
+     * @param threadNamePrefix         线程名前缀
+     * @param platformConcurrencyLimit 不支持虚拟线程时同时执行的任务数上限，超出时提交任务的线程等待
+     * @return 执行器
+     */
+    public static AsyncTaskExecutor newTaskExecutor(String threadNamePrefix, int platformConcurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        if (VIRTUAL_THREADS_AVAILABLE) {
+            executor.setVirtualThreads(true);
+        } else {
+            executor.setDaemon(true);
+            executor.setConcurrencyLimit(platformConcurrencyLimit);
+        }
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        return executor;
+    }
+}
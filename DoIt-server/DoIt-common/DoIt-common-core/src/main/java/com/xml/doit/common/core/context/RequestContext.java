@@ -0,0 +1,183 @@
+package com.xml.doit.common.core.context;
+
+import com.xml.doit.common.core.constants.DoItStrPool;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 请求上下文<br/>
+ * <li>常用的用户、租户、链路ID保存在固定的字段中，其他键保存在按需创建的map中</li>
+ * <li>读取不创建对象；同一个线程复用同一个实例，请求结束时通过 {@link #reset()} 清空</li>
+ * <li>只在所属线程内读写，传递到其他线程时通过 {@link #copy()} 复制，见 {@link SpringContextHolder#wrap(Runnable)}</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public final class RequestContext {
+
+    public static final String USER_ID = "userId";
+
+    public static final String TENANT_ID = "tenantId";
+
+    public static final String TRACE_ID = "traceId";
+
+    private String userId;
+
+    private String tenantId;
+
+    private String traceId;
+
+    /**
+     * 其他键，第一次写入时创建，reset时清空后复用
+     */
+    private Map<String, String> extras;
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public RequestContext setUserId(String userId) {
+        this.userId = userId;
+        return this;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public RequestContext setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+        return this;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public RequestContext setTraceId(String traceId) {
+        this.traceId = traceId;
+        return this;
+    }
+
+    /**
+     * 获取值
+     *
+     * @param key 键
+     * @return 值，不存在时为null
+     */
+    public String get(String key) {
+        switch (key) {
+            case USER_ID:
+                return userId;
+            case TENANT_ID:
+                return tenantId;
+            case TRACE_ID:
+                return traceId;
+            default:
+                return extras == null ? null : extras.get(key);
+        }
+    }
+
+    /**
+     * 设置值
+     *
+     * @param key   键
+     * @param value 值，为null时保存为空字符串
+     * @return this
+     */
+    public RequestContext set(String key, String value) {
+        String nonNull = value == null ? DoItStrPool.EMPTY : value;
+        switch (key) {
+            case USER_ID:
+                userId = nonNull;
+                break;
+            case TENANT_ID:
+                tenantId = nonNull;
+                break;
+            case TRACE_ID:
+                traceId = nonNull;
+                break;
+            default:
+                if (extras == null) {
+                    extras = new HashMap<>(8);
+                }
+                extras.put(key, nonNull);
+        }
+        return this;
+    }
+
+    /**
+     * 批量设置值
+     *
+     * @param values 键值
+     * @return this
+     */
+    public RequestContext setAll(Map<String, String> values) {
+        if (values != null) {
+            values.forEach(this::set);
+        }
+        return this;
+    }
+
+    /**
+     * 是否没有任何值
+     *
+     * @return 结果
+     */
+    public boolean isEmpty() {
+        return userId == null && tenantId == null && traceId == null && (extras == null || extras.isEmpty());
+    }
+
+    /**
+     * 清空所有值，实例可以继续用于下一个请求
+     */
+    public void reset() {
+        userId = null;
+        tenantId = null;
+        traceId = null;
+        if (extras != null) {
+            extras.clear();
+        }
+    }
+
+    /**
+     * 复制，用于传递到其他线程
+     *
+     * @return 新的实例
+     */
+    public RequestContext copy() {
+        RequestContext copy = new RequestContext();
+        copy.userId = userId;
+        copy.tenantId = tenantId;
+        copy.traceId = traceId;
+        if (extras != null && !extras.isEmpty()) {
+            copy.extras = new HashMap<>(extras);
+        }
+        return copy;
+    }
+
+    /**
+     * 转换为map，用于日志等场景
+     *
+     * @return 只读的键值
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        if (userId != null) {
+            map.put(USER_ID, userId);
+        }
+        if (tenantId != null) {
+            map.put(TENANT_ID, tenantId);
+        }
+        if (traceId != null) {
+            map.put(TRACE_ID, traceId);
+        }
+        if (extras != null) {
+            map.putAll(extras);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,34 @@
+package com.xml.doit.common.core.context;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 请求结束时清空当前线程的请求上下文，避免线程复用时读到上一个请求的值
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class RequestContextCleanupFilter extends OncePerRequestFilter implements Ordered {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SpringContextHolder.removeLocalMap();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
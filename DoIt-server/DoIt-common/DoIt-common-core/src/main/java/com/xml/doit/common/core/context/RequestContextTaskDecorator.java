@@ -0,0 +1,19 @@
+package com.xml.doit.common.core.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 将提交任务时的请求上下文传递到执行任务的线程<br/>
+ * Spring Boot自动配置的applicationTaskExecutor（包括 spring.threads.virtual.enabled=true 时的虚拟线程执行器）
+ * 会自动使用该bean；自行创建的执行器通过setTaskDecorator设置
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return SpringContextHolder.wrap(runnable);
+    }
+}
@@ -1,28 +1,42 @@
 package com.xml.doit.common.core.context;
 
-import cn.hutool.core.convert.Convert;
-import cn.hutool.core.map.MapUtil;
-import com.alibaba.ttl.TransmittableThreadLocal;
 import com.xml.doit.common.core.constants.DoItStrPool;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
- * Spring上下文管理工具
+ * Spring上下文管理工具<br/>
+ * 请求上下文保存在普通的ThreadLocal中，不随线程创建自动继承：{@code new Thread}、
+ * {@code CompletableFuture.*Async} 使用的公共线程池以及并行流中都读取不到当前请求的上下文。
+ * 在其他线程（包括虚拟线程）中执行的任务通过 {@link #wrap(Runnable)}、{@link #wrap(Callable)}、
+ * {@link RequestContextTaskDecorator} 或 {@link ContextTaskExecutors} 创建的执行器传递<br/>
+ * 按类型、按类型及名称获取的单例bean会被缓存，非单例的bean每次从容器获取；容器刷新或关闭时清空缓存
  *
  * @author XMINGL
  * @since 1.0.0
  */
-public class SpringContextHolder implements ApplicationContextAware {
+public class SpringContextHolder implements ApplicationContextAware, ApplicationListener<ApplicationContextEvent> {
 
     /**
      * 上下文对象实例
@@ -30,22 +44,119 @@ public class SpringContextHolder implements ApplicationContextAware {
     @Getter
     private static ApplicationContext applicationContext;
 
-    private static final ThreadLocal<Map<String, String>> THREAD_LOCAL = new TransmittableThreadLocal<>();
+    /**
+     * 第一次写入时创建，平台线程上复用；只读取时不创建，避免为每个虚拟线程分配
+     */
+    private static final ThreadLocal<RequestContext> THREAD_LOCAL = new ThreadLocal<>();
+
+    /**
+     * 按类型缓存的单例bean
+     */
+    private static final Map<Class<?>, Object> BEAN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 按类型及名称缓存的单例bean
+     */
+    private static final Map<BeanKey, Object> NAMED_BEAN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 按类型缓存的所有单例bean，不可修改
+     */
+    private static final Map<Class<?>, Map<String, ?>> BEANS_OF_TYPE_CACHE = new ConcurrentHashMap<>();
 
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         SpringContextHolder.applicationContext = applicationContext;
+        clearBeanCache();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationContextEvent event) {
+        if (event instanceof ContextRefreshedEvent || event instanceof ContextClosedEvent) {
+            clearBeanCache();
+        }
     }
 
     /**
-     * 根据class类型获取bean
+     * 根据class类型获取bean，所有候选bean都是单例时缓存结果
      *
      * @param clazz 接口class类型
      * @param <T>   泛型
      * @return 实例
      */
+    @SuppressWarnings("unchecked")
     public static <T> T getBean(Class<T> clazz) {
-        return applicationContext.getBean(clazz);
+        Object bean = BEAN_CACHE.get(clazz);
+        if (bean != null) {
+            return (T) bean;
+        }
+        T resolved = applicationContext.getBean(clazz);
+        if (allSingleton(BeanFactoryUtils.beanNamesForTypeIncludingAncestors(applicationContext, clazz))) {
+            BEAN_CACHE.put(clazz, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * 根据名称及class类型获取bean，单例时缓存结果
+     *
+     * @param name  bean名称
+     * @param clazz 接口class类型
+     * @param <T>   泛型
+     * @return 实例
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getBean(String name, Class<T> clazz) {
+        BeanKey key = new BeanKey(clazz, name);
+        Object bean = NAMED_BEAN_CACHE.get(key);
+        if (bean != null) {
+            return (T) bean;
+        }
+        T resolved = applicationContext.getBean(name, clazz);
+        if (applicationContext.isSingleton(name)) {
+            NAMED_BEAN_CACHE.put(key, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * 获取该类型的所有bean，所有bean都是单例时缓存结果
+     *
+     * @param clazz 接口class类型
+     * @param <T>   泛型
+     * @return bean名称与实例，不可修改
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Map<String, T> getBeansOfType(Class<T> clazz) {
+        Map<String, ?> beans = BEANS_OF_TYPE_CACHE.get(clazz);
+        if (beans != null) {
+            return (Map<String, T>) beans;
+        }
+        Map<String, T> resolved = Collections.unmodifiableMap(new LinkedHashMap<>(applicationContext.getBeansOfType(clazz)));
+        if (allSingleton(resolved.keySet().toArray(new String[0]))) {
+            BEANS_OF_TYPE_CACHE.put(clazz, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * 获取延迟查找bean的ObjectProvider，查找结果与 {@link #getBean(Class)}、{@link #getBeansOfType(Class)} 共用缓存
+     *
+     * @param clazz 接口class类型
+     * @param <T>   泛型
+     * @return ObjectProvider
+     */
+    public static <T> ObjectProvider<T> getBeanProvider(Class<T> clazz) {
+        return new CachedBeanProvider<>(clazz);
+    }
+
+    /**
+     * 清空bean缓存
+     */
+    public static void clearBeanCache() {
+        BEAN_CACHE.clear();
+        NAMED_BEAN_CACHE.clear();
+        BEANS_OF_TYPE_CACHE.clear();
     }
 
     /**
@@ -59,12 +170,25 @@ public class SpringContextHolder implements ApplicationContextAware {
     }
 
     /**
-     * 设置THREAD_LOCAL
+     * 获取当前线程的请求上下文
      *
-     * @param localMap TransmittableThreadLocal
+     * @return 请求上下文
+     */
+    public static RequestContext getRequestContext() {
+        return current();
+    }
+
+    /**
+     * 设置THREAD_LOCAL，替换当前请求上下文中的所有值<br/>
+     * 保存的是localMap的副本而不是引用（早期实现直接保存引用）：之后修改localMap不影响请求上下文，
+     * 通过 {@link #set(String, String)} 写入的值也不会出现在localMap中
+     *
+     * @param localMap 键值
      */
     public static void setLocalMap(Map<String, String> localMap) {
-        THREAD_LOCAL.set(localMap);
+        RequestContext context = current();
+        context.reset();
+        context.setAll(localMap);
     }
 
     /**
@@ -74,30 +198,188 @@ public class SpringContextHolder implements ApplicationContextAware {
      * @param value value
      */
     public static void set(String key, String value) {
-        Map<String, String> map = THREAD_LOCAL.get();
-        if (MapUtil.isEmpty(map)) {
-            map = new ConcurrentHashMap<>(16);
-            THREAD_LOCAL.set(map);
-        }
-        map.put(key, value == null ? DoItStrPool.EMPTY : value);
+        current().set(key, value);
     }
 
     /**
      * 获取Thread_local中设定的值
      *
      * @param key key
-     * @return value
+     * @return value，当前线程没有任何值时为空字符串，有值但不包含该key时为null
      */
     public static String get(String key) {
-        Map<String, String> map = THREAD_LOCAL.get();
-        return MapUtil.isEmpty(map) ? DoItStrPool.EMPTY : Convert.toStr(map.get(key));
+        RequestContext context = THREAD_LOCAL.get();
+        return context == null || context.isEmpty() ? DoItStrPool.EMPTY : context.get(key);
     }
 
     /**
-     * 移除THREAD_LOCAL
+     * 清空THREAD_LOCAL，当前线程的请求上下文清空后继续复用
      */
     public static void removeLocalMap() {
-        THREAD_LOCAL.remove();
+        RequestContext context = THREAD_LOCAL.get();
+        if (context != null) {
+            context.reset();
+        }
     }
 
+    /**
+     * 包装任务，执行时使用提交时请求上下文的副本，执行结束后恢复执行线程原有的上下文
+     *
+     * @param runnable 任务
+     * @return 包装后的任务，当前没有请求上下文时为原任务
+     */
+    public static Runnable wrap(Runnable runnable) {
+        RequestContext snapshot = snapshot();
+        if (snapshot == null) {
+            return runnable;
+        }
+        return () -> {
+            RequestContext previous = attach(snapshot);
+            try {
+                runnable.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * 包装任务，执行时使用提交时请求上下文的副本，执行结束后恢复执行线程原有的上下文
+     *
+     * @param callable 任务
+     * @param <V>      结果
+     * @return 包装后的任务，当前没有请求上下文时为原任务
+     */
+    public static <V> Callable<V> wrap(Callable<V> callable) {
+        RequestContext snapshot = snapshot();
+        if (snapshot == null) {
+            return callable;
+        }
+        return () -> {
+            RequestContext previous = attach(snapshot);
+            try {
+                return callable.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static boolean allSingleton(String[] beanNames) {
+        for (String beanName : beanNames) {
+            if (!applicationContext.isSingleton(beanName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static RequestContext current() {
+        RequestContext context = THREAD_LOCAL.get();
+        if (context == null) {
+            context = new RequestContext();
+            THREAD_LOCAL.set(context);
+        }
+        return context;
+    }
+
+    private static RequestContext snapshot() {
+        RequestContext context = THREAD_LOCAL.get();
+        return context == null || context.isEmpty() ? null : context.copy();
+    }
+
+    private static RequestContext attach(RequestContext context) {
+        RequestContext previous = THREAD_LOCAL.get();
+        THREAD_LOCAL.set(context);
+        return previous;
+    }
+
+    private static void restore(RequestContext previous) {
+        if (previous == null) {
+            THREAD_LOCAL.remove();
+        } else {
+            THREAD_LOCAL.set(previous);
+        }
+    }
+
+    /**
+     * 按类型及名称缓存的键
+     */
+    private static final class BeanKey {
+
+        private final Class<?> type;
+
+        private final String name;
+
+        private BeanKey(Class<?> type, String name) {
+            this.type = type;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BeanKey)) {
+                return false;
+            }
+            BeanKey other = (BeanKey) o;
+            return type == other.type && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + name.hashCode();
+        }
+    }
+
+    /**
+     * 使用缓存的ObjectProvider，带构造参数的获取不缓存
+     *
+     * @param <T> 泛型
+     */
+    private static final class CachedBeanProvider<T> implements ObjectProvider<T> {
+
+        private final Class<T> type;
+
+        private CachedBeanProvider(Class<T> type) {
+            this.type = type;
+        }
+
+        @Override
+        public T getObject() throws BeansException {
+            return getBean(type);
+        }
+
+        @Override
+        public T getObject(Object... args) throws BeansException {
+            return applicationContext.getBean(type, args);
+        }
+
+        @Override
+        public T getIfAvailable() throws BeansException {
+            try {
+                return getBean(type);
+            } catch (NoUniqueBeanDefinitionException e) {
+                throw e;
+            } catch (NoSuchBeanDefinitionException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public T getIfUnique() throws BeansException {
+            try {
+                return getBean(type);
+            } catch (NoSuchBeanDefinitionException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Stream<T> stream() {
+            return getBeansOfType(type).values().stream();
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.xml.doit.common.core.exception;
+
+import com.xml.doit.common.core.api.ServiceResult;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 按异常枚举预先创建的无调用栈异常<br/>
+ * 实例在多个线程间共享，异常的响应结果不可修改，可以直接抛出
+ *
+ * @param <K> 异常枚举
+ * @param <E> 异常
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public final class CachedExceptions<K extends Enum<K> & ServiceResult, E extends DoItException> {
+
+    private final Map<K, E> cached;
+
+    /**
+     * @param type    异常枚举的类型
+     * @param factory 根据枚举创建无调用栈的异常
+     */
+    public CachedExceptions(Class<K> type, Function<K, E> factory) {
+        Map<K, E> instances = new EnumMap<>(type);
+        for (K code : type.getEnumConstants()) {
+            instances.put(code, factory.apply(code));
+        }
+        this.cached = instances;
+    }
+
+    /**
+     * 获取异常枚举对应的实例
+     *
+     * @param code 异常枚举
+     * @return 共享的实例
+     */
+    public E get(K code) {
+        return cached.get(code);
+    }
+}
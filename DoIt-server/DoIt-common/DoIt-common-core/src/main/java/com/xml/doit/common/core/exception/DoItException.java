@@ -2,36 +2,98 @@ package com.xml.doit.common.core.exception;
 
 import com.xml.doit.common.core.api.ServiceResult;
 import lombok.Getter;
-import lombok.Setter;
 
 
 /**
- * 基本的系统异常类
+ * 基本的系统异常类<br/>
+ * 参数校验失败等预期内的业务异常不需要调用栈，通过 {@link #of(DoItExceptionCode)} 或
+ * {@link #stackless(int, String)} 创建，避免每次抛出时填充调用栈
  *
  * @author XMINGL
  * @since 1.0.0
  */
 @Getter
-@Setter
 public class DoItException extends RuntimeException {
 
-    private ServiceResult serviceResult;
+    /**
+     * 每个异常枚举预先创建的无调用栈实例
+     */
+    private static final CachedExceptions<DoItExceptionCode, DoItException> CACHED =
+            new CachedExceptions<>(DoItExceptionCode.class, code -> new DoItException(code, false));
+
+    private final ServiceResult serviceResult;
 
     public DoItException(ServiceResult serviceResult) {
+        super(serviceResult.getMessage());
         this.serviceResult = serviceResult;
     }
 
     public DoItException(int code, String msg) {
-        this.serviceResult = new ServiceResult() {
-            @Override
-            public int getCode() {
-                return code;
-            }
-
-            @Override
-            public String getMessage() {
-                return null;
-            }
-        };
+        this(new SimpleServiceResult(code, msg));
+    }
+
+    /**
+     * @param serviceResult      响应结果
+     * @param writableStackTrace 是否填充调用栈，为false时同时禁用suppressed异常
+     */
+    protected DoItException(ServiceResult serviceResult, boolean writableStackTrace) {
+        super(serviceResult.getMessage(), null, writableStackTrace, writableStackTrace);
+        this.serviceResult = serviceResult;
+    }
+
+    /**
+     * 获取预先创建的无调用栈异常，可以直接抛出
+     *
+     * @param code 异常枚举
+     * @return 共享的实例，不能修改
+     */
+    public static DoItException of(DoItExceptionCode code) {
+        return CACHED.get(code);
+    }
+
+    /**
+     * 创建无调用栈的异常
+     *
+     * @param serviceResult 响应结果
+     * @return 异常
+     */
+    public static DoItException stackless(ServiceResult serviceResult) {
+        return new DoItException(serviceResult, false);
+    }
+
+    /**
+     * 创建无调用栈的异常
+     *
+     * @param code 响应代码
+     * @param msg  响应信息
+     * @return 异常
+     */
+    public static DoItException stackless(int code, String msg) {
+        return new DoItException(new SimpleServiceResult(code, msg), false);
+    }
+
+    /**
+     * 异常信息固定的响应结果
+     */
+    protected static final class SimpleServiceResult implements ServiceResult {
+
+        private final int code;
+
+        private final String message;
+
+        public SimpleServiceResult(int code, String message) {
+            this.code = code;
+            this.message = message;
+        }
+
+        @Override
+        public int getCode() {
+            return code;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
     }
 }
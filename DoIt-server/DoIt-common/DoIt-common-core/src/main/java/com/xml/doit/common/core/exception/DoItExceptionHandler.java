@@ -0,0 +1,29 @@
+package com.xml.doit.common.core.exception;
+
+import com.xml.doit.common.core.api.DoItResponseWriter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 全局业务异常处理<br/>
+ * {@link DoItException} 统一返回HTTP 200，响应体为 {"code":..,"message":"..","data":null}，
+ * 枚举类型的响应结果直接写出 {@link DoItResponseWriter} 缓存的字节
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@RestControllerAdvice
+public class DoItExceptionHandler {
+
+    private final DoItResponseWriter responseWriter;
+
+    public DoItExceptionHandler(DoItResponseWriter responseWriter) {
+        this.responseWriter = responseWriter;
+    }
+
+    @ExceptionHandler(DoItException.class)
+    public ResponseEntity<byte[]> handleDoItException(DoItException e) {
+        return responseWriter.toEntity(e.getServiceResult());
+    }
+}
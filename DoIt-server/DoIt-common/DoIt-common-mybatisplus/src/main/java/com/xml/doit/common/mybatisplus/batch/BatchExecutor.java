@@ -0,0 +1,380 @@
+package com.xml.doit.common.mybatisplus.batch;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.xml.doit.common.mybatisplus.constants.MybatisConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多行INSERT / INSERT ... ON DUPLICATE KEY UPDATE 批量写入（MySQL语法）<br/>
+ * <li>按实体的TableInfo生成语句，参数使用MyBatis的TypeHandler绑定，写入前执行MetaObjectHandler的自动填充及主键生成</li>
+ * <li>每条语句最多chunkSize行，且估算字节数不超过maxPacketBytes；单行超出上限时单独成一条语句</li>
+ * <li>当前线程在事务中时串行执行，使用事务的连接，失败时立即抛出异常以便回滚</li>
+ * <li>不在事务中时最多parallelism条语句并行执行，失败的语句记录在结果中，其余语句继续执行</li>
+ * <li>值为null的字段写入DEFAULT，由数据库默认值决定；插入策略为ALWAYS或IGNORED的字段写入NULL；
+ * 插入策略为NOT_EMPTY的字符串字段，空串同样写入DEFAULT</li>
+ * <li>冲突时按字段的更新策略更新：ALWAYS或IGNORED的字段直接覆盖；NOT_NULL、NOT_EMPTY的字段为null（或空串）时保留原值。
+ * 由于null写入的是DEFAULT，列的默认值不为NULL时无法区分，此时会被更新为默认值，这类列需要完整填充</li>
+ * <li>自增主键为null的行，插入后回填数据库生成的主键；批量更新不回填</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Slf4j
+public class BatchExecutor implements DisposableBean {
+
+    /**
+     * 每个值除参数外的估算开销：分隔符、转义及协议开销
+     */
+    private static final int VALUE_OVERHEAD_BYTES = 4;
+
+    private final Configuration configuration;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int chunkSize;
+
+    private final int maxPacketBytes;
+
+    private final int parallelism;
+
+    private final ExecutorService executor;
+
+    private final ConcurrentHashMap<Class<?>, BatchTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuration  MyBatis配置，数据源取自其Environment
+     * @param chunkSize      每条语句的最大行数
+     * @param maxPacketBytes 每条语句的估算字节上限
+     * @param parallelism    不在事务中时并行执行的语句数，小于等于1时串行
+     */
+    public BatchExecutor(Configuration configuration, int chunkSize, int maxPacketBytes, int parallelism) {
+        if (chunkSize <= 0 || maxPacketBytes <= 0) {
+            throw new IllegalArgumentException("chunkSize and maxPacketBytes must be greater than 0");
+        }
+        this.configuration = configuration;
+        this.jdbcTemplate = new JdbcTemplate(configuration.getEnvironment().getDataSource());
+        this.chunkSize = chunkSize;
+        this.maxPacketBytes = maxPacketBytes;
+        this.parallelism = parallelism;
+        this.executor = parallelism > 1 ? newExecutor(parallelism) : null;
+    }
+
+    /**
+     * 批量插入
+     *
+     * @param entities 实体，需为同一类型且有对应的Mapper
+     * @param <T>      实体类型
+     * @return 每行的写入结果
+     */
+    public <T> BatchResult insert(Collection<T> entities) {
+        return this.execute(entities, false, null);
+    }
+
+    /**
+     * 批量插入，主键或唯一索引冲突时更新除主键外的所有可更新字段
+     *
+     * @param entities 实体，需为同一类型且有对应的Mapper
+     * @param <T>      实体类型
+     * @return 每行的写入结果
+     */
+    public <T> BatchResult upsert(Collection<T> entities) {
+        return this.execute(entities, true, null);
+    }
+
+    /**
+     * 批量插入，主键或唯一索引冲突时更新指定字段
+     *
+     * @param entities         实体，需为同一类型且有对应的Mapper
+     * @param updateProperties 冲突时更新的实体属性名
+     * @param <T>              实体类型
+     * @return 每行的写入结果
+     */
+    public <T> BatchResult upsert(Collection<T> entities, String... updateProperties) {
+        return this.execute(entities, true, updateProperties);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private <T> BatchResult execute(Collection<T> entities, boolean upsert, String[] updateProperties) {
+        if (entities == null || entities.isEmpty()) {
+            return new BatchResult(0);
+        }
+        List<T> rows = entities instanceof List ? (List<T>) entities : new ArrayList<>(entities);
+        BatchTable table = this.table(ClassUtils.getUserClass(rows.get(0).getClass()));
+        List<BatchTable.Column> updateColumns = upsert ? table.updateColumns(updateProperties) : Collections.emptyList();
+        // 自动填充可能依赖当前线程的请求上下文，在调用线程上完成
+        this.prepare(table, rows, upsert);
+        List<int[]> chunks = this.split(table, rows);
+        BatchResult result = new BatchResult(rows.size());
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction || executor == null || chunks.size() == 1) {
+            for (int[] chunk : chunks) {
+                try {
+                    this.executeChunk(table, rows, chunk[0], chunk[1], upsert, updateColumns, result);
+                } catch (RuntimeException e) {
+                    if (inTransaction) {
+                        throw e;
+                    }
+                    result.failure(chunk[0], chunk[1], e);
+                }
+            }
+            return result.complete();
+        }
+        List<Future<?>> futures = new ArrayList<>(chunks.size());
+        for (int[] chunk : chunks) {
+            futures.add(executor.submit(() -> {
+                try {
+                    this.executeChunk(table, rows, chunk[0], chunk[1], upsert, updateColumns, result);
+                } catch (RuntimeException e) {
+                    result.failure(chunk[0], chunk[1], e);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ExceptionUtils.mpe("批量写入被中断", e);
+            } catch (ExecutionException e) {
+                throw ExceptionUtils.mpe(e.getCause());
+            }
+        }
+        return result.complete();
+    }
+
+    /**
+     * 执行自动填充并生成主键
+     */
+    private <T> void prepare(BatchTable table, List<T> rows, boolean upsert) {
+        TableInfo tableInfo = table.getTableInfo();
+        MetaObjectHandler handler = GlobalConfigUtils.getMetaObjectHandler(configuration).orElse(null);
+        boolean insertFill = handler != null && handler.openInsertFill() && tableInfo.isWithInsertFill();
+        boolean updateFill = upsert && handler != null && handler.openUpdateFill() && tableInfo.isWithUpdateFill();
+        IdType idType = tableInfo.getIdType();
+        boolean assignId = (idType == IdType.ASSIGN_ID || idType == IdType.ASSIGN_UUID) && tableInfo.getKeyProperty() != null;
+        IdentifierGenerator generator = assignId ? GlobalConfigUtils.getGlobalConfig(configuration).getIdentifierGenerator() : null;
+        for (T row : rows) {
+            if (insertFill || updateFill) {
+                MetaObject metaObject = configuration.newMetaObject(row);
+                if (insertFill) {
+                    handler.insertFill(metaObject);
+                }
+                if (updateFill) {
+                    handler.updateFill(metaObject);
+                }
+            }
+            if (assignId && generator.assignId(tableInfo.getPropertyValue(row, tableInfo.getKeyProperty()))) {
+                Object id;
+                if (idType == IdType.ASSIGN_UUID) {
+                    id = generator.nextUUID(row);
+                } else {
+                    Number number = generator.nextId(row);
+                    Class<?> keyType = tableInfo.getKeyType();
+                    id = keyType == String.class ? number.toString()
+                            : keyType == Integer.class || keyType == int.class ? number.intValue() : number.longValue();
+                }
+                tableInfo.setPropertyValue(row, tableInfo.getKeyProperty(), id);
+            }
+        }
+    }
+
+    /**
+     * 按行数及估算字节数拆分语句
+     *
+     * @return 每条语句的 [fromIndex, toIndex)
+     */
+    private <T> List<int[]> split(BatchTable table, List<T> rows) {
+        List<int[]> chunks = new ArrayList<>();
+        int headerBytes = table.getHeaderBytes();
+        int from = 0;
+        long bytes = headerBytes;
+        for (int i = 0; i < rows.size(); i++) {
+            long rowBytes = this.estimate(table, rows.get(i));
+            if (i > from && (i - from >= chunkSize || bytes + rowBytes > maxPacketBytes)) {
+                chunks.add(new int[]{from, i});
+                from = i;
+                bytes = headerBytes;
+            }
+            bytes += rowBytes;
+        }
+        chunks.add(new int[]{from, rows.size()});
+        return chunks;
+    }
+
+    private long estimate(BatchTable table, Object row) {
+        long bytes = 3;
+        for (BatchTable.Column column : table.getColumns()) {
+            Object value = table.getTableInfo().getPropertyValue(row, column.getProperty());
+            bytes += VALUE_OVERHEAD_BYTES;
+            if (value instanceof CharSequence) {
+                // 客户端预处理时字符串会被转义，按UTF-8最坏情况估算
+                bytes += ((CharSequence) value).length() * 3L;
+            } else if (value instanceof byte[]) {
+                bytes += ((byte[]) value).length * 2L;
+            } else if (value instanceof Number || value instanceof Boolean || value instanceof Date
+                    || value instanceof Temporal || value == null) {
+                bytes += 24;
+            } else {
+                bytes += String.valueOf(value).getBytes(StandardCharsets.UTF_8).length * 2L;
+            }
+        }
+        return bytes;
+    }
+
+    private <T> void executeChunk(BatchTable table, List<T> rows, int from, int to, boolean upsert,
+                                  List<BatchTable.Column> updateColumns, BatchResult result) {
+        TableInfo tableInfo = table.getTableInfo();
+        List<BatchTable.Column> columns = table.getColumns();
+        BatchTable.Column key = table.getKey();
+        boolean backfill = !upsert && key != null && tableInfo.getIdType() == IdType.AUTO;
+        StringBuilder sql = new StringBuilder(table.getHeaderBytes() + (to - from) * columns.size() * 3);
+        sql.append(table.getInsertPrefix());
+        List<Object> values = new ArrayList<>((to - from) * columns.size());
+        List<BatchTable.Column> bound = new ArrayList<>(values.size());
+        for (int i = from; i < to; i++) {
+            T row = rows.get(i);
+            sql.append(i == from ? "(" : ",(");
+            for (int c = 0; c < columns.size(); c++) {
+                BatchTable.Column column = columns.get(c);
+                Object value = tableInfo.getPropertyValue(row, column.getProperty());
+                if (c > 0) {
+                    sql.append(',');
+                }
+                if ((value == null && !column.isBindNull())
+                        || (column.isSkipEmpty() && value instanceof CharSequence && ((CharSequence) value).length() == 0)) {
+                    sql.append("DEFAULT");
+                } else {
+                    sql.append('?');
+                    values.add(value);
+                    bound.add(column);
+                }
+                if (column == key && value != null) {
+                    backfill = false;
+                }
+            }
+            sql.append(')');
+        }
+        if (upsert) {
+            sql.append(" ON DUPLICATE KEY UPDATE ");
+            for (int c = 0; c < updateColumns.size(); c++) {
+                BatchTable.Column column = updateColumns.get(c);
+                if (c > 0) {
+                    sql.append(',');
+                }
+                appendUpdate(sql, column);
+            }
+        }
+        boolean generatedKeys = backfill;
+        int affected = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = generatedKeys
+                    ? connection.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)
+                    : connection.prepareStatement(sql.toString())) {
+                for (int i = 0; i < values.size(); i++) {
+                    BatchTable.Column column = bound.get(i);
+                    column.getTypeHandler().setParameter(statement, i + 1, values.get(i), column.getJdbcType());
+                }
+                int count = statement.executeUpdate();
+                if (generatedKeys) {
+                    this.backfill(tableInfo, rows, from, to, statement);
+                }
+                return count;
+            }
+        });
+        result.success(from, to, affected);
+    }
+
+    /**
+     * 冲突时的更新表达式，按字段的更新策略跳过null或空字符串，保留原值
+     *
+     * @param sql    语句
+     * @param column 列
+     */
+    static void appendUpdate(StringBuilder sql, BatchTable.Column column) {
+        String name = column.getColumn();
+        sql.append(name).append('=');
+        if (!column.isUpdateSkipNull()) {
+            sql.append("VALUES(").append(name).append(')');
+            return;
+        }
+        sql.append("IF(VALUES(").append(name).append(") IS NULL");
+        if (column.isUpdateSkipEmpty()) {
+            sql.append(" OR VALUES(").append(name).append(")=''");
+        }
+        sql.append(',').append(name).append(",VALUES(").append(name).append("))");
+    }
+
+    private <T> void backfill(TableInfo tableInfo, List<T> rows, int from, int to, PreparedStatement statement) throws SQLException {
+        Class<?> keyType = tableInfo.getKeyType();
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            for (int i = from; i < to && keys.next(); i++) {
+                Object id;
+                if (keyType == Long.class || keyType == long.class) {
+                    id = keys.getLong(1);
+                } else if (keyType == Integer.class || keyType == int.class) {
+                    id = keys.getInt(1);
+                } else if (keyType == String.class) {
+                    id = keys.getString(1);
+                } else {
+                    id = keys.getObject(1);
+                }
+                tableInfo.setPropertyValue(rows.get(i), tableInfo.getKeyProperty(), id);
+            }
+        }
+    }
+
+    private BatchTable table(Class<?> entityClass) {
+        return tables.computeIfAbsent(entityClass, type -> {
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(type);
+            if (tableInfo == null) {
+                throw ExceptionUtils.mpe("未找到%s的表信息，实体需要有对应的Mapper", type.getName());
+            }
+            return new BatchTable(tableInfo, configuration.getTypeHandlerRegistry());
+        });
+    }
+
+    private static ExecutorService newExecutor(int parallelism) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, MybatisConstants.BATCH_THREAD_PREFIX + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
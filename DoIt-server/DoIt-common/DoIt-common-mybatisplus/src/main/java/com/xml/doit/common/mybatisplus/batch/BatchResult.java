@@ -0,0 +1,138 @@
+package com.xml.doit.common.mybatisplus.batch;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 批量写入结果，按行记录是否写入成功<br/>
+ * 同一条语句中的行同时成功或失败；多行语句只返回影响行数的合计，
+ * 批量更新时插入的行计1、更新的行计2、值未变化的行计0
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class BatchResult {
+
+    private final boolean[] succeeded;
+
+    private final AtomicLong affectedRows = new AtomicLong();
+
+    /**
+     * 执行失败的语句，按起始行排序
+     */
+    @Getter
+    private final List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+
+    BatchResult(int total) {
+        this.succeeded = new boolean[total];
+    }
+
+    void success(int fromIndex, int toIndex, int affected) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            succeeded[i] = true;
+        }
+        affectedRows.addAndGet(affected);
+    }
+
+    void failure(int fromIndex, int toIndex, RuntimeException cause) {
+        failures.add(new Failure(fromIndex, toIndex, cause));
+    }
+
+    BatchResult complete() {
+        failures.sort(Comparator.comparingInt(Failure::getFromIndex));
+        return this;
+    }
+
+    /**
+     * @return 总行数
+     */
+    public int getTotal() {
+        return succeeded.length;
+    }
+
+    /**
+     * @return 数据库返回的影响行数合计
+     */
+    public long getAffectedRows() {
+        return affectedRows.get();
+    }
+
+    /**
+     * @param index 行在入参中的位置
+     * @return 该行是否写入成功
+     */
+    public boolean isSucceeded(int index) {
+        return succeeded[index];
+    }
+
+    /**
+     * @return 写入成功的行数
+     */
+    public int getSuccessCount() {
+        int count = 0;
+        for (boolean value : succeeded) {
+            if (value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return 是否全部写入成功
+     */
+    public boolean isAllSucceeded() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @return 写入失败的行在入参中的位置
+     */
+    public List<Integer> getFailedIndexes() {
+        List<Integer> indexes = new ArrayList<>();
+        for (Failure failure : failures) {
+            for (int i = failure.getFromIndex(); i < failure.getToIndex(); i++) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * 存在失败的语句时抛出第一个异常，其余异常作为suppressed
+     */
+    public void throwIfFailed() {
+        if (failures.isEmpty()) {
+            return;
+        }
+        RuntimeException first = failures.get(0).getCause();
+        for (int i = 1; i < failures.size(); i++) {
+            first.addSuppressed(failures.get(i).getCause());
+        }
+        throw first;
+    }
+
+    /**
+     * 执行失败的语句，包含 [fromIndex, toIndex) 的行
+     */
+    @Getter
+    public static class Failure {
+
+        private final int fromIndex;
+
+        private final int toIndex;
+
+        private final RuntimeException cause;
+
+        Failure(int fromIndex, int toIndex, RuntimeException cause) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.xml.doit.common.mybatisplus.batch;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import lombok.Getter;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+import org.apache.ibatis.type.UnknownTypeHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 实体对应的表结构，列的顺序为主键、TableInfo中的字段
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+final class BatchTable {
+
+    private final TableInfo tableInfo;
+
+    private final List<Column> columns = new ArrayList<>();
+
+    private final Column key;
+
+    private final String insertPrefix;
+
+    BatchTable(TableInfo tableInfo, TypeHandlerRegistry registry) {
+        this.tableInfo = tableInfo;
+        if (tableInfo.getKeyColumn() != null) {
+            TypeHandler<?> keyHandler = registry.getTypeHandler(tableInfo.getKeyType());
+            this.key = new Column(tableInfo.getKeyColumn(), tableInfo.getKeyProperty(), false, false,
+                    keyHandler != null ? keyHandler : registry.getUnknownTypeHandler(), null, false, false, false);
+            columns.add(key);
+        } else {
+            this.key = null;
+        }
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            if (field.getInsertStrategy() == FieldStrategy.NEVER) {
+                continue;
+            }
+            FieldStrategy strategy = field.getInsertStrategy();
+            FieldStrategy updateStrategy = field.getUpdateStrategy();
+            // 与MyBatis-Plus的insert、update一致，NOT_EMPTY只对字符串类型的字段判断空串
+            boolean string = CharSequence.class.isAssignableFrom(field.getPropertyType());
+            columns.add(new Column(field.getColumn(), field.getProperty(),
+                    always(strategy), strategy == FieldStrategy.NOT_EMPTY && string,
+                    typeHandler(field, registry), field.getJdbcType(), updateStrategy != FieldStrategy.NEVER,
+                    !always(updateStrategy), updateStrategy == FieldStrategy.NOT_EMPTY && string));
+        }
+        StringBuilder prefix = new StringBuilder("INSERT INTO ").append(tableInfo.getTableName()).append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            prefix.append(i == 0 ? "" : ",").append(columns.get(i).getColumn());
+        }
+        this.insertPrefix = prefix.append(") VALUES ").toString();
+    }
+
+    /**
+     * 是否为null时同样写入
+     *
+     * @param strategy 插入或更新策略
+     * @return 结果
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean always(FieldStrategy strategy) {
+        // IGNORED已废弃，语义与ALWAYS相同，已有实体中仍可能使用
+        return strategy == FieldStrategy.ALWAYS || strategy == FieldStrategy.IGNORED;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypeHandler<Object> typeHandler(TableFieldInfo field, TypeHandlerRegistry registry) {
+        if (field.getTypeHandler() != null && field.getTypeHandler() != UnknownTypeHandler.class) {
+            TypeHandler<?> handler = registry.getMappingTypeHandler(field.getTypeHandler());
+            return (TypeHandler<Object>) (handler != null ? handler : registry.getInstance(field.getPropertyType(), field.getTypeHandler()));
+        }
+        TypeHandler<?> handler = registry.getTypeHandler(field.getPropertyType(), field.getJdbcType());
+        return (TypeHandler<Object>) (handler != null ? handler : registry.getUnknownTypeHandler());
+    }
+
+    /**
+     * 冲突时更新的列
+     *
+     * @param properties 实体属性名，为空时为除主键外的所有可更新字段
+     * @return 列
+     */
+    List<Column> updateColumns(String[] properties) {
+        List<Column> result = new ArrayList<>();
+        if (properties == null || properties.length == 0) {
+            for (Column column : columns) {
+                if (column != key && column.isUpdatable()) {
+                    result.add(column);
+                }
+            }
+        } else {
+            for (String property : properties) {
+                Column match = null;
+                for (Column column : columns) {
+                    if (column.getProperty().equals(property)) {
+                        match = column;
+                        break;
+                    }
+                }
+                if (match == null) {
+                    throw ExceptionUtils.mpe("%s中不存在可写入的属性%s", tableInfo.getEntityType().getName(), property);
+                }
+                result.add(match);
+            }
+        }
+        if (result.isEmpty()) {
+            throw ExceptionUtils.mpe("%s没有可更新的字段", tableInfo.getEntityType().getName());
+        }
+        return result;
+    }
+
+    int getHeaderBytes() {
+        return insertPrefix.length() + 64 + columns.size() * 32;
+    }
+
+    /**
+     * 写入的列
+     */
+    @Getter
+    static final class Column {
+
+        private final String column;
+
+        private final String property;
+
+        private final boolean bindNull;
+
+        /**
+         * 空字符串是否按null处理，插入策略为NOT_EMPTY的字符串字段
+         */
+        private final boolean skipEmpty;
+
+        private final TypeHandler<Object> typeHandler;
+
+        private final JdbcType jdbcType;
+
+        private final boolean updatable;
+
+        /**
+         * 冲突更新时null是否保留原值，更新策略不为ALWAYS的字段
+         */
+        private final boolean updateSkipNull;
+
+        /**
+         * 冲突更新时空字符串是否保留原值，更新策略为NOT_EMPTY的字符串字段
+         */
+        private final boolean updateSkipEmpty;
+
+        @SuppressWarnings("unchecked")
+        Column(String column, String property, boolean bindNull, boolean skipEmpty, TypeHandler<?> typeHandler,
+               JdbcType jdbcType, boolean updatable, boolean updateSkipNull, boolean updateSkipEmpty) {
+            this.column = column;
+            this.property = property;
+            this.bindNull = bindNull;
+            this.skipEmpty = skipEmpty;
+            this.typeHandler = (TypeHandler<Object>) typeHandler;
+            this.jdbcType = jdbcType;
+            this.updatable = updatable;
+            this.updateSkipNull = updateSkipNull;
+            this.updateSkipEmpty = updateSkipEmpty;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.xml.doit.common.mybatisplus.configuration;
+
+import com.xml.doit.common.mybatisplus.batch.BatchExecutor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MyBatis-Plus扩展配置类
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(DoItMybatisProperties.class)
+public class DoItMybatisConfiguration {
+
+    @Bean
+    public BatchExecutor batchExecutor(SqlSessionFactory sqlSessionFactory, DoItMybatisProperties properties) {
+        DoItMybatisProperties.Batch batch = properties.getBatch();
+        return new BatchExecutor(sqlSessionFactory.getConfiguration(), batch.getChunkSize(),
+                batch.getMaxPacketBytes(), batch.getParallelism());
+    }
+}
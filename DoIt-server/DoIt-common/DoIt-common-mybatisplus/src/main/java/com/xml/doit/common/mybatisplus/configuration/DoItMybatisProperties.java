@@ -0,0 +1,43 @@
+package com.xml.doit.common.mybatisplus.configuration;
+
+import com.xml.doit.common.mybatisplus.constants.MybatisConstants;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * MyBatis-Plus扩展配置项
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "doit.mybatis")
+public class DoItMybatisProperties {
+
+    /**
+     * 批量写入
+     */
+    private Batch batch = new Batch();
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * 每条语句的最大行数
+         */
+        private int chunkSize = MybatisConstants.DEFAULT_BATCH_CHUNK_SIZE;
+
+        /**
+         * 每条语句的估算字节上限，不能超过数据库的max_allowed_packet
+         */
+        private int maxPacketBytes = MybatisConstants.DEFAULT_BATCH_MAX_PACKET_BYTES;
+
+        /**
+         * 不在事务中时并行执行的语句数，小于等于1时串行；连接池需预留足够的连接
+         */
+        private int parallelism = MybatisConstants.DEFAULT_BATCH_PARALLELISM;
+    }
+}
@@ -0,0 +1,40 @@
+package com.xml.doit.common.mybatisplus.constants;
+
+/**
+ * MyBatis-Plus扩展常量
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public interface MybatisConstants {
+
+    /**
+     * 每条批量语句的默认行数
+     */
+    int DEFAULT_BATCH_CHUNK_SIZE = 500;
+
+    /**
+     * 单条语句的默认字节上限，对应MySQL 5.7的max_allowed_packet默认值4MB
+     */
+    int DEFAULT_BATCH_MAX_PACKET_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * 并行执行的默认语句数
+     */
+    int DEFAULT_BATCH_PARALLELISM = 4;
+
+    /**
+     * 批量写入线程名前缀
+     */
+    String BATCH_THREAD_PREFIX = "doit-batch-";
+
+    /**
+     * 游标分页的默认每页条数
+     */
+    int DEFAULT_KEYSET_PAGE_SIZE = 20;
+
+    /**
+     * 游标分页的每页条数上限
+     */
+    int MAX_KEYSET_PAGE_SIZE = 1000;
+}
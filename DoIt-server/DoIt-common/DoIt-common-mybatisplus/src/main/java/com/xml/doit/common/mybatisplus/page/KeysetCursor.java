@@ -0,0 +1,151 @@
+package com.xml.doit.common.mybatisplus.page;
+
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * 游标的编码：版本、排序的指纹及最后一行各排序列的值，按属性类型写入后进行URL安全的Base64编码<br/>
+ * 游标只包含排序列的值，查询时作为参数绑定；指纹不一致或格式错误时视为无效游标
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+final class KeysetCursor {
+
+    private static final byte VERSION = 1;
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * @param fingerprint 排序的指纹
+     * @param types       排序列的属性类型
+     * @param values      排序列的值
+     * @return 游标
+     */
+    static String encode(int fingerprint, Class<?>[] types, Object[] values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(fingerprint);
+            for (int i = 0; i < types.length; i++) {
+                write(out, types[i], values[i]);
+            }
+        } catch (IOException e) {
+            throw ExceptionUtils.mpe(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @param cursor      游标
+     * @param fingerprint 排序的指纹
+     * @param types       排序列的属性类型
+     * @return 排序列的值
+     */
+    static Object[] decode(String cursor, int fingerprint, Class<?>[] types) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() != VERSION || in.readInt() != fingerprint) {
+                throw ExceptionUtils.mpe("游标与当前排序不匹配");
+            }
+            Object[] values = new Object[types.length];
+            for (int i = 0; i < types.length; i++) {
+                values[i] = read(in, types[i]);
+            }
+            if (in.read() != -1) {
+                throw ExceptionUtils.mpe("无效的分页游标");
+            }
+            return values;
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw ExceptionUtils.mpe("无效的分页游标", e);
+        }
+    }
+
+    private static void write(DataOutputStream out, Class<?> type, Object value) throws IOException {
+        if (type == Long.class || type == long.class || type == Integer.class || type == int.class
+                || type == Short.class || type == short.class || type == Byte.class || type == byte.class) {
+            out.writeLong(((Number) value).longValue());
+        } else if (type == Boolean.class || type == boolean.class) {
+            out.writeBoolean((Boolean) value);
+        } else if (type == Double.class || type == double.class || type == Float.class || type == float.class) {
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (Date.class.isAssignableFrom(type)) {
+            Date date = (Date) value;
+            out.writeLong(date.getTime());
+            out.writeInt(date instanceof Timestamp ? ((Timestamp) date).getNanos() : 0);
+        } else if (type.isEnum()) {
+            out.writeUTF(((Enum<?>) value).name());
+        } else if (type == String.class || type == BigDecimal.class || type == BigInteger.class
+                || type == LocalDateTime.class || type == LocalDate.class || type == LocalTime.class
+                || type == Instant.class || type == OffsetDateTime.class) {
+            out.writeUTF(value.toString());
+        } else {
+            throw ExceptionUtils.mpe("游标分页不支持的排序列类型：%s", type.getName());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object read(DataInputStream in, Class<?> type) throws IOException {
+        if (type == Long.class || type == long.class) {
+            return in.readLong();
+        } else if (type == Integer.class || type == int.class) {
+            return (int) in.readLong();
+        } else if (type == Short.class || type == short.class) {
+            return (short) in.readLong();
+        } else if (type == Byte.class || type == byte.class) {
+            return (byte) in.readLong();
+        } else if (type == Boolean.class || type == boolean.class) {
+            return in.readBoolean();
+        } else if (type == Double.class || type == double.class) {
+            return in.readDouble();
+        } else if (type == Float.class || type == float.class) {
+            return (float) in.readDouble();
+        } else if (Date.class.isAssignableFrom(type)) {
+            long time = in.readLong();
+            int nanos = in.readInt();
+            if (Timestamp.class.isAssignableFrom(type)) {
+                Timestamp timestamp = new Timestamp(time);
+                timestamp.setNanos(nanos);
+                return timestamp;
+            }
+            return new Date(time);
+        } else if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, in.readUTF());
+        }
+        String text = in.readUTF();
+        if (type == String.class) {
+            return text;
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal(text);
+        } else if (type == BigInteger.class) {
+            return new BigInteger(text);
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(text);
+        } else if (type == LocalDate.class) {
+            return LocalDate.parse(text);
+        } else if (type == LocalTime.class) {
+            return LocalTime.parse(text);
+        } else if (type == Instant.class) {
+            return Instant.parse(text);
+        } else if (type == OffsetDateTime.class) {
+            return OffsetDateTime.parse(text);
+        }
+        throw ExceptionUtils.mpe("游标分页不支持的排序列类型：%s", type.getName());
+    }
+}
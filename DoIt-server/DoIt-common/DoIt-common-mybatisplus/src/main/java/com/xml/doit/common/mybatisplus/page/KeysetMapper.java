@@ -0,0 +1,26 @@
+package com.xml.doit.common.mybatisplus.page;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+/**
+ * 支持游标分页的Mapper，按 WHERE (sort, id) > (?, ?) ORDER BY sort, id LIMIT n 查询，
+ * 查询耗时不随页数增加；新插入的数据不会导致已翻过的数据重复或遗漏
+ *
+ * @param <T> 实体类型
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public interface KeysetMapper<T> extends BaseMapper<T> {
+
+    /**
+     * 游标分页查询
+     *
+     * @param request      分页请求
+     * @param queryWrapper 查询条件，不能包含排序及LIMIT；查询时使用副本，不会被修改
+     * @return 分页结果
+     */
+    default KeysetPage<T> selectKeysetPage(KeysetPageRequest request, QueryWrapper<T> queryWrapper) {
+        return KeysetQuery.select(this, request, queryWrapper);
+    }
+}
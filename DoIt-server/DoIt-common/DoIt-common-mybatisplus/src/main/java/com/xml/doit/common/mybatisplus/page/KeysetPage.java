@@ -0,0 +1,41 @@
+package com.xml.doit.common.mybatisplus.page;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ *
+ * @param <T> 实体类型
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+public class KeysetPage<T> {
+
+    private final List<T> records;
+
+    /**
+     * 下一页的游标，没有下一页时为null
+     */
+    private final String nextCursor;
+
+    /**
+     * 总数，未查询总数时为null
+     */
+    private final Long total;
+
+    public KeysetPage(List<T> records, String nextCursor, Long total) {
+        this.records = records;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    /**
+     * @return 是否有下一页
+     */
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.xml.doit.common.mybatisplus.page;
+
+import com.xml.doit.common.mybatisplus.constants.MybatisConstants;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标分页请求<br/>
+ * <li>排序列为数据库列名或实体属性名，需为NOT NULL；未包含主键时自动追加主键作为最后一个排序列，保证排序唯一</li>
+ * <li>第一页不传cursor，之后传入上一页返回的 {@link KeysetPage#getNextCursor()}</li>
+ * <li>同一个游标只能用于相同的排序</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+public class KeysetPageRequest {
+
+    private int size = MybatisConstants.DEFAULT_KEYSET_PAGE_SIZE;
+
+    /**
+     * 上一页返回的游标，为空时查询第一页
+     */
+    private String cursor;
+
+    /**
+     * 是否查询总数，查询总数需额外执行COUNT
+     */
+    private boolean searchCount;
+
+    private final List<Order> orders = new ArrayList<>();
+
+    /**
+     * @param size 每页条数
+     * @return 分页请求
+     */
+    public static KeysetPageRequest of(int size) {
+        return new KeysetPageRequest().setSize(size);
+    }
+
+    /**
+     * @param size   每页条数
+     * @param cursor 上一页返回的游标
+     * @return 分页请求
+     */
+    public static KeysetPageRequest of(int size, String cursor) {
+        return of(size).setCursor(cursor);
+    }
+
+    public KeysetPageRequest setSize(int size) {
+        if (size <= 0 || size > MybatisConstants.MAX_KEYSET_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MybatisConstants.MAX_KEYSET_PAGE_SIZE);
+        }
+        this.size = size;
+        return this;
+    }
+
+    public KeysetPageRequest setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    public KeysetPageRequest setSearchCount(boolean searchCount) {
+        this.searchCount = searchCount;
+        return this;
+    }
+
+    /**
+     * 升序
+     *
+     * @param column 列名或属性名
+     * @return 分页请求
+     */
+    public KeysetPageRequest orderByAsc(String column) {
+        orders.add(new Order(column, true));
+        return this;
+    }
+
+    /**
+     * 降序
+     *
+     * @param column 列名或属性名
+     * @return 分页请求
+     */
+    public KeysetPageRequest orderByDesc(String column) {
+        orders.add(new Order(column, false));
+        return this;
+    }
+
+    public List<Order> getOrders() {
+        return Collections.unmodifiableList(orders);
+    }
+
+    /**
+     * 排序列
+     */
+    @Getter
+    public static class Order {
+
+        private final String column;
+
+        private final boolean asc;
+
+        public Order(String column, boolean asc) {
+            this.column = column;
+            this.asc = asc;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.xml.doit.common.mybatisplus.page;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.reflect.GenericTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 游标分页查询的实现
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+final class KeysetQuery {
+
+    /**
+     * Mapper代理类对应的实体类型
+     */
+    private static final ConcurrentHashMap<Class<?>, Class<?>> ENTITY_TYPES = new ConcurrentHashMap<>();
+
+    private KeysetQuery() {
+    }
+
+    static <T> KeysetPage<T> select(KeysetMapper<T> mapper, KeysetPageRequest request, QueryWrapper<T> queryWrapper) {
+        TableInfo tableInfo = tableInfo(mapper);
+        List<Sort> sorts = sorts(tableInfo, request.getOrders());
+        Class<?>[] types = new Class<?>[sorts.size()];
+        StringBuilder signature = new StringBuilder(tableInfo.getTableName());
+        for (int i = 0; i < sorts.size(); i++) {
+            Sort sort = sorts.get(i);
+            types[i] = sort.type;
+            signature.append('|').append(sort.column).append(sort.asc ? ":asc" : ":desc");
+        }
+        int fingerprint = signature.toString().hashCode();
+        Long total = request.isSearchCount() ? mapper.selectCount(queryWrapper) : null;
+        QueryWrapper<T> wrapper = queryWrapper == null ? new QueryWrapper<>() : queryWrapper.clone();
+        if (request.getCursor() != null && !request.getCursor().isEmpty()) {
+            Object[] values = KeysetCursor.decode(request.getCursor(), fingerprint, types);
+            wrapper.apply(condition(sorts), values);
+        }
+        for (Sort sort : sorts) {
+            wrapper.orderBy(true, sort.asc, sort.column);
+        }
+        int size = request.getSize();
+        wrapper.last("LIMIT " + (size + 1));
+        List<T> records = mapper.selectList(wrapper);
+        // NULL无法参与游标的比较，排序列为NULL的行会在翻页时被跳过，因此校验查询到的每一行而不只是最后一行
+        Object[] values = new Object[sorts.size()];
+        for (T record : records) {
+            for (int i = 0; i < sorts.size(); i++) {
+                values[i] = tableInfo.getPropertyValue(record, sorts.get(i).property);
+                if (values[i] == null) {
+                    throw ExceptionUtils.mpe("排序列%s的值为null，游标分页的排序列需为NOT NULL", sorts.get(i).column);
+                }
+            }
+        }
+        if (records.size() <= size) {
+            return new KeysetPage<>(records, null, total);
+        }
+        records = new ArrayList<>(records.subList(0, size));
+        T last = records.get(size - 1);
+        for (int i = 0; i < sorts.size(); i++) {
+            values[i] = tableInfo.getPropertyValue(last, sorts.get(i).property);
+        }
+        return new KeysetPage<>(records, KeysetCursor.encode(fingerprint, types, values), total);
+    }
+
+    /**
+     * 排序方向一致时使用行构造器 (a, b) > (?, ?)，否则展开为 a > ? OR (a = ? AND b < ?)
+     */
+    private static String condition(List<Sort> sorts) {
+        boolean sameDirection = true;
+        for (Sort sort : sorts) {
+            sameDirection &= sort.asc == sorts.get(0).asc;
+        }
+        StringBuilder sql = new StringBuilder();
+        if (sameDirection) {
+            StringBuilder params = new StringBuilder();
+            sql.append('(');
+            for (int i = 0; i < sorts.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append(sorts.get(i).column);
+                params.append(i == 0 ? "" : ", ").append('{').append(i).append('}');
+            }
+            return sql.append(sorts.get(0).asc ? ") > (" : ") < (").append(params).append(')').toString();
+        }
+        for (int i = 0; i < sorts.size(); i++) {
+            Sort sort = sorts.get(i);
+            String param = "{" + i + "}";
+            if (i == sorts.size() - 1) {
+                sql.append(sort.column).append(sort.asc ? " > " : " < ").append(param);
+            } else {
+                sql.append('(').append(sort.column).append(sort.asc ? " > " : " < ").append(param)
+                        .append(" OR (").append(sort.column).append(" = ").append(param).append(" AND ");
+            }
+        }
+        for (int i = 0; i < sorts.size() - 1; i++) {
+            sql.append("))");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 解析排序列，只允许实体中的列，未包含主键时追加主键
+     */
+    private static List<Sort> sorts(TableInfo tableInfo, List<KeysetPageRequest.Order> orders) {
+        List<Sort> sorts = new ArrayList<>(orders.size() + 1);
+        boolean hasKey = false;
+        for (KeysetPageRequest.Order order : orders) {
+            Sort sort = sort(tableInfo, order.getColumn(), order.isAsc());
+            hasKey |= sort.key;
+            sorts.add(sort);
+        }
+        if (!hasKey) {
+            if (tableInfo.getKeyColumn() == null) {
+                if (sorts.isEmpty()) {
+                    throw ExceptionUtils.mpe("%s没有主键，游标分页需指定唯一的排序列", tableInfo.getEntityType().getName());
+                }
+            } else {
+                boolean asc = sorts.isEmpty() || sorts.get(sorts.size() - 1).asc;
+                sorts.add(sort(tableInfo, tableInfo.getKeyColumn(), asc));
+            }
+        }
+        return sorts;
+    }
+
+    private static Sort sort(TableInfo tableInfo, String name, boolean asc) {
+        if (tableInfo.getKeyColumn() != null
+                && (tableInfo.getKeyColumn().equalsIgnoreCase(name) || tableInfo.getKeyProperty().equals(name))) {
+            return new Sort(tableInfo.getKeyColumn(), tableInfo.getKeyProperty(), tableInfo.getKeyType(), asc, true);
+        }
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            if (field.getColumn().equalsIgnoreCase(name) || field.getProperty().equals(name)) {
+                return new Sort(field.getColumn(), field.getProperty(), field.getPropertyType(), asc, false);
+            }
+        }
+        throw ExceptionUtils.mpe("%s中不存在列%s", tableInfo.getEntityType().getName(), name);
+    }
+
+    private static TableInfo tableInfo(KeysetMapper<?> mapper) {
+        Class<?> entityType = ENTITY_TYPES.computeIfAbsent(mapper.getClass(), mapperClass -> {
+            for (Class<?> mapperInterface : mapperClass.getInterfaces()) {
+                if (KeysetMapper.class.isAssignableFrom(mapperInterface)) {
+                    Class<?>[] arguments = GenericTypeUtils.resolveTypeArguments(mapperInterface, BaseMapper.class);
+                    if (arguments != null && arguments.length > 0) {
+                        return arguments[0];
+                    }
+                }
+            }
+            throw ExceptionUtils.mpe("无法确定%s的实体类型", mapperClass.getName());
+        });
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityType);
+        if (tableInfo == null) {
+            throw ExceptionUtils.mpe("未找到%s的表信息", entityType.getName());
+        }
+        return tableInfo;
+    }
+
+    /**
+     * 排序列
+     */
+    private static final class Sort {
+
+        private final String column;
+
+        private final String property;
+
+        private final Class<?> type;
+
+        private final boolean asc;
+
+        private final boolean key;
+
+        private Sort(String column, String property, Class<?> type, boolean asc, boolean key) {
+            this.column = column;
+            this.property = property;
+            this.type = type;
+            this.asc = asc;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.xml.doit.common.mybatisplus.batch;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.apache.ibatis.type.UnknownTypeHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link BatchExecutor} 的语句拆分及SQL生成
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+class BatchExecutorTest {
+
+    private static final MybatisConfiguration CONFIGURATION = new MybatisConfiguration();
+
+    private static final DataSource DATA_SOURCE = mock(DataSource.class);
+
+    private final List<String> statements = new ArrayList<>();
+
+    private final List<Integer> rowsPerStatement = new ArrayList<>();
+
+    /**
+     * 执行失败的语句序号，-1时全部成功
+     */
+    private int failAt = -1;
+
+    private BatchExecutor executor;
+
+    @TableName("todo")
+    static class Todo {
+
+        @TableId(type = IdType.INPUT)
+        private Long id;
+
+        @TableField(insertStrategy = FieldStrategy.NOT_EMPTY, updateStrategy = FieldStrategy.NOT_EMPTY)
+        private String title;
+
+        private Integer sort;
+
+        @TableField(updateStrategy = FieldStrategy.ALWAYS)
+        private String remark;
+
+        Todo(Long id, String title, Integer sort, String remark) {
+            this.id = id;
+            this.title = title;
+            this.sort = sort;
+            this.remark = remark;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public Integer getSort() {
+            return sort;
+        }
+
+        public void setSort(Integer sort) {
+            this.sort = sort;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public void setRemark(String remark) {
+            this.remark = remark;
+        }
+    }
+
+    @BeforeAll
+    static void initTable() {
+        CONFIGURATION.setEnvironment(new Environment("test", new JdbcTransactionFactory(), DATA_SOURCE));
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(CONFIGURATION, ""), Todo.class);
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(DATA_SOURCE.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            PreparedStatement statement = mock(PreparedStatement.class);
+            int rows = sql.split("\\),\\(").length;
+            if (statements.size() == failAt) {
+                when(statement.executeUpdate()).thenThrow(new SQLException("Duplicate entry"));
+            } else {
+                when(statement.executeUpdate()).thenReturn(rows);
+            }
+            statements.add(sql);
+            rowsPerStatement.add(rows);
+            return statement;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void splitsByChunkSize() {
+        executor = new BatchExecutor(CONFIGURATION, 2, Integer.MAX_VALUE, 1);
+        BatchResult result = executor.insert(todos(5));
+        assertEquals(Arrays.asList(2, 2, 1), rowsPerStatement);
+        assertEquals(5, result.getTotal());
+        assertEquals(5, result.getSuccessCount());
+        assertEquals(5L, result.getAffectedRows());
+        assertTrue(result.isAllSucceeded());
+    }
+
+    @Test
+    void splitsByPacketBytes() {
+        executor = new BatchExecutor(CONFIGURATION, 100, 1, 1);
+        executor.insert(todos(3));
+        assertEquals(Arrays.asList(1, 1, 1), rowsPerStatement);
+    }
+
+    @Test
+    void insertWritesDefaultForSkippedValues() {
+        executor = new BatchExecutor(CONFIGURATION, 100, Integer.MAX_VALUE, 1);
+        executor.insert(Arrays.asList(new Todo(1L, "a", 1, "r"), new Todo(2L, "", null, null)));
+        assertEquals(1, statements.size());
+        assertEquals("INSERT INTO todo (id,title,sort,remark) VALUES (?,?,?,?),(?,DEFAULT,DEFAULT,DEFAULT)", statements.get(0));
+    }
+
+    @Test
+    void upsertFollowsUpdateStrategy() {
+        executor = new BatchExecutor(CONFIGURATION, 100, Integer.MAX_VALUE, 1);
+        executor.upsert(todos(1));
+        assertEquals("INSERT INTO todo (id,title,sort,remark) VALUES (?,?,?,?) ON DUPLICATE KEY UPDATE "
+                + "title=IF(VALUES(title) IS NULL OR VALUES(title)='',title,VALUES(title)),"
+                + "sort=IF(VALUES(sort) IS NULL,sort,VALUES(sort)),"
+                + "remark=VALUES(remark)", statements.get(0));
+        statements.clear();
+        executor.upsert(todos(1), "sort");
+        assertEquals("INSERT INTO todo (id,title,sort,remark) VALUES (?,?,?,?) ON DUPLICATE KEY UPDATE "
+                + "sort=IF(VALUES(sort) IS NULL,sort,VALUES(sort))", statements.get(0));
+    }
+
+    @Test
+    void appendUpdateByStrategy() {
+        UnknownTypeHandler handler = new UnknownTypeHandler(CONFIGURATION);
+        StringBuilder sql = new StringBuilder();
+        BatchExecutor.appendUpdate(sql, new BatchTable.Column("c", "c", false, false, handler, null, true, false, false));
+        assertEquals("c=VALUES(c)", sql.toString());
+        sql.setLength(0);
+        BatchExecutor.appendUpdate(sql, new BatchTable.Column("c", "c", false, false, handler, null, true, true, false));
+        assertEquals("c=IF(VALUES(c) IS NULL,c,VALUES(c))", sql.toString());
+        sql.setLength(0);
+        BatchExecutor.appendUpdate(sql, new BatchTable.Column("c", "c", false, false, handler, null, true, true, true));
+        assertEquals("c=IF(VALUES(c) IS NULL OR VALUES(c)='',c,VALUES(c))", sql.toString());
+    }
+
+    @Test
+    void failedStatementIsRecorded() {
+        executor = new BatchExecutor(CONFIGURATION, 2, Integer.MAX_VALUE, 1);
+        failAt = 1;
+        BatchResult result = executor.insert(todos(5));
+        assertEquals(3, statements.size());
+        assertFalse(result.isAllSucceeded());
+        assertEquals(Arrays.asList(2, 3), result.getFailedIndexes());
+        assertEquals(3, result.getSuccessCount());
+        assertEquals(3L, result.getAffectedRows());
+        assertFalse(result.isSucceeded(2));
+        assertTrue(result.isSucceeded(4));
+    }
+
+    private static List<Todo> todos(int count) {
+        List<Todo> todos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            todos.add(new Todo((long) i + 1, "title-" + i, i, "remark-" + i));
+        }
+        return todos;
+    }
+}
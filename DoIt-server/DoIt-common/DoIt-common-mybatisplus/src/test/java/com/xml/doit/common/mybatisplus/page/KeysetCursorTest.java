@@ -0,0 +1,83 @@
+package com.xml.doit.common.mybatisplus.page;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link KeysetCursor} 的编码与解码
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+class KeysetCursorTest {
+
+    private static final int FINGERPRINT = 42;
+
+    private enum Status {
+        TODO, DONE
+    }
+
+    @Test
+    void roundTripsEverySupportedType() {
+        Timestamp timestamp = new Timestamp(1700000000123L);
+        timestamp.setNanos(123456789);
+        Class<?>[] types = {Long.class, int.class, String.class, BigDecimal.class, LocalDateTime.class, LocalDate.class,
+                Date.class, Timestamp.class, Boolean.class, Double.class, Instant.class, Status.class};
+        Object[] values = {1L << 40, 7, "标题:a,b", new BigDecimal("12.3400"), LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6),
+                LocalDate.of(2024, 2, 29), new Date(1700000000456L), timestamp, true, 0.1, Instant.ofEpochSecond(1, 2),
+                Status.DONE};
+        String cursor = KeysetCursor.encode(FINGERPRINT, types, values);
+        assertArrayEquals(values, KeysetCursor.decode(cursor, FINGERPRINT, types));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = KeysetCursor.encode(FINGERPRINT, new Class<?>[]{String.class}, new Object[]{"???>>>~~~"});
+        assertEquals(-1, cursor.indexOf('+'));
+        assertEquals(-1, cursor.indexOf('/'));
+        assertEquals(-1, cursor.indexOf('='));
+    }
+
+    @Test
+    void rejectsCursorOfAnotherOrder() {
+        Class<?>[] types = {Long.class};
+        String cursor = KeysetCursor.encode(FINGERPRINT, types, new Object[]{1L});
+        MybatisPlusException e = assertThrows(MybatisPlusException.class, () -> KeysetCursor.decode(cursor, FINGERPRINT + 1, types));
+        assertEquals("游标与当前排序不匹配", e.getMessage());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        Class<?>[] types = {Long.class};
+        assertThrows(MybatisPlusException.class, () -> KeysetCursor.decode("not a cursor!", FINGERPRINT, types));
+        // 截断的游标
+        String cursor = KeysetCursor.encode(FINGERPRINT, types, new Object[]{1L});
+        assertThrows(MybatisPlusException.class, () -> KeysetCursor.decode(cursor.substring(0, cursor.length() - 4), FINGERPRINT, types));
+        // 多余的内容
+        String longer = KeysetCursor.encode(FINGERPRINT, new Class<?>[]{Long.class, Long.class}, new Object[]{1L, 2L});
+        assertThrows(MybatisPlusException.class, () -> KeysetCursor.decode(longer, FINGERPRINT, types));
+        // 无效的枚举值
+        String status = KeysetCursor.encode(FINGERPRINT, new Class<?>[]{String.class}, new Object[]{"UNKNOWN"});
+        assertThrows(MybatisPlusException.class, () -> KeysetCursor.decode(status, FINGERPRINT, new Class<?>[]{Status.class}));
+        String empty = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[0]);
+        assertThrows(MybatisPlusException.class, () -> KeysetCursor.decode(empty, FINGERPRINT, types));
+    }
+
+    @Test
+    void rejectsUnsupportedType() {
+        assertThrows(MybatisPlusException.class,
+                () -> KeysetCursor.encode(FINGERPRINT, new Class<?>[]{Object.class}, new Object[]{new Object()}));
+    }
+}
@@ -0,0 +1,416 @@
+package com.xml.common.util.cache;
+
+import com.xml.common.util.cache.redis.batch.RedisBatchItem;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 缓存操作，语义与Redis对应的命令一致<br/>
+ * <li>{@link com.xml.common.util.cache.redis.RedisUtil}：访问Redis，默认实现</li>
+ * <li>{@link com.xml.common.util.cache.memory.MemoryCacheUtil}：进程内实现，适用于单节点部署及测试，doit.redis.backend=memory 时启用</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public interface CacheUtil {
+
+    /**
+     * 设置超时时间
+     *
+     * @param key  键
+     * @param time 超时时间（秒）
+     * @return 操作结果
+     */
+    boolean expire(String key, long time);
+
+    /**
+     * @param key  键
+     * @param time 超时时间
+     * @param unit 时间单位
+     * @return 操作结果
+     */
+    boolean expire(String key, long time, TimeUnit unit);
+
+    /**
+     * 获取超时时间（秒）
+     *
+     * @param key 键
+     * @return 超时时间（秒），不存在时为-2，无限期时为-1
+     */
+    Long getExpireSecond(String key);
+
+    /**
+     * 按照时间单位获取超时时间
+     *
+     * @param key      键
+     * @param timeUnit 时间单位
+     * @return 超时时间，不存在时为-2，无限期时为-1
+     */
+    Long getExpireSecond(String key, TimeUnit timeUnit);
+
+    /**
+     * 键是否存在
+     *
+     * @param key 键
+     * @return 是否存在
+     */
+    boolean hasKey(String key);
+
+    /**
+     * 删除缓存
+     *
+     * @param keys 键
+     */
+    void deleteByKey(String... keys);
+
+    /**
+     * 获取 str
+     *
+     * @param key 键
+     * @return 值
+     */
+    Object getString(String key);
+
+    /**
+     * 添加 str
+     *
+     * @param key   键
+     * @param value 值
+     * @return 结果
+     */
+    boolean setString(String key, Object value);
+
+    /**
+     * 添加 str 并设置时间
+     *
+     * @param key   键
+     * @param value 值
+     * @param time  时间（秒） 小于等于0时为无限期
+     * @return 结果
+     */
+    boolean setString(String key, Object value, long time);
+
+    /**
+     * 获取 str，不存在时通过loader加载并写入，同一个JVM内同一个键的并发加载只执行一次
+     *
+     * @param key    键
+     * @param time   时间（秒） 小于等于0时为无限期
+     * @param loader 加载数据，返回null表示数据不存在
+     * @param <T>    泛型
+     * @return 值
+     */
+    <T> T getOrLoad(String key, long time, Supplier<T> loader);
+
+    /**
+     * 递增
+     *
+     * @param key   键
+     * @param delta 递增因数
+     * @return 结果
+     */
+    Long incrementString(String key, long delta);
+
+    /**
+     * 递减
+     *
+     * @param key   键
+     * @param delta 递减因数，需传入负数
+     * @return 结果
+     */
+    Long decrementString(String key, long delta);
+
+    /**
+     * 设置 map
+     *
+     * @param key   键
+     * @param hash  项
+     * @param value 值
+     * @return 结果
+     */
+    boolean setMap(String key, String hash, Object value);
+
+    /**
+     * 设置 map 并设置超时时间（秒）
+     *
+     * @param key   键
+     * @param hash  项
+     * @param value 值
+     * @param time  超时时间
+     * @return 是否设置了超时时间
+     */
+    boolean setMap(String key, String hash, Object value, long time);
+
+    /**
+     * 获取map
+     *
+     * @param key 键
+     * @return MAP，不存在时为空map
+     */
+    Map<Object, Object> getMap(String key);
+
+    /**
+     * 获取map中key对应的value
+     *
+     * @param key  键
+     * @param hash 项
+     * @return 值
+     */
+    Object getMap(String key, String hash);
+
+    /**
+     * 添加MAP
+     *
+     * @param key 键
+     * @param map MAP
+     * @return 结果
+     */
+    boolean setMap(String key, Map<String, Object> map);
+
+    /**
+     * 添加MAP并设置超时时间（秒）
+     *
+     * @param key  键
+     * @param map  MAP
+     * @param time 时间（秒）
+     * @return 是否设置了超时时间
+     */
+    boolean setMap(String key, Map<String, Object> map, long time);
+
+    /**
+     * 删除
+     *
+     * @param key  键
+     * @param hash hash
+     */
+    void deleteMap(String key, Object... hash);
+
+    /**
+     * 判断hash表中是否有该项的值
+     *
+     * @param key  键
+     * @param hash 项
+     * @return 结果
+     */
+    boolean hasMapKey(String key, String hash);
+
+    /**
+     * 递增
+     *
+     * @param key   键
+     * @param hash  项
+     * @param delta 递增因数
+     * @return 结果
+     */
+    Double incrementMap(String key, String hash, double delta);
+
+    /**
+     * 递减
+     *
+     * @param key   键
+     * @param hash  项
+     * @param delta 递减因数，需传入负数
+     * @return 结果
+     */
+    Double decrementMap(String key, String hash, double delta);
+
+    /**
+     * 获取Set
+     *
+     * @param key 键
+     * @return 结果
+     */
+    Set<Object> getSet(String key);
+
+    /**
+     * 查询set是否存在value
+     *
+     * @param key   键
+     * @param value 值
+     * @return 是否存在
+     */
+    boolean hasSetValue(String key, Object value);
+
+    /**
+     * 增加set
+     *
+     * @param key    键
+     * @param values 值
+     * @return 成功数
+     */
+    Long setSet(String key, Object... values);
+
+    /**
+     * 增加set并设置超时时间
+     *
+     * @param key    键
+     * @param time   时间
+     * @param values 值
+     * @return 成功数
+     */
+    Long setSet(String key, long time, Object... values);
+
+    /**
+     * 获取set的大小
+     *
+     * @param key 键
+     * @return size
+     */
+    Long getSetSize(String key);
+
+    /**
+     * 移除值为value的
+     *
+     * @param key    键
+     * @param values 值 可以是多个
+     * @return 移除的个数
+     */
+    Long deleteSet(String key, Object... values);
+
+    /**
+     * 保存list并设置超时时间（秒）
+     *
+     * @param key   键
+     * @param value 值
+     * @param time  超时时间
+     * @return 结果
+     */
+    boolean setList(String key, Object value, long time);
+
+    /**
+     * 保存list
+     *
+     * @param key   键
+     * @param value 值
+     * @return 结果
+     */
+    boolean setList(String key, List<Object> value);
+
+    /**
+     * 保存list并设置超时时间（秒）
+     *
+     * @param key   键
+     * @param value 值
+     * @param time  超时时间
+     * @return 结果
+     */
+    boolean listSet(String key, List<Object> value, long time);
+
+    /**
+     * 获取list<br/>
+     * 0 到 -1代表所有值
+     *
+     * @param key   键
+     * @param start 开始
+     * @param end   结束
+     * @return list
+     */
+    List<Object> getList(String key, long start, long end);
+
+    /**
+     * 获取list的长度
+     *
+     * @param key 键
+     * @return 长度
+     */
+    Long getListSize(String key);
+
+    /**
+     * 通过索引获取list中的值<br/>
+     * <li>>=0 : 从第一个元素向后</li>
+     * <li> <0 : 从最后一个元素向前</li>
+     *
+     * @param key   键
+     * @param index 索引
+     * @return 值
+     */
+    Object getListItemByIndex(String key, long index);
+
+    /**
+     * 将item放入list
+     *
+     * @param key  键
+     * @param item 值
+     * @return 结果
+     */
+    boolean setListItem(String key, Object item);
+
+    /**
+     * 根据索引修改list中的某条数据
+     *
+     * @param key   键
+     * @param index 索引
+     * @param item  值
+     * @return 结果
+     */
+    boolean updateListItemByIndex(String key, long index, Object item);
+
+    /**
+     * 移除list中值为value的项<br/>
+     * <li>count > 0 : 从头向尾移除count个</li>
+     * <li>count < 0 : 从尾向头移除-count个</li>
+     * <li>count = 0 : 移除全部</li>
+     *
+     * @param key   键
+     * @param count 数量
+     * @param value 值
+     * @return 移除的个数
+     */
+    Long deleteListItem(String key, long count, Object value);
+
+    /**
+     * 批量获取 str<br/>
+     * 结果顺序与键的顺序一致，不存在的键对应null
+     *
+     * @param keys 键
+     * @return 值
+     */
+    List<Object> batchGetString(List<String> keys);
+
+    /**
+     * 批量添加 str 并设置相同的时间
+     *
+     * @param values 键值
+     * @param time   时间（秒） 小于等于0时为无限期
+     * @return 结果
+     */
+    boolean batchSetString(Map<String, Object> values, long time);
+
+    /**
+     * 批量添加 str，每一项可以设置各自的时间
+     *
+     * @param items 写入项
+     * @return 结果
+     */
+    boolean batchSetString(List<RedisBatchItem> items);
+
+    /**
+     * 批量获取map<br/>
+     * 结果顺序与键的顺序一致，不存在的键对应空map
+     *
+     * @param keys 键
+     * @return MAP
+     */
+    List<Map<Object, Object>> batchGetMap(List<String> keys);
+
+    /**
+     * 批量获取多个map中同一项的值<br/>
+     * 结果顺序与键的顺序一致，不存在的项对应null
+     *
+     * @param keys 键
+     * @param hash 项
+     * @return 值
+     */
+    List<Object> batchGetMap(List<String> keys, String hash);
+
+    /**
+     * 批量删除缓存
+     *
+     * @param keys 键
+     * @return 删除的个数
+     */
+    Long batchDeleteByKey(List<String> keys);
+}
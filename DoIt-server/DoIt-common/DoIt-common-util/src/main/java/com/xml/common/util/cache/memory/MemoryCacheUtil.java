@@ -0,0 +1,831 @@
+package com.xml.common.util.cache.memory;
+
+import com.xml.common.util.cache.CacheUtil;
+import com.xml.common.util.cache.redis.batch.RedisBatchItem;
+import com.xml.common.util.cache.redis.constants.RedisConstants;
+import com.xml.common.util.cache.redis.exception.DoItRedisException;
+import com.xml.common.util.cache.redis.exception.RedisExceptionCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.DataType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 进程内的 {@link CacheUtil} 实现，适用于单节点部署及测试<br/>
+ * <li>数据保存在ConcurrentHashMap中，同一个键的写操作互斥，读操作不加锁（list除外）</li>
+ * <li>过期的键在读取时立即失效，并由 {@link TimingWheel} 定期清理</li>
+ * <li>str、map、set、list及递增递减的语义与Redis命令一致，类型不匹配时抛出WRONGTYPE异常，集合为空时删除键</li>
+ * <li>值以引用保存，不经过序列化，写入后不能再修改值对象；map和set的项与值不能为null</li>
+ * <li>数据不持久化，也不在节点间共享</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Slf4j
+public class MemoryCacheUtil implements CacheUtil, DisposableBean {
+
+    /**
+     * 超时时间的上限，避免计算到期时间时溢出
+     */
+    private static final long MAX_TTL_NANOS = Long.MAX_VALUE / 4;
+
+    private static final String WRONG_TYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+
+    private final ConcurrentHashMap<String, Entry> data = new ConcurrentHashMap<>();
+
+    /**
+     * getOrLoad正在加载的键，同一个键的并发加载只执行一次
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final TimingWheel timingWheel;
+
+    /**
+     * @param tickMillis 时间轮刻度（毫秒），过期的键最多延迟一个刻度被清理
+     * @param wheelSize  时间轮槽数
+     */
+    public MemoryCacheUtil(long tickMillis, int wheelSize) {
+        this.timingWheel = new TimingWheel(tickMillis, wheelSize, this::removeIfExpired);
+    }
+
+    /**
+     * 清空所有数据
+     */
+    public void clear() {
+        data.clear();
+    }
+
+    @Override
+    public void destroy() {
+        timingWheel.close();
+    }
+
+    @Override
+    public boolean expire(String key, long time) {
+        return this.expire(key, time, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public boolean expire(String key, long time, TimeUnit unit) {
+        if (time > 0) {
+            try {
+                long deadline = this.deadline(unit.toNanos(time));
+                boolean[] result = new boolean[1];
+                data.computeIfPresent(key, (k, entry) -> {
+                    if (entry.isExpired(System.nanoTime())) {
+                        return null;
+                    }
+                    entry.expireAt = deadline;
+                    this.schedule(key, entry);
+                    result[0] = true;
+                    return entry;
+                });
+                return result[0];
+            } catch (Exception e) {
+                this.error(RedisConstants.REDIS_EXPIRE_ERROR, e);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Long getExpireSecond(String key) {
+        return this.getExpireSecond(key, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Long getExpireSecond(String key, TimeUnit timeUnit) {
+        Entry entry = this.live(key);
+        if (Objects.isNull(entry)) {
+            return -2L;
+        }
+        long expireAt = entry.expireAt;
+        if (expireAt == 0) {
+            return -1L;
+        }
+        long unitNanos = timeUnit.toNanos(1);
+        return Math.max(0, (expireAt - System.nanoTime() + unitNanos / 2) / unitNanos);
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return Objects.nonNull(this.live(key));
+    }
+
+    @Override
+    public void deleteByKey(String... keys) {
+        if (Objects.nonNull(keys)) {
+            for (String key : keys) {
+                data.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public Object getString(String key) {
+        if (Objects.isNull(key)) {
+            return null;
+        }
+        Entry entry = this.live(key);
+        return Objects.isNull(entry) ? null : entry.as(DataType.STRING);
+    }
+
+    @Override
+    public boolean setString(String key, Object value) {
+        data.compute(key, (k, previous) -> new Entry(DataType.STRING, value, 0).inherit(previous));
+        return true;
+    }
+
+    @Override
+    public boolean setString(String key, Object value, long time) {
+        if (time <= 0) {
+            return this.setString(key, value);
+        }
+        long deadline = this.deadline(TimeUnit.SECONDS.toNanos(time));
+        data.compute(key, (k, previous) -> this.schedule(key, new Entry(DataType.STRING, value, deadline).inherit(previous)));
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String key, long time, Supplier<T> loader) {
+        Object value = this.getString(key);
+        if (Objects.nonNull(value)) {
+            return (T) value;
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, future);
+        if (Objects.nonNull(running)) {
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            value = loader.get();
+            if (Objects.nonNull(value)) {
+                this.setString(key, value, time);
+            }
+            future.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Override
+    public Long incrementString(String key, long delta) {
+        if (delta <= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.INCREMENT_DELTA);
+        }
+        return this.addString(key, delta);
+    }
+
+    @Override
+    public Long decrementString(String key, long delta) {
+        if (delta >= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.DECREMENT_DELTA);
+        }
+        return this.addString(key, delta);
+    }
+
+    @Override
+    public boolean setMap(String key, String hash, Object value) {
+        try {
+            this.<Map<Object, Object>, Object>write(key, DataType.HASH, 0, map -> map.put(hash, value));
+            return true;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean setMap(String key, String hash, Object value, long time) {
+        return this.setMap(key, Collections.singletonMap(hash, value), time);
+    }
+
+    @Override
+    public Map<Object, Object> getMap(String key) {
+        Map<Object, Object> map = this.read(key, DataType.HASH);
+        return Objects.isNull(map) ? new HashMap<>(0) : new LinkedHashMap<>(map);
+    }
+
+    @Override
+    public Object getMap(String key, String hash) {
+        Map<Object, Object> map = this.read(key, DataType.HASH);
+        return Objects.isNull(map) ? null : map.get(hash);
+    }
+
+    @Override
+    public boolean setMap(String key, Map<String, Object> map) {
+        try {
+            this.<Map<Object, Object>, Object>write(key, DataType.HASH, 0, hash -> {
+                hash.putAll(map);
+                return null;
+            });
+            return true;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean setMap(String key, Map<String, Object> map, long time) {
+        try {
+            return this.<Map<Object, Object>, Boolean>write(key, DataType.HASH, time, hash -> {
+                hash.putAll(map);
+                return time > 0 && !hash.isEmpty();
+            });
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+        }
+        return false;
+    }
+
+    @Override
+    public void deleteMap(String key, Object... hash) {
+        this.<Map<Object, Object>, Object>update(key, DataType.HASH, map -> {
+            for (Object item : hash) {
+                map.remove(item);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean hasMapKey(String key, String hash) {
+        Map<Object, Object> map = this.read(key, DataType.HASH);
+        return Objects.nonNull(map) && map.containsKey(hash);
+    }
+
+    @Override
+    public Double incrementMap(String key, String hash, double delta) {
+        if (delta <= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.INCREMENT_DELTA);
+        }
+        return this.addMap(key, hash, delta);
+    }
+
+    @Override
+    public Double decrementMap(String key, String hash, double delta) {
+        if (delta >= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.DECREMENT_DELTA);
+        }
+        return this.addMap(key, hash, delta);
+    }
+
+    @Override
+    public Set<Object> getSet(String key) {
+        try {
+            Set<Object> set = this.read(key, DataType.SET);
+            return Objects.isNull(set) ? new LinkedHashSet<>(0) : new LinkedHashSet<>(set);
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean hasSetValue(String key, Object value) {
+        try {
+            Set<Object> set = this.read(key, DataType.SET);
+            return Objects.nonNull(set) && set.contains(value);
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_CHECK_KEY_ERROR, e);
+            return false;
+        }
+    }
+
+    @Override
+    public Long setSet(String key, Object... values) {
+        return this.setSet(key, 0, values);
+    }
+
+    @Override
+    public Long setSet(String key, long time, Object... values) {
+        try {
+            return this.<Set<Object>, Long>write(key, DataType.SET, time, set -> {
+                long count = 0;
+                for (Object value : values) {
+                    if (set.add(value)) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public Long getSetSize(String key) {
+        try {
+            Set<Object> set = this.read(key, DataType.SET);
+            return Objects.isNull(set) ? 0L : set.size();
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public Long deleteSet(String key, Object... values) {
+        try {
+            Long count = this.<Set<Object>, Long>update(key, DataType.SET, set -> {
+                long removed = 0;
+                for (Object value : values) {
+                    if (set.remove(value)) {
+                        removed++;
+                    }
+                }
+                return removed;
+            });
+            return Objects.isNull(count) ? 0L : count;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_DELETE_ERROR, e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public boolean setList(String key, Object value, long time) {
+        return this.listSet(key, Collections.singletonList(value), time);
+    }
+
+    @Override
+    public boolean setList(String key, List<Object> value) {
+        return this.listSet(key, value, 0);
+    }
+
+    @Override
+    public boolean listSet(String key, List<Object> value, long time) {
+        try {
+            this.<List<Object>, Object>write(key, DataType.LIST, time, list -> {
+                synchronized (list) {
+                    list.addAll(value);
+                }
+                return null;
+            });
+            return true;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+            return false;
+        }
+    }
+
+    @Override
+    public List<Object> getList(String key, long start, long end) {
+        try {
+            List<Object> list = this.read(key, DataType.LIST);
+            if (Objects.isNull(list)) {
+                return new ArrayList<>(0);
+            }
+            synchronized (list) {
+                int size = list.size();
+                long from = Math.max(start < 0 ? start + size : start, 0);
+                long to = Math.min(end < 0 ? end + size : end, size - 1);
+                return from > to ? new ArrayList<>(0) : new ArrayList<>(list.subList((int) from, (int) to + 1));
+            }
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+    }
+
+    @Override
+    public Long getListSize(String key) {
+        try {
+            List<Object> list = this.read(key, DataType.LIST);
+            if (Objects.isNull(list)) {
+                return 0L;
+            }
+            synchronized (list) {
+                return (long) list.size();
+            }
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public Object getListItemByIndex(String key, long index) {
+        try {
+            List<Object> list = this.read(key, DataType.LIST);
+            if (Objects.isNull(list)) {
+                return null;
+            }
+            synchronized (list) {
+                long position = index < 0 ? index + list.size() : index;
+                return position < 0 || position >= list.size() ? null : list.get((int) position);
+            }
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean setListItem(String key, Object item) {
+        return this.listSet(key, Collections.singletonList(item), 0);
+    }
+
+    @Override
+    public boolean updateListItemByIndex(String key, long index, Object item) {
+        try {
+            Boolean updated = this.<List<Object>, Boolean>update(key, DataType.LIST, list -> {
+                synchronized (list) {
+                    long position = index < 0 ? index + list.size() : index;
+                    if (position < 0 || position >= list.size()) {
+                        throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "ERR index out of range");
+                    }
+                    list.set((int) position, item);
+                }
+                return true;
+            });
+            if (Objects.isNull(updated)) {
+                throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "ERR no such key");
+            }
+            return true;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+            return false;
+        }
+    }
+
+    @Override
+    public Long deleteListItem(String key, long count, Object value) {
+        try {
+            Long removed = this.<List<Object>, Long>update(key, DataType.LIST, list -> {
+                synchronized (list) {
+                    long limit = count == 0 ? Long.MAX_VALUE : Math.abs(count);
+                    long result = 0;
+                    ListIterator<Object> iterator = count < 0 ? list.listIterator(list.size()) : list.listIterator();
+                    while (result < limit && (count < 0 ? iterator.hasPrevious() : iterator.hasNext())) {
+                        if (Objects.equals(count < 0 ? iterator.previous() : iterator.next(), value)) {
+                            iterator.remove();
+                            result++;
+                        }
+                    }
+                    return result;
+                }
+            });
+            return Objects.isNull(removed) ? 0L : removed;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_DELETE_ERROR, e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public List<Object> batchGetString(List<String> keys) {
+        if (Objects.isNull(keys) || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            List<Object> values = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                values.add(this.getString(key));
+            }
+            return values;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean batchSetString(Map<String, Object> values, long time) {
+        if (Objects.isNull(values) || values.isEmpty()) {
+            return true;
+        }
+        values.forEach((key, value) -> this.setString(key, value, time));
+        return true;
+    }
+
+    @Override
+    public boolean batchSetString(List<RedisBatchItem> items) {
+        if (Objects.isNull(items) || items.isEmpty()) {
+            return true;
+        }
+        for (RedisBatchItem item : items) {
+            this.setString(item.getKey(), item.getValue(), item.getTime());
+        }
+        return true;
+    }
+
+    @Override
+    public List<Map<Object, Object>> batchGetMap(List<String> keys) {
+        if (Objects.isNull(keys) || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            List<Map<Object, Object>> values = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                values.add(this.getMap(key));
+            }
+            return values;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+    }
+
+    @Override
+    public List<Object> batchGetMap(List<String> keys, String hash) {
+        if (Objects.isNull(keys) || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            List<Object> values = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                values.add(this.getMap(key, hash));
+            }
+            return values;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+    }
+
+    @Override
+    public Long batchDeleteByKey(List<String> keys) {
+        if (Objects.isNull(keys) || keys.isEmpty()) {
+            return 0L;
+        }
+        long count = 0;
+        long now = System.nanoTime();
+        for (String key : keys) {
+            Entry entry = data.remove(key);
+            if (Objects.nonNull(entry) && !entry.isExpired(now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 读取未过期的键，已过期时删除
+     */
+    private Entry live(String key) {
+        Entry entry = data.get(key);
+        if (Objects.nonNull(entry) && entry.isExpired(System.nanoTime())) {
+            data.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 读取集合，不存在时为null
+     */
+    @SuppressWarnings("unchecked")
+    private <C> C read(String key, DataType type) {
+        Entry entry = this.live(key);
+        return Objects.isNull(entry) ? null : (C) entry.as(type);
+    }
+
+    /**
+     * 修改集合，不存在时创建；集合修改后为空时删除键
+     *
+     * @param key      键
+     * @param type     类型
+     * @param time     超时时间（秒），大于0时修改后设置
+     * @param mutation 修改操作，在该键的锁内执行
+     * @param <C>      集合
+     * @param <R>      结果
+     * @return 修改操作的结果
+     */
+    private <C, R> R write(String key, DataType type, long time, Function<C, R> mutation) {
+        long deadline = time > 0 ? this.deadline(TimeUnit.SECONDS.toNanos(time)) : 0;
+        return this.mutate(key, type, true, deadline, mutation);
+    }
+
+    /**
+     * 修改已有的集合，集合修改后为空时删除键
+     *
+     * @return 修改操作的结果，不存在时为null
+     */
+    private <C, R> R update(String key, DataType type, Function<C, R> mutation) {
+        return this.mutate(key, type, false, 0, mutation);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <C, R> R mutate(String key, DataType type, boolean create, long deadline, Function<C, R> mutation) {
+        Object[] result = new Object[1];
+        data.compute(key, (k, entry) -> {
+            if (Objects.isNull(entry) || entry.isExpired(System.nanoTime())) {
+                if (!create) {
+                    return null;
+                }
+                entry = new Entry(type, this.newContainer(type), 0).inherit(entry);
+            }
+            C container = (C) entry.as(type);
+            result[0] = mutation.apply(container);
+            if (isEmpty(container)) {
+                return null;
+            }
+            if (deadline != 0) {
+                entry.expireAt = deadline;
+                this.schedule(key, entry);
+            }
+            return entry;
+        });
+        return (R) result[0];
+    }
+
+    private Object newContainer(DataType type) {
+        switch (type) {
+            case HASH:
+                return new ConcurrentHashMap<>();
+            case SET:
+                return ConcurrentHashMap.newKeySet();
+            case LIST:
+                return new ArrayList<>();
+            default:
+                throw new IllegalArgumentException(type.name());
+        }
+    }
+
+    private static boolean isEmpty(Object container) {
+        if (container instanceof Map) {
+            return ((Map<?, ?>) container).isEmpty();
+        }
+        if (container instanceof List) {
+            synchronized (container) {
+                return ((List<?>) container).isEmpty();
+            }
+        }
+        return ((Collection<?>) container).isEmpty();
+    }
+
+    /**
+     * INCRBY，保留原有的超时时间
+     */
+    private Long addString(String key, long delta) {
+        long[] result = new long[1];
+        data.compute(key, (k, entry) -> {
+            if (Objects.isNull(entry) || entry.isExpired(System.nanoTime())) {
+                result[0] = delta;
+                return new Entry(DataType.STRING, delta, 0).inherit(entry);
+            }
+            result[0] = Math.addExact(toLong(entry.as(DataType.STRING)), delta);
+            return new Entry(DataType.STRING, result[0], entry.expireAt).inherit(entry);
+        });
+        return result[0];
+    }
+
+    /**
+     * HINCRBYFLOAT
+     */
+    private Double addMap(String key, String hash, double delta) {
+        return this.<Map<Object, Object>, Double>write(key, DataType.HASH, 0, map -> {
+            Object current = map.get(hash);
+            double value = (Objects.isNull(current) ? 0 : toDouble(current)) + delta;
+            map.put(hash, value);
+            return value;
+        });
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return Long.parseLong(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "ERR value is not an integer or out of range");
+        }
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "ERR hash value is not a float");
+        }
+    }
+
+    private long deadline(long ttlNanos) {
+        long deadline = System.nanoTime() + Math.min(ttlNanos, MAX_TTL_NANOS);
+        // 0 表示无限期
+        return deadline == 0 ? 1 : deadline;
+    }
+
+    /**
+     * 在该键的锁内调用：没有待处理的登记或新的到期时间更早时才登记到时间轮，频繁续期的键在时间轮中只保留一个登记
+     *
+     * @param key   键
+     * @param entry 数据
+     * @return 数据
+     */
+    private Entry schedule(String key, Entry entry) {
+        long deadline = entry.expireAt;
+        if (deadline != 0 && (entry.scheduledAt == 0 || deadline - entry.scheduledAt < 0)) {
+            entry.scheduledAt = deadline;
+            timingWheel.schedule(key, deadline);
+        }
+        return entry;
+    }
+
+    /**
+     * 时间轮到期回调，键的超时时间可能已被延长，此时按新的到期时间重新登记
+     */
+    private void removeIfExpired(String key) {
+        data.computeIfPresent(key, (k, entry) -> {
+            long now = System.nanoTime();
+            if (entry.isExpired(now)) {
+                return null;
+            }
+            // 只处理当前登记的到期，更早被替换掉的登记到期时忽略
+            if (entry.scheduledAt != 0 && entry.scheduledAt - now <= 0) {
+                entry.scheduledAt = 0;
+                this.schedule(key, entry);
+            }
+            return entry;
+        });
+    }
+
+    private void error(String message, Exception e) {
+        log.error(message, e);
+    }
+
+    /**
+     * 键对应的数据
+     */
+    private static final class Entry {
+
+        private final DataType type;
+
+        /**
+         * str为值本身，map、set、list为对应的集合
+         */
+        private final Object value;
+
+        /**
+         * 到期时间，{@link System#nanoTime()} 的值，0表示无限期
+         */
+        private volatile long expireAt;
+
+        /**
+         * 时间轮中待处理的到期时间，0表示没有，只在该键的锁内访问
+         */
+        private long scheduledAt;
+
+        private Entry(DataType type, Object value, long expireAt) {
+            this.type = type;
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        /**
+         * 替换同一个键的数据时沿用尚未处理的时间轮登记
+         */
+        private Entry inherit(Entry previous) {
+            if (previous != null) {
+                this.scheduledAt = previous.scheduledAt;
+            }
+            return this;
+        }
+
+        private boolean isExpired(long now) {
+            long deadline = expireAt;
+            return deadline != 0 && deadline - now <= 0;
+        }
+
+        private Object as(DataType expected) {
+            if (type != expected) {
+                throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), WRONG_TYPE);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.xml.common.util.cache.memory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 哈希时间轮，用于清理过期的键<br/>
+ * <li>时间轮有wheelSize个槽，每tickMillis毫秒前进一个槽，到期时间按刻度落入对应的槽</li>
+ * <li>超出一圈的到期时间在经过所在的槽时重新放回，直到到期</li>
+ * <li>登记和到期回调都不加锁，到期回调需自行判断键的过期时间是否已被修改</li>
+ * <li>到期回调最多延迟一个刻度，读取时需同时判断是否过期</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Slf4j
+public class TimingWheel implements AutoCloseable {
+
+    private final long tickNanos;
+
+    private final int mask;
+
+    private final long startNanos;
+
+    private final AtomicReferenceArray<Queue<Timeout>> slots;
+
+    private final Consumer<String> onExpire;
+
+    private final ScheduledExecutorService ticker;
+
+    /**
+     * 下一个待处理的刻度
+     */
+    private volatile long nextTick;
+
+    /**
+     * @param tickMillis 刻度（毫秒）
+     * @param wheelSize  槽数，向上取整为2的幂
+     * @param onExpire   到期回调，参数为键
+     */
+    public TimingWheel(long tickMillis, int wheelSize, Consumer<String> onExpire) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be greater than 0");
+        }
+        int size = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.slots = new AtomicReferenceArray<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.set(i, new ConcurrentLinkedQueue<>());
+        }
+        this.onExpire = onExpire;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "doit-cache-timing-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 登记到期时间
+     *
+     * @param key           键
+     * @param deadlineNanos 到期时间，{@link System#nanoTime()} 的值
+     */
+    public void schedule(String key, long deadlineNanos) {
+        this.add(new Timeout(key, deadlineNanos));
+    }
+
+    /**
+     * 处理当前时间之前的所有刻度
+     */
+    void advance() {
+        try {
+            long now = System.nanoTime();
+            long target = (now - startNanos) / tickNanos;
+            while (nextTick <= target) {
+                Queue<Timeout> expiring = slots.getAndSet((int) (nextTick & mask), new ConcurrentLinkedQueue<>());
+                nextTick++;
+                Timeout timeout;
+                while ((timeout = expiring.poll()) != null) {
+                    if (timeout.deadlineNanos - now <= 0) {
+                        onExpire.accept(timeout.key);
+                    } else {
+                        this.add(timeout);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Timing wheel tick error", e);
+        }
+    }
+
+    private void add(Timeout timeout) {
+        long tick = Math.max((timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos, nextTick);
+        slots.get((int) (tick & mask)).add(timeout);
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * 登记的到期时间
+     */
+    private static final class Timeout {
+
+        private final String key;
+
+        private final long deadlineNanos;
+
+        private Timeout(String key, long deadlineNanos) {
+            this.key = key;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,905 @@
+package com.xml.common.util.cache.redis;
+
+import com.xml.common.util.cache.redis.bigkey.HashBuckets;
+import com.xml.common.util.cache.redis.breaker.CircuitBreakerRedisTemplate;
+import com.xml.common.util.cache.redis.breaker.ErrorLogLimiter;
+import com.xml.common.util.cache.redis.breaker.RedisCircuitBreaker;
+import com.xml.common.util.cache.redis.breaker.RedisCircuitOpenException;
+import com.xml.common.util.cache.redis.constants.RedisConstants;
+import com.xml.common.util.cache.redis.exception.DoItRedisException;
+import com.xml.common.util.cache.redis.exception.RedisExceptionCode;
+import com.xml.common.util.cache.redis.metrics.RedisMetrics;
+import com.xml.common.util.cache.redis.near.NearCacheInvalidator;
+import com.xml.common.util.cache.redis.script.RedisScripts;
+import com.xml.common.util.cache.redis.shard.ShardedRedisTemplates;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 非阻塞操作Redis<br/>
+ * 与 {@link RedisUtil} 的操作一一对应，基于Lettuce的响应式连接，调用线程不会等待Redis返回，
+ * 多个调用可以同时发出后再通过 {@link CompletableFuture} 组合结果
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Slf4j
+public class AsyncRedisUtil {
+
+    private static final RedisElementWriter<byte[]> ARGS_WRITER = RedisElementWriter.from(RedisSerializer.byteArray());
+
+    private static final RedisElementReader<byte[]> RESULT_READER = RedisElementReader.from(RedisSerializer.byteArray());
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    private final RedisSerializationContext<String, Object> serializationContext;
+
+    /**
+     * 分片节点 -> 该节点的响应式RedisTemplate
+     */
+    private final Map<RedisTemplate<String, Object>, ReactiveRedisTemplate<String, Object>> shardTemplates = new ConcurrentHashMap<>();
+
+    private final RedisSerializer<?> valueSerializer;
+
+    private final RedisSerializer<?> hashKeySerializer;
+
+    private final RedisSerializer<?> hashValueSerializer;
+
+    /**
+     * 一级缓存，未启用时为null
+     */
+    @Autowired(required = false)
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    /**
+     * 指标，未启用时为null
+     */
+    @Autowired(required = false)
+    private RedisMetrics redisMetrics;
+
+    /**
+     * 熔断器，未启用时为null
+     */
+    @Autowired(required = false)
+    private RedisCircuitBreaker circuitBreaker;
+
+    /**
+     * 分片节点，未启用时为null
+     */
+    @Autowired(required = false)
+    private ShardedRedisTemplates shardedRedisTemplates;
+
+    /**
+     * 分桶map，未启用时为null
+     */
+    @Autowired(required = false)
+    private HashBuckets hashBuckets;
+
+    /**
+     * 错误日志限流
+     */
+    private ErrorLogLimiter errorLogLimiter = new ErrorLogLimiter(RedisConstants.DEFAULT_ERROR_LOG_INTERVAL_SECONDS);
+
+    /**
+     * 使用与同步RedisTemplate相同的序列化方式，分片、map分桶与 {@link RedisUtil} 的路由一致，两者读写的数据互通
+     *
+     * @param connectionFactory 响应式连接工厂
+     * @param template          同步RedisTemplate
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncRedisUtil(ReactiveRedisConnectionFactory connectionFactory, RedisTemplate<String, Object> template) {
+        this.valueSerializer = template.getValueSerializer();
+        this.hashKeySerializer = template.getHashKeySerializer();
+        this.hashValueSerializer = template.getHashValueSerializer();
+        this.serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext()
+                .key((RedisSerializer<String>) template.getKeySerializer())
+                .value((RedisSerializer<Object>) valueSerializer)
+                .hashKey(hashKeySerializer)
+                .hashValue(hashValueSerializer)
+                .build();
+        this.redisTemplate = new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+
+    public void setErrorLogLimiter(ErrorLogLimiter errorLogLimiter) {
+        this.errorLogLimiter = errorLogLimiter;
+    }
+
+    /**
+     * 设置超时时间
+     *
+     * @param key  键
+     * @param time 超时时间（秒）
+     * @return 操作结果
+     */
+    public CompletableFuture<Boolean> expire(String key, long time) {
+        return this.expire(key, time, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param key  键
+     * @param time 超时时间
+     * @param unit 时间单位
+     * @return 操作结果
+     */
+    public CompletableFuture<Boolean> expire(String key, long time, TimeUnit unit) {
+        if (time <= 0) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return this.orElse(key, template -> template.expire(key, Duration.ofNanos(unit.toNanos(time))),
+                RedisConstants.REDIS_EXPIRE_ERROR, false);
+    }
+
+    /**
+     * 获取超时时间（秒）
+     *
+     * @param key 键
+     * @return 超时时间（秒）
+     */
+    public CompletableFuture<Long> getExpireSecond(String key) {
+        return this.toFuture(key, template -> template.getExpire(key).map(Duration::getSeconds));
+    }
+
+    /**
+     * 键是否存在
+     *
+     * @param key 键
+     * @return 是否存在
+     */
+    public CompletableFuture<Boolean> hasKey(String key) {
+        return this.orElse(key, template -> template.hasKey(key), RedisConstants.REDIS_CHECK_KEY_ERROR, false);
+    }
+
+    /**
+     * 删除缓存
+     *
+     * @param keys 键
+     * @return 删除的个数
+     */
+    public CompletableFuture<Long> deleteByKey(String... keys) {
+        if (Objects.isNull(keys) || keys.length == 0) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        Mono<Long> deleted;
+        if (Objects.isNull(shardedRedisTemplates)) {
+            deleted = this.execute(keys[0], template -> template.delete(keys));
+        } else {
+            deleted = Flux.fromIterable(shardedRedisTemplates.group(Arrays.asList(keys), Function.identity()).values())
+                    .flatMap(group -> this.execute(group.get(0), template -> template.delete(group.toArray(new String[0]))))
+                    .reduce(0L, Long::sum);
+        }
+        return this.invalidateAfter(deleted, keys).toFuture();
+    }
+
+    /**
+     * 获取 str
+     *
+     * @param key 键
+     * @return 值
+     */
+    public CompletableFuture<Object> getString(String key) {
+        return Objects.isNull(key) ? CompletableFuture.completedFuture(null) : this.toFuture(key, template -> template.opsForValue().get(key));
+    }
+
+    /**
+     * 添加 str
+     *
+     * @param key   键
+     * @param value 值
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> setString(String key, Object value) {
+        return this.orElse(key, template -> this.invalidateAfter(template.opsForValue().set(key, value), key),
+                RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 添加 str 并设置时间
+     *
+     * @param key   键
+     * @param value 值
+     * @param time  时间（秒） 小于等于0时为无限期
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> setString(String key, Object value, long time) {
+        if (time <= 0) {
+            return this.setString(key, value);
+        }
+        return this.orElse(key, template -> this.invalidateAfter(template.opsForValue().set(key, value, Duration.ofSeconds(time)), key),
+                RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 递增
+     *
+     * @param key   键
+     * @param delta 递增因数
+     * @return 结果
+     */
+    public CompletableFuture<Long> incrementString(String key, long delta) {
+        if (delta <= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.INCREMENT_DELTA);
+        }
+        return this.toFuture(key, template -> this.invalidateAfter(template.opsForValue().increment(key, delta), key));
+    }
+
+    /**
+     * 递减
+     *
+     * @param key   键
+     * @param delta 递减因数，与 {@link RedisUtil#decrementString(String, long)} 一致需传入负数
+     * @return 结果
+     */
+    public CompletableFuture<Long> decrementString(String key, long delta) {
+        if (delta >= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.DECREMENT_DELTA);
+        }
+        return this.toFuture(key, template -> this.invalidateAfter(template.opsForValue().increment(key, delta), key));
+    }
+
+    /**
+     * 设置 map
+     *
+     * @param key   键
+     * @param hash  项
+     * @param value 值
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> setMap(String key, String hash, Object value) {
+        String mapKey = this.mapKey(key, hash);
+        return this.orElse(mapKey, template -> this.invalidateAfter(template.opsForHash().put(mapKey, hash, value).thenReturn(true), key),
+                RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 设置 map 并设置超时时间（秒），写入与设置超时时间为一次原子操作
+     *
+     * @param key   键
+     * @param hash  项
+     * @param value 值
+     * @param time  超时时间
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> setMap(String key, String hash, Object value, long time) {
+        return this.setMap(key, Collections.<String, Object>singletonMap(hash, value), time);
+    }
+
+    /**
+     * 获取map
+     *
+     * @param key 键
+     * @return MAP
+     */
+    public CompletableFuture<Map<Object, Object>> getMap(String key) {
+        return Flux.fromIterable(this.physicalKeys(key))
+                .flatMap(mapKey -> this.execute(mapKey, template -> template.opsForHash().entries(mapKey).collectList()))
+                .flatMapIterable(Function.identity())
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .toFuture();
+    }
+
+    /**
+     * 获取map中key对应的value
+     *
+     * @param key  键
+     * @param hash 项
+     * @return 值
+     */
+    public CompletableFuture<Object> getMap(String key, String hash) {
+        String mapKey = this.mapKey(key, hash);
+        return this.toFuture(mapKey, template -> template.opsForHash().get(mapKey, hash));
+    }
+
+    /**
+     * 添加MAP
+     *
+     * @param key 键
+     * @param map MAP
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> setMap(String key, Map<String, Object> map) {
+        Mono<Boolean> result = Flux.fromIterable(this.splitMap(key, map).entrySet())
+                .flatMap(bucket -> this.execute(bucket.getKey(), template -> template.opsForHash().putAll(bucket.getKey(), bucket.getValue())))
+                .all(Boolean::booleanValue);
+        return this.orElse(this.invalidateAfter(result, key), RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 添加MAP并设置超时时间（秒），写入与设置超时时间为一次原子操作
+     *
+     * @param key  键
+     * @param map  MAP
+     * @param time 时间（秒）
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> setMap(String key, Map<String, Object> map, long time) {
+        Mono<Boolean> result = Flux.fromIterable(this.splitMap(key, map).entrySet())
+                .flatMap(bucket -> this.execute(bucket.getKey(), template -> this.executeScript(template, RedisScripts.HSET_EXPIRE,
+                        bucket.getKey(), RedisScripts.hashArgs(time, bucket.getValue(), hashKeySerializer, hashValueSerializer))))
+                .reduce(0L, Long::sum)
+                .map(added -> added > 0);
+        return this.orElse(this.invalidateAfter(result, key), RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 删除
+     *
+     * @param key  键
+     * @param hash hash
+     * @return 删除的个数
+     */
+    public CompletableFuture<Long> deleteMap(String key, Object... hash) {
+        Map<String, List<Object>> buckets = new LinkedHashMap<>();
+        for (Object item : hash) {
+            buckets.computeIfAbsent(this.mapKey(key, item), mapKey -> new ArrayList<>()).add(item);
+        }
+        Mono<Long> removed = Flux.fromIterable(buckets.entrySet())
+                .flatMap(bucket -> this.execute(bucket.getKey(), template -> template.opsForHash().remove(bucket.getKey(), bucket.getValue().toArray())))
+                .reduce(0L, Long::sum);
+        return this.invalidateAfter(removed, key).toFuture();
+    }
+
+    /**
+     * 判断hash表中是否有该项的值
+     *
+     * @param key  键
+     * @param hash 项
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> hasMapKey(String key, String hash) {
+        String mapKey = this.mapKey(key, hash);
+        return this.toFuture(mapKey, template -> template.opsForHash().hasKey(mapKey, hash));
+    }
+
+    /**
+     * 递增
+     *
+     * @param key   键
+     * @param hash  项
+     * @param delta 递增因数
+     * @return 结果
+     */
+    public CompletableFuture<Double> incrementMap(String key, String hash, double delta) {
+        if (delta <= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.INCREMENT_DELTA);
+        }
+        String mapKey = this.mapKey(key, hash);
+        return this.toFuture(mapKey, template -> this.invalidateAfter(template.opsForHash().increment(mapKey, hash, delta), key));
+    }
+
+    /**
+     * 递减
+     *
+     * @param key   键
+     * @param hash  项
+     * @param delta 递减因数，与 {@link RedisUtil#decrementMap(String, String, double)} 一致需传入负数
+     * @return 结果
+     */
+    public CompletableFuture<Double> decrementMap(String key, String hash, double delta) {
+        if (delta >= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.DECREMENT_DELTA);
+        }
+        String mapKey = this.mapKey(key, hash);
+        return this.toFuture(mapKey, template -> this.invalidateAfter(template.opsForHash().increment(mapKey, hash, delta), key));
+    }
+
+    /**
+     * 获取Set
+     *
+     * @param key 键
+     * @return 结果
+     */
+    public CompletableFuture<Set<Object>> getSet(String key) {
+        return this.orElse(key, template -> template.opsForSet().members(key).collect(HashSet::new, Set::add),
+                RedisConstants.REDIS_GET_ERROR, null);
+    }
+
+    /**
+     * 查询set是否存在value
+     *
+     * @param key   键
+     * @param value 值
+     * @return 是否存在
+     */
+    public CompletableFuture<Boolean> hasSetValue(String key, Object value) {
+        return this.orElse(key, template -> template.opsForSet().isMember(key, value), RedisConstants.REDIS_CHECK_KEY_ERROR, false);
+    }
+
+    /**
+     * 增加set
+     *
+     * @param key    键
+     * @param values 值
+     * @return 成功数
+     */
+    public CompletableFuture<Long> setSet(String key, Object... values) {
+        return this.orElse(key, template -> template.opsForSet().add(key, values), RedisConstants.REDIS_SET_ERROR, 0L);
+    }
+
+    /**
+     * 增加set并设置超时时间，写入与设置超时时间为一次原子操作
+     *
+     * @param key    键
+     * @param time   时间
+     * @param values 值
+     * @return 成功数
+     */
+    public CompletableFuture<Long> setSet(String key, long time, Object... values) {
+        return this.orElse(key, template -> this.executeScript(template, RedisScripts.SADD_EXPIRE, key, RedisScripts.valueArgs(time, Arrays.asList(values), valueSerializer)),
+                RedisConstants.REDIS_SET_ERROR, 0L);
+    }
+
+    /**
+     * 获取set的大小
+     *
+     * @param key 键
+     * @return size
+     */
+    public CompletableFuture<Long> getSetSize(String key) {
+        return this.orElse(key, template -> template.opsForSet().size(key), RedisConstants.REDIS_GET_ERROR, 0L);
+    }
+
+    /**
+     * 移除值为value的
+     *
+     * @param key    键
+     * @param values 值 可以是多个
+     * @return 移除的个数
+     */
+    public CompletableFuture<Long> deleteSet(String key, Object... values) {
+        return this.orElse(key, template -> template.opsForSet().remove(key, values), RedisConstants.REDIS_DELETE_ERROR, 0L);
+    }
+
+    /**
+     * 增加zset
+     *
+     * @param key   键
+     * @param value 值
+     * @param score 分数
+     * @return 是否为新增
+     */
+    public CompletableFuture<Boolean> setZSet(String key, Object value, double score) {
+        return this.orElse(key, template -> template.opsForZSet().add(key, value, score), RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 批量增加zset，一次ZADD提交
+     *
+     * @param key    键
+     * @param values 值 -> 分数
+     * @return 新增数
+     */
+    public CompletableFuture<Long> setZSet(String key, Map<Object, Double> values) {
+        if (Objects.isNull(values) || values.isEmpty()) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        List<ZSetOperations.TypedTuple<Object>> tuples = new ArrayList<>(values.size());
+        values.forEach((value, score) -> tuples.add(ZSetOperations.TypedTuple.of(value, score)));
+        return this.orElse(key, template -> template.opsForZSet().addAll(key, tuples), RedisConstants.REDIS_SET_ERROR, 0L);
+    }
+
+    /**
+     * 增加zset中值的分数
+     *
+     * @param key   键
+     * @param value 值
+     * @param delta 增量，可以为负数
+     * @return 增加后的分数
+     */
+    public CompletableFuture<Double> incrementZSet(String key, Object value, double delta) {
+        return this.toFuture(key, template -> template.opsForZSet().incrementScore(key, value, delta));
+    }
+
+    /**
+     * 获取zset中值的分数
+     *
+     * @param key   键
+     * @param value 值
+     * @return 分数，不存在时为null
+     */
+    public CompletableFuture<Double> getZSetScore(String key, Object value) {
+        return this.orElse(key, template -> template.opsForZSet().score(key, value), RedisConstants.REDIS_GET_ERROR, null);
+    }
+
+    /**
+     * 获取zset的大小
+     *
+     * @param key 键
+     * @return size
+     */
+    public CompletableFuture<Long> getZSetSize(String key) {
+        return this.orElse(key, template -> template.opsForZSet().size(key), RedisConstants.REDIS_GET_ERROR, 0L);
+    }
+
+    /**
+     * 获取zset中分数在范围内的值的个数
+     *
+     * @param key 键
+     * @param min 最小分数（包含）
+     * @param max 最大分数（包含）
+     * @return 个数
+     */
+    public CompletableFuture<Long> getZSetCount(String key, double min, double max) {
+        return this.orElse(key, template -> template.opsForZSet().count(key, Range.closed(min, max)), RedisConstants.REDIS_GET_ERROR, 0L);
+    }
+
+    /**
+     * 按排名获取zset，分数从小到大
+     *
+     * @param key   键
+     * @param start 开始（0为第一个）
+     * @param end   结束（-1为最后一个）
+     * @return 结果
+     */
+    public CompletableFuture<Set<Object>> getZSetRange(String key, long start, long end) {
+        return this.orElse(key, template -> template.opsForZSet().range(key, Range.closed(start, end)).collect(LinkedHashSet::new, Set::add),
+                RedisConstants.REDIS_GET_ERROR, null);
+    }
+
+    /**
+     * 按分数获取zset，分数从小到大
+     *
+     * @param key 键
+     * @param min 最小分数（包含）
+     * @param max 最大分数（包含）
+     * @return 结果
+     */
+    public CompletableFuture<Set<Object>> getZSetRangeByScore(String key, double min, double max) {
+        return this.orElse(key, template -> template.opsForZSet().rangeByScore(key, Range.closed(min, max)).collect(LinkedHashSet::new, Set::add),
+                RedisConstants.REDIS_GET_ERROR, null);
+    }
+
+    /**
+     * 按分数分页获取zset，分数从小到大
+     *
+     * @param key    键
+     * @param min    最小分数（包含）
+     * @param max    最大分数（包含）
+     * @param offset 跳过的个数
+     * @param count  最多返回的个数
+     * @return 结果
+     */
+    public CompletableFuture<Set<Object>> getZSetRangeByScore(String key, double min, double max, long offset, long count) {
+        return this.orElse(key, template -> template.opsForZSet().rangeByScore(key, Range.closed(min, max), this.limit(offset, count))
+                .collect(LinkedHashSet::new, Set::add), RedisConstants.REDIS_GET_ERROR, null);
+    }
+
+    /**
+     * 按分数分页获取zset及分数，分数从小到大
+     *
+     * @param key    键
+     * @param min    最小分数（包含）
+     * @param max    最大分数（包含）
+     * @param offset 跳过的个数
+     * @param count  最多返回的个数
+     * @return 结果
+     */
+    public CompletableFuture<Set<ZSetOperations.TypedTuple<Object>>> getZSetRangeByScoreWithScores(String key, double min, double max,
+                                                                                                   long offset, long count) {
+        return this.orElse(key, template -> template.opsForZSet().rangeByScoreWithScores(key, Range.closed(min, max), this.limit(offset, count))
+                .collect(LinkedHashSet::new, Set::add), RedisConstants.REDIS_GET_ERROR, null);
+    }
+
+    /**
+     * 按分数分页获取zset，分数从大到小
+     *
+     * @param key    键
+     * @param min    最小分数（包含）
+     * @param max    最大分数（包含）
+     * @param offset 跳过的个数
+     * @param count  最多返回的个数
+     * @return 结果
+     */
+    public CompletableFuture<Set<Object>> getZSetReverseRangeByScore(String key, double min, double max, long offset, long count) {
+        return this.orElse(key, template -> template.opsForZSet().reverseRangeByScore(key, Range.closed(min, max), this.limit(offset, count))
+                .collect(LinkedHashSet::new, Set::add), RedisConstants.REDIS_GET_ERROR, null);
+    }
+
+    /**
+     * 批量删除zset中的值，一次ZREM提交
+     *
+     * @param key    键
+     * @param values 值
+     * @return 删除的个数
+     */
+    public CompletableFuture<Long> deleteZSet(String key, Object... values) {
+        return this.orElse(key, template -> template.opsForZSet().remove(key, values), RedisConstants.REDIS_DELETE_ERROR, 0L);
+    }
+
+    /**
+     * 删除zset中分数在范围内的值
+     *
+     * @param key 键
+     * @param min 最小分数（包含）
+     * @param max 最大分数（包含）
+     * @return 删除的个数
+     */
+    public CompletableFuture<Long> deleteZSetByScore(String key, double min, double max) {
+        return this.orElse(key, template -> template.opsForZSet().removeRangeByScore(key, Range.closed(min, max)), RedisConstants.REDIS_DELETE_ERROR, 0L);
+    }
+
+    /**
+     * 保存list并设置超时时间（秒），写入与设置超时时间为一次原子操作
+     *
+     * @param key   键
+     * @param value 值
+     * @param time  超时时间
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> setList(String key, Object value, long time) {
+        return this.orElse(key, template -> this.executeScript(template, RedisScripts.RPUSH_EXPIRE, key,
+                        RedisScripts.valueArgs(time, Collections.singletonList(value), valueSerializer)).thenReturn(true),
+                RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 保存list
+     *
+     * @param key   键
+     * @param value 值
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> setList(String key, List<Object> value) {
+        return this.orElse(key, template -> template.opsForList().rightPushAll(key, value).thenReturn(true),
+                RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 保存list并设置超时时间（秒），写入与设置超时时间为一次原子操作
+     *
+     * @param key   键
+     * @param value 值
+     * @param time  超时时间
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> listSet(String key, List<Object> value, long time) {
+        return this.orElse(key, template -> this.executeScript(template, RedisScripts.RPUSH_EXPIRE, key, RedisScripts.valueArgs(time, value, valueSerializer)).thenReturn(true),
+                RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 获取list<br/>
+     * 0 到 -1代表所有值
+     *
+     * @param key   键
+     * @param start 开始
+     * @param end   结束
+     * @return list
+     */
+    public CompletableFuture<List<Object>> getList(String key, long start, long end) {
+        return this.orElse(key, template -> template.opsForList().range(key, start, end).collectList(),
+                RedisConstants.REDIS_GET_ERROR, null);
+    }
+
+    /**
+     * 获取list的大小
+     *
+     * @param key 键
+     * @return size
+     */
+    public CompletableFuture<Long> getListSize(String key) {
+        return this.orElse(key, template -> template.opsForList().size(key), RedisConstants.REDIS_GET_ERROR, 0L);
+    }
+
+    /**
+     * 通过索引获取list中的值<br/>
+     * <li>>=0 : 从第一个元素向后</li>
+     * <li> <0 : 从最后一个元素向前</li>
+     *
+     * @param key   键
+     * @param index 索引
+     * @return 值
+     */
+    public CompletableFuture<Object> getListItemByIndex(String key, long index) {
+        return this.orElse(key, template -> template.opsForList().index(key, index), RedisConstants.REDIS_GET_ERROR, null);
+    }
+
+    /**
+     * 将item放入list
+     *
+     * @param key  键
+     * @param item 值
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> setListItem(String key, Object item) {
+        return this.orElse(key, template -> template.opsForList().rightPush(key, item).thenReturn(true),
+                RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    /**
+     * 根据索引修改list中的某条数据
+     *
+     * @param key   键
+     * @param index 索引
+     * @param item  值
+     * @return 结果
+     */
+    public CompletableFuture<Boolean> updateListItemByIndex(String key, long index, Object item) {
+        return this.orElse(key, template -> template.opsForList().set(key, index, item), RedisConstants.REDIS_SET_ERROR, false);
+    }
+
+    public CompletableFuture<Long> deleteListItem(String key, long count, Object value) {
+        return this.orElse(key, template -> template.opsForList().remove(key, count, value), RedisConstants.REDIS_DELETE_ERROR, 0L);
+    }
+
+    private Limit limit(long offset, long count) {
+        return Limit.limit().offset(Math.toIntExact(offset)).count(Math.toIntExact(count));
+    }
+
+    /**
+     * 项所在的物理键，与 {@link RedisUtil} 一致
+     *
+     * @param key  键
+     * @param hash 项
+     * @return 物理键，不分桶时为键本身
+     */
+    private String mapKey(String key, Object hash) {
+        return Objects.isNull(hashBuckets) ? key : hashBuckets.bucketKey(key, hash);
+    }
+
+    /**
+     * map的所有物理键
+     *
+     * @param key 键
+     * @return 物理键
+     */
+    private List<String> physicalKeys(String key) {
+        return Objects.isNull(hashBuckets) ? Collections.singletonList(key) : hashBuckets.bucketKeys(key);
+    }
+
+    /**
+     * 按物理键拆分写入的map
+     *
+     * @param key 键
+     * @param map MAP
+     * @return 物理键 -> 写入的项与值
+     */
+    private Map<String, Map<String, Object>> splitMap(String key, Map<String, Object> map) {
+        return Objects.isNull(hashBuckets) || hashBuckets.bucketCount(key) == 0
+                ? Collections.singletonMap(key, map) : hashBuckets.split(key, map);
+    }
+
+    /**
+     * 执行Lua脚本，参数需已序列化
+     *
+     * @param template 节点
+     * @param script   脚本
+     * @param key      键
+     * @param args     已序列化的参数
+     * @return 结果
+     */
+    @SuppressWarnings("unchecked")
+    private Mono<Long> executeScript(ReactiveRedisTemplate<String, Object> template, RedisScript<Long> script, String key, Object[] args) {
+        // 脚本返回整数，结果不经过reader反序列化
+        RedisElementReader<Long> resultReader = (RedisElementReader<Long>) (RedisElementReader<?>) RESULT_READER;
+        return template.execute(script, Collections.singletonList(key), Arrays.asList(args), ARGS_WRITER, resultReader)
+                .next();
+    }
+
+    /**
+     * 写入完成后使一级缓存失效并通知其他节点，广播通过响应式连接发送，不阻塞事件循环线程，广播失败时返回错误
+     *
+     * @param mono 写入操作
+     * @param keys 键
+     * @param <T>  结果类型
+     * @return 写入操作
+     */
+    private <T> Mono<T> invalidateAfter(Mono<T> mono, String... keys) {
+        if (Objects.isNull(nearCacheInvalidator)) {
+            return mono;
+        }
+        // 写入结果可能为空，包装为Optional后保证广播一定执行
+        return mono.singleOptional()
+                .flatMap(result -> nearCacheInvalidator.invalidate(redisTemplate, keys).thenReturn(result))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * 在键所在的节点上执行，出错时直接返回异常
+     *
+     * @param key       键
+     * @param operation 操作
+     * @param <T>       结果类型
+     * @return 结果
+     */
+    private <T> CompletableFuture<T> toFuture(String key, Function<ReactiveRedisTemplate<String, Object>, Mono<T>> operation) {
+        return this.execute(key, operation).toFuture();
+    }
+
+    /**
+     * 在键所在的节点上执行，出错时记录日志并返回默认值
+     *
+     * @param key          键
+     * @param operation    操作
+     * @param message      日志信息
+     * @param defaultValue 默认值
+     * @param <T>          结果类型
+     * @return 结果
+     */
+    private <T> CompletableFuture<T> orElse(String key, Function<ReactiveRedisTemplate<String, Object>, Mono<T>> operation,
+                                            String message, T defaultValue) {
+        return this.orElse(this.execute(key, operation), message, defaultValue);
+    }
+
+    /**
+     * 出错时记录日志并返回默认值，与 {@link RedisUtil} 的处理方式一致
+     *
+     * @param mono         操作
+     * @param message      日志信息
+     * @param defaultValue 默认值
+     * @param <T>          结果类型
+     * @return 结果
+     */
+    private <T> CompletableFuture<T> orElse(Mono<T> mono, String message, T defaultValue) {
+        String operation = RedisMetrics.currentOperation();
+        String prefix = RedisMetrics.currentPrefix();
+        return mono.onErrorResume(e -> {
+            errorLogLimiter.error(log, message, e);
+            if (Objects.nonNull(redisMetrics)) {
+                redisMetrics.recordError(operation, prefix);
+            }
+            return Mono.justOrEmpty(defaultValue);
+        }).toFuture();
+    }
+
+    /**
+     * 在键所在的节点上执行，未启用分片时为默认节点<br/>
+     * 订阅时经过该节点的熔断器，打开时不发出命令，直接以 {@link RedisCircuitOpenException} 失败，与 {@link CircuitBreakerRedisTemplate} 一致
+     *
+     * @param key       键
+     * @param operation 操作
+     * @param <T>       结果类型
+     * @return 操作
+     */
+    private <T> Mono<T> execute(String key, Function<ReactiveRedisTemplate<String, Object>, Mono<T>> operation) {
+        if (Objects.isNull(shardedRedisTemplates)) {
+            return this.guard(circuitBreaker, operation.apply(redisTemplate));
+        }
+        RedisTemplate<String, Object> node = shardedRedisTemplates.route(key);
+        ReactiveRedisTemplate<String, Object> template = shardTemplates.computeIfAbsent(node, shard ->
+                new ReactiveRedisTemplate<>((ReactiveRedisConnectionFactory) shard.getRequiredConnectionFactory(), serializationContext));
+        RedisCircuitBreaker breaker = node instanceof CircuitBreakerRedisTemplate ? ((CircuitBreakerRedisTemplate) node).getCircuitBreaker() : null;
+        return this.guard(breaker, operation.apply(template));
+    }
+
+    private <T> Mono<T> guard(RedisCircuitBreaker breaker, Mono<T> mono) {
+        if (Objects.isNull(breaker)) {
+            return mono;
+        }
+        return Mono.defer(() -> {
+            if (!breaker.tryAcquire()) {
+                return Mono.error(new RedisCircuitOpenException());
+            }
+            // 完成、出错、取消都要上报结果，否则半开状态下的探测名额无法释放
+            return mono.doOnSuccess(result -> breaker.onSuccess())
+                    .doOnError(e -> {
+                        if (breaker.isFailure(e)) {
+                            breaker.onFailure();
+                        } else {
+                            breaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(breaker::onFailure);
+        });
+    }
+}
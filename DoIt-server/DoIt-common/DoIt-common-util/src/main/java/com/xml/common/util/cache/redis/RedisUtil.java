@@ -1,27 +1,343 @@
 package com.xml.common.util.cache.redis;
 
+import com.xml.common.util.cache.CacheUtil;
+import com.xml.common.util.cache.redis.batch.RedisBatchItem;
+import com.xml.common.util.cache.redis.bigkey.BigKeyGuard;
+import com.xml.common.util.cache.redis.bigkey.HashBuckets;
+import com.xml.common.util.cache.redis.bloom.RedisBloomFilter;
+import com.xml.common.util.cache.redis.breaker.ErrorLogLimiter;
+import com.xml.common.util.cache.redis.breaker.RedisCircuitBreaker;
+import com.xml.common.util.cache.redis.breaker.RedisCircuitOpenException;
 import com.xml.common.util.cache.redis.constants.RedisConstants;
+import com.xml.common.util.cache.redis.cursor.ListRangeIterator;
 import com.xml.common.util.cache.redis.exception.DoItRedisException;
 import com.xml.common.util.cache.redis.exception.RedisExceptionCode;
+import com.xml.common.util.cache.redis.hotkey.HotKey;
+import com.xml.common.util.cache.redis.hotkey.HotKeyDetector;
+import com.xml.common.util.cache.redis.loader.CacheLoadOptions;
+import com.xml.common.util.cache.redis.loader.CachedValue;
+import com.xml.common.util.cache.redis.metrics.RedisMetrics;
+import com.xml.common.util.cache.redis.near.NearCache;
+import com.xml.common.util.cache.redis.near.NearCacheInvalidator;
+import com.xml.common.util.cache.redis.near.NearCacheStats;
+import com.xml.common.util.cache.redis.script.RedisScripts;
+import com.xml.common.util.cache.redis.shard.ShardedRedisTemplates;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * 操作Redis
+ * 操作Redis，{@link CacheUtil} 的默认实现
  *
  * @author XMINGL
  * @since 1.0.0
  */
 @Slf4j
-public class RedisUtil {
+public class RedisUtil implements CacheUtil {
 
     @Resource
     private RedisTemplate<String, Object> redisTemplate;
 
+    /**
+     * 一级缓存，未启用时为null
+     */
+    @Autowired(required = false)
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    /**
+     * 熔断器，未启用时为null
+     */
+    @Autowired(required = false)
+    private RedisCircuitBreaker circuitBreaker;
+
+    /**
+     * 热点键探测，未启用时为null
+     */
+    @Autowired(required = false)
+    private HotKeyDetector hotKeyDetector;
+
+    /**
+     * 分片节点，未启用时为null
+     */
+    @Autowired(required = false)
+    private ShardedRedisTemplates shardedRedisTemplates;
+
+    /**
+     * 大键检查，未启用时为null
+     */
+    @Autowired(required = false)
+    private BigKeyGuard bigKeyGuard;
+
+    /**
+     * 分桶map，未启用时为null
+     */
+    @Autowired(required = false)
+    private HashBuckets hashBuckets;
+
+    /**
+     * 错误日志限流
+     */
+    private ErrorLogLimiter errorLogLimiter = new ErrorLogLimiter(RedisConstants.DEFAULT_ERROR_LOG_INTERVAL_SECONDS);
+
+    /**
+     * getOrLoad正在加载的键，同一个键的并发加载只执行一次
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 批量操作时每个pipeline最多包含的命令数
+     */
+    private int batchChunkSize = RedisConstants.DEFAULT_BATCH_CHUNK_SIZE;
+
+    public void setErrorLogLimiter(ErrorLogLimiter errorLogLimiter) {
+        this.errorLogLimiter = errorLogLimiter;
+    }
+
+    public void setBatchChunkSize(int batchChunkSize) {
+        if (batchChunkSize <= 0) {
+            throw new IllegalArgumentException("batchChunkSize must be greater than 0");
+        }
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    /**
+     * 获取一级缓存命中统计
+     *
+     * @return 统计快照，未启用一级缓存时为null
+     */
+    public NearCacheStats getNearCacheStats() {
+        return Objects.isNull(nearCacheInvalidator) ? null : nearCacheInvalidator.getNearCache().stats();
+    }
+
+    /**
+     * 获取当前的热点键
+     *
+     * @return 热点键，未启用热点键探测时为空
+     */
+    public List<HotKey> getHotKeys() {
+        return Objects.isNull(hotKeyDetector) ? Collections.emptyList() : hotKeyDetector.getHotKeys();
+    }
+
+    /**
+     * 预加载Lua脚本，之后的调用可以直接使用EVALSHA
+     */
+    @PostConstruct
+    public void loadScripts() {
+        List<RedisTemplate<String, Object>> templates = Objects.isNull(shardedRedisTemplates)
+                ? Collections.singletonList(redisTemplate) : shardedRedisTemplates.getTemplates();
+        for (RedisTemplate<String, Object> template : templates) {
+            try {
+                template.execute((RedisCallback<Object>) connection -> {
+                    for (RedisScript<?> script : RedisScripts.all()) {
+                        connection.scriptingCommands().scriptLoad(script.getScriptAsString().getBytes(StandardCharsets.UTF_8));
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                log.error(RedisConstants.REDIS_SCRIPT_LOAD_ERROR, e);
+            }
+        }
+    }
+
+    /**
+     * 获取键所在节点的RedisTemplate
+     *
+     * @param key 键
+     * @return 未启用分片时为默认的redisTemplate
+     */
+    private RedisTemplate<String, Object> template(String key) {
+        return Objects.isNull(shardedRedisTemplates) ? redisTemplate : shardedRedisTemplates.route(key);
+    }
+
+    /**
+     * 获取map中的项所在的物理键
+     *
+     * @param key  键
+     * @param hash 项
+     * @return 未分桶时为原键
+     */
+    private String mapKey(String key, Object hash) {
+        return Objects.isNull(hashBuckets) ? key : hashBuckets.bucketKey(key, hash);
+    }
+
+    /**
+     * 获取键对应的全部物理键
+     *
+     * @param key 键
+     * @return 未分桶时为原键
+     */
+    private List<String> physicalKeys(String key) {
+        return Objects.isNull(hashBuckets) ? Collections.singletonList(key) : hashBuckets.bucketKeys(key);
+    }
+
+    /**
+     * 获取多个键对应的全部物理键
+     *
+     * @param keys 键
+     * @return 未分桶时为原键
+     */
+    private List<String> physicalKeys(List<String> keys) {
+        if (Objects.isNull(hashBuckets)) {
+            return keys;
+        }
+        List<String> physicalKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            physicalKeys.addAll(hashBuckets.bucketKeys(key));
+        }
+        return physicalKeys;
+    }
+
+    /**
+     * 写入集合前检查本次写入的项数，拒绝模式下超出上限时抛出异常
+     *
+     * @param key     键
+     * @param entries 本次写入的项数
+     */
+    private void checkBigKey(String key, int entries) {
+        if (Objects.nonNull(bigKeyGuard)) {
+            bigKeyGuard.checkWrite(key, entries);
+        }
+    }
+
+    /**
+     * 写入集合后按采样率检查实际项数
+     *
+     * @param key  物理键
+     * @param size 读取项数，如HLEN、SCARD、LLEN
+     */
+    private void sampleBigKey(String key, Function<RedisTemplate<String, Object>, Long> size) {
+        if (Objects.isNull(bigKeyGuard) || !bigKeyGuard.isCheckEntries() || !bigKeyGuard.shouldSample()) {
+            return;
+        }
+        try {
+            Long entries = size.apply(this.template(key));
+            if (Objects.nonNull(entries)) {
+                bigKeyGuard.checkEntries(key, entries);
+            }
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+        }
+    }
+
+    /**
+     * 写入str前按采样率检查值序列化后的字节数
+     *
+     * @param key   键
+     * @param value 值
+     */
+    @SuppressWarnings("unchecked")
+    private void sampleBigValue(String key, Object value) {
+        if (Objects.isNull(bigKeyGuard) || !bigKeyGuard.isCheckBytes() || Objects.isNull(value) || !bigKeyGuard.shouldSample()) {
+            return;
+        }
+        byte[] bytes = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+        if (Objects.nonNull(bytes)) {
+            bigKeyGuard.checkBytes(key, bytes.length);
+        }
+    }
+
+    /**
+     * 读取整个map，分桶时合并各个桶
+     *
+     * @param key 键
+     * @return MAP
+     */
+    private Map<Object, Object> entries(String key) {
+        List<String> physicalKeys = this.physicalKeys(key);
+        if (physicalKeys.size() == 1) {
+            return this.template(key).opsForHash().entries(key);
+        }
+        Map<Object, Object> entries = new HashMap<>();
+        for (String physicalKey : physicalKeys) {
+            entries.putAll(this.template(physicalKey).opsForHash().entries(physicalKey));
+        }
+        return entries;
+    }
+
+    /**
+     * 获取一级缓存
+     *
+     * @return 一级缓存，未启用时为null
+     */
+    private NearCache nearCache() {
+        return Objects.isNull(nearCacheInvalidator) ? null : nearCacheInvalidator.getNearCache();
+    }
+
+    /**
+     * 获取单个键读取时使用的本地缓存，并记录一次读取用于热点键探测<br/>
+     * 启用一级缓存时使用一级缓存，否则只有热点键使用其本地副本
+     *
+     * @param key 键
+     * @return 本地缓存，不使用时为null
+     */
+    private NearCache localCache(String key) {
+        NearCache nearCache = this.nearCache();
+        if (Objects.isNull(hotKeyDetector)) {
+            return nearCache;
+        }
+        boolean hot = hotKeyDetector.record(key);
+        if (Objects.nonNull(nearCache)) {
+            return nearCache;
+        }
+        return hot ? hotKeyDetector.getReplicas() : null;
+    }
+
+    /**
+     * 写入后使一级缓存失效并通知其他节点
+     *
+     * @param keys 键
+     */
+    private void invalidateNearCache(String... keys) {
+        if (Objects.nonNull(nearCacheInvalidator)) {
+            nearCacheInvalidator.invalidate(keys);
+        }
+        NearCache fallbackCache = this.fallbackCache();
+        if (Objects.nonNull(fallbackCache)) {
+            for (String key : keys) {
+                fallbackCache.invalidate(key);
+            }
+        }
+        if (Objects.nonNull(hotKeyDetector)) {
+            for (String key : keys) {
+                hotKeyDetector.getReplicas().invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * 获取熔断期间读操作使用的本地缓存
+     *
+     * @return 本地缓存，未启用时为null
+     */
+    private NearCache fallbackCache() {
+        return Objects.isNull(circuitBreaker) ? null : circuitBreaker.getFallbackCache();
+    }
+
     /**
      * 设置超时时间
      *
@@ -29,6 +345,7 @@ public class RedisUtil {
      * @param time 超时时间（秒）
      * @return 操作结果
      */
+    @Override
     public boolean expire(String key, long time) {
         return this.expire(key, time, TimeUnit.SECONDS);
     }
@@ -39,12 +356,17 @@ public class RedisUtil {
      * @param unit 时间单位
      * @return 操作结果
      */
+    @Override
     public boolean expire(String key, long time, TimeUnit unit) {
         if (time > 0) {
             try {
-                return Boolean.TRUE.equals(redisTemplate.expire(key, time, unit));
+                boolean result = false;
+                for (String physicalKey : this.physicalKeys(key)) {
+                    result |= Boolean.TRUE.equals(this.template(physicalKey).expire(physicalKey, time, unit));
+                }
+                return result;
             } catch (Exception e) {
-                log.error(RedisConstants.REDIS_EXPIRE_ERROR, e);
+                this.error(RedisConstants.REDIS_EXPIRE_ERROR, e);
             }
         }
         return false;
@@ -56,6 +378,7 @@ public class RedisUtil {
      * @param key 键
      * @return 超时时间（秒）
      */
+    @Override
     public Long getExpireSecond(String key) {
         return this.getExpireSecond(key, TimeUnit.SECONDS);
     }
@@ -67,8 +390,20 @@ public class RedisUtil {
      * @param timeUnit 时间单位
      * @return 超时时间
      */
+    @Override
     public Long getExpireSecond(String key, TimeUnit timeUnit) {
-        return this.redisTemplate.getExpire(key, timeUnit);
+        List<String> physicalKeys = this.physicalKeys(key);
+        if (physicalKeys.size() == 1) {
+            return this.template(key).getExpire(key, timeUnit);
+        }
+        Long expire = null;
+        for (String physicalKey : physicalKeys) {
+            Long bucketExpire = this.template(physicalKey).getExpire(physicalKey, timeUnit);
+            if (Objects.isNull(expire) || (Objects.nonNull(bucketExpire) && bucketExpire > expire)) {
+                expire = bucketExpire;
+            }
+        }
+        return expire;
     }
 
     /**
@@ -77,11 +412,17 @@ public class RedisUtil {
      * @param key 键
      * @return 是否存在
      */
+    @Override
     public boolean hasKey(String key) {
         try {
-            return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+            for (String physicalKey : this.physicalKeys(key)) {
+                if (Boolean.TRUE.equals(this.template(physicalKey).hasKey(physicalKey))) {
+                    return true;
+                }
+            }
+            return false;
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_CHECK_KEY_ERROR, e);
+            this.error(RedisConstants.REDIS_CHECK_KEY_ERROR, e);
         }
         return false;
     }
@@ -91,9 +432,11 @@ public class RedisUtil {
      *
      * @param keys 键
      */
+    @Override
     public void deleteByKey(String... keys) {
         if (Objects.nonNull(keys) && keys.length > 0) {
-            redisTemplate.delete(Arrays.asList(keys));
+            this.executeBatches(this.physicalKeys(Arrays.asList(keys)), key -> key, RedisTemplate::delete);
+            this.invalidateNearCache(keys);
         }
     }
 
@@ -103,8 +446,34 @@ public class RedisUtil {
      * @param key 键
      * @return 值
      */
+    @Override
     public Object getString(String key) {
-        return Objects.isNull(key) ? null : redisTemplate.opsForValue().get(key);
+        if (Objects.isNull(key)) {
+            return null;
+        }
+        NearCache nearCache = this.localCache(key);
+        Object value = Objects.isNull(nearCache) ? null : nearCache.getValue(key);
+        if (Objects.nonNull(value)) {
+            return value;
+        }
+        NearCache fallbackCache = this.fallbackCache();
+        long nearStamp = Objects.isNull(nearCache) ? 0 : nearCache.stamp(key);
+        long fallbackStamp = Objects.isNull(fallbackCache) ? 0 : fallbackCache.stamp(key);
+        try {
+            value = this.template(key).opsForValue().get(key);
+        } catch (RedisCircuitOpenException e) {
+            if (Objects.isNull(fallbackCache)) {
+                throw e;
+            }
+            return fallbackCache.getValue(key);
+        }
+        if (Objects.nonNull(nearCache)) {
+            nearCache.putValue(key, value, nearStamp);
+        }
+        if (Objects.nonNull(fallbackCache)) {
+            fallbackCache.putValue(key, value, fallbackStamp);
+        }
+        return value;
     }
 
     /**
@@ -114,12 +483,15 @@ public class RedisUtil {
      * @param value 值
      * @return 结果
      */
+    @Override
     public boolean setString(String key, Object value) {
+        this.sampleBigValue(key, value);
         try {
-            redisTemplate.opsForValue().set(key, value);
+            this.template(key).opsForValue().set(key, value);
+            this.invalidateNearCache(key);
             return true;
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
             return false;
         }
 
@@ -133,20 +505,297 @@ public class RedisUtil {
      * @param time  时间（秒） 小于等于0时为无限期
      * @return 结果
      */
+    @Override
     public boolean setString(String key, Object value, long time) {
         try {
             if (time > 0) {
-                redisTemplate.opsForValue().set(key, value, time, TimeUnit.SECONDS);
+                this.sampleBigValue(key, value);
+                this.template(key).opsForValue().set(key, value, time, TimeUnit.SECONDS);
+                this.invalidateNearCache(key);
                 return true;
             } else {
                 return setString(key, value);
             }
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+            return false;
+        }
+    }
+
+    /**
+     * 添加 str 并关联标签，之后可以通过 {@link #invalidateTags(String...)} 按标签删除
+     *
+     * @param key   键
+     * @param value 值
+     * @param time  时间（秒） 小于等于0时为无限期
+     * @param tags  标签，如 user:42、list:7
+     * @return 结果
+     */
+    public boolean setStringWithTags(String key, Object value, long time, String... tags) {
+        return this.setString(key, value, time) && this.tag(key, time, tags);
+    }
+
+    /**
+     * 将已有的键关联到标签<br/>
+     * 标签索引的超时时间不短于其中键的超时时间，键过期后残留在索引中的成员在之后的写入中按概率抽查清理
+     *
+     * @param key  键
+     * @param time 键的超时时间（秒） 小于等于0时为无限期
+     * @param tags 标签
+     * @return 结果
+     */
+    public boolean tag(String key, long time, String... tags) {
+        if (Objects.isNull(tags) || tags.length == 0) {
+            return true;
+        }
+        try {
+            Object[] args = RedisScripts.valueArgs(time, Collections.singletonList(key), redisTemplate.getValueSerializer());
+            for (String tag : tags) {
+                String tagKey = RedisConstants.TAG_KEY_PREFIX + tag;
+                this.executeScript(RedisScripts.TAG_ADD, tagKey, args);
+                if (ThreadLocalRandom.current().nextInt(RedisConstants.TAG_PRUNE_SAMPLE_RATE) == 0) {
+                    this.pruneTag(tag);
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
             return false;
         }
     }
 
+    /**
+     * 删除标签关联的所有键及标签索引<br/>
+     * 索引按批次通过SRANDMEMBER读取，先从索引中SREM再通过UNLINK删除键：删除期间重新关联的键会重新加入索引，
+     * 最多在索引中留下一个已删除的键，不影响之后的删除；删除期间新关联的键同样会被删除
+     *
+     * @param tags 标签
+     * @return 删除的键数量
+     */
+    public Long invalidateTags(String... tags) {
+        if (Objects.isNull(tags) || tags.length == 0) {
+            return 0L;
+        }
+        LongAdder count = new LongAdder();
+        try {
+            for (String tag : tags) {
+                String tagKey = RedisConstants.TAG_KEY_PREFIX + tag;
+                RedisTemplate<String, Object> tagTemplate = this.template(tagKey);
+                while (true) {
+                    Set<Object> members = tagTemplate.opsForSet().distinctRandomMembers(tagKey, batchChunkSize);
+                    if (Objects.isNull(members) || members.isEmpty()) {
+                        break;
+                    }
+                    List<String> keys = new ArrayList<>(members.size());
+                    members.forEach(member -> keys.add((String) member));
+                    tagTemplate.opsForSet().remove(tagKey, members.toArray());
+                    this.executeBatches(this.physicalKeys(keys), key -> key, (template, chunk) -> {
+                        Long unlinked = template.unlink(chunk);
+                        count.add(Objects.isNull(unlinked) ? 0 : unlinked);
+                    });
+                    this.invalidateNearCache(keys.toArray(new String[0]));
+                }
+            }
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_DELETE_ERROR, e);
+        }
+        return count.sum();
+    }
+
+    /**
+     * 获取标签关联的键，可能包含已过期但尚未清理的键
+     *
+     * @param tag 标签
+     * @return 键
+     */
+    public Set<String> getTaggedKeys(String tag) {
+        String tagKey = RedisConstants.TAG_KEY_PREFIX + tag;
+        try {
+            Set<Object> members = this.template(tagKey).opsForSet().members(tagKey);
+            Set<String> keys = new LinkedHashSet<>();
+            if (Objects.nonNull(members)) {
+                members.forEach(member -> keys.add((String) member));
+            }
+            return keys;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+    }
+
+    /**
+     * 随机抽查标签索引中的部分键，移除已不存在的键
+     *
+     * @param tag 标签
+     * @return 移除的个数
+     */
+    public Long pruneTag(String tag) {
+        String tagKey = RedisConstants.TAG_KEY_PREFIX + tag;
+        try {
+            List<Object> members = this.template(tagKey).opsForSet().randomMembers(tagKey, RedisConstants.TAG_PRUNE_SAMPLE_SIZE);
+            if (Objects.isNull(members) || members.isEmpty()) {
+                return 0L;
+            }
+            List<String> keys = new ArrayList<>(members.size());
+            for (Object member : new LinkedHashSet<>(members)) {
+                keys.add((String) member);
+            }
+            Set<Object> missing = ConcurrentHashMap.newKeySet();
+            this.executeBatches(keys, key -> key, (template, chunk) -> {
+                List<Object> exists = this.executePipelined(template, operations -> chunk.forEach(operations::hasKey));
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (!Boolean.TRUE.equals(exists.get(i))) {
+                        missing.add(chunk.get(i));
+                    }
+                }
+            });
+            return missing.isEmpty() ? 0L : this.template(tagKey).opsForSet().remove(tagKey, missing.toArray());
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_DELETE_ERROR, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 获取 str，不存在时通过loader加载并写入<br/>
+     * 同一个JVM内同一个键的并发加载只执行一次，快过期时按概率提前刷新。
+     * 写入的值为 {@link CachedValue}，该键只能通过getOrLoad读取
+     *
+     * @param key    键
+     * @param time   时间（秒） 小于等于0时为无限期
+     * @param loader 加载数据，返回null表示数据不存在
+     * @param <T>    泛型
+     * @return 值
+     */
+    @Override
+    public <T> T getOrLoad(String key, long time, Supplier<T> loader) {
+        return this.getOrLoad(key, time, loader, CacheLoadOptions.defaults());
+    }
+
+    /**
+     * 获取 str，不存在时通过loader加载并写入<br/>
+     * 同一个JVM内同一个键的并发加载只执行一次，快过期时按概率提前刷新。
+     * 写入的值为 {@link CachedValue}，该键只能通过getOrLoad读取
+     *
+     * @param key     键
+     * @param time    时间（秒） 小于等于0时为无限期
+     * @param loader  加载数据，返回null表示数据不存在
+     * @param options 负缓存、跨节点锁、提前刷新及布隆过滤器配置
+     * @param <T>     泛型
+     * @return 值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String key, long time, Supplier<T> loader, CacheLoadOptions options) {
+        if (!this.mightContain(options.getBloomFilter(), key)) {
+            return null;
+        }
+        CachedValue cached = this.getCachedValue(key);
+        if (Objects.isNull(cached)) {
+            return (T) this.loadOnce(key, time, loader, options);
+        }
+        if (!cached.shouldRefreshEarly(options.getBeta()) || loading.containsKey(key)) {
+            return (T) cached.getValue();
+        }
+        try {
+            return (T) this.loadOnce(key, time, loader, options);
+        } catch (RuntimeException e) {
+            this.error(RedisConstants.REDIS_LOAD_ERROR, e);
+            return (T) cached.getValue();
+        }
+    }
+
+    /**
+     * 布隆过滤器不可用或位图不存在时视为可能存在
+     */
+    private boolean mightContain(RedisBloomFilter bloomFilter, String key) {
+        if (Objects.isNull(bloomFilter)) {
+            return true;
+        }
+        try {
+            return bloomFilter.mightContain(key);
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_BLOOM_FILTER_ERROR, e);
+            return true;
+        }
+    }
+
+    private CachedValue getCachedValue(String key) {
+        Object value = this.getString(key);
+        if (Objects.isNull(value) || value instanceof CachedValue) {
+            return (CachedValue) value;
+        }
+        return new CachedValue(value, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * 同一个键同时只有一个线程加载，其他线程等待其结果
+     */
+    private Object loadOnce(String key, long time, Supplier<?> loader, CacheLoadOptions options) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, future);
+        if (Objects.nonNull(running)) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            Object value = options.getLockMillis() > 0
+                    ? this.loadWithLock(key, time, loader, options)
+                    : this.loadAndSet(key, time, loader, options);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    /**
+     * 跨节点加载：获取到锁的节点加载，其余节点轮询缓存，锁超时后自行加载
+     */
+    private Object loadWithLock(String key, long time, Supplier<?> loader, CacheLoadOptions options) {
+        String lockKey = key + RedisConstants.LOAD_LOCK_SUFFIX;
+        String token = UUID.randomUUID().toString();
+        if (Boolean.TRUE.equals(this.template(lockKey).opsForValue().setIfAbsent(lockKey, token, options.getLockMillis(), TimeUnit.MILLISECONDS))) {
+            try {
+                return this.loadAndSet(key, time, loader, options);
+            } finally {
+                this.template(lockKey).execute(RedisScripts.UNLOCK, RedisSerializer.byteArray(), null,
+                        Collections.singletonList(lockKey), RedisScripts.args(redisTemplate.getValueSerializer(), token));
+            }
+        }
+        long deadline = System.currentTimeMillis() + options.getLockMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(options.getLockPollMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            CachedValue cached = this.getCachedValue(key);
+            if (Objects.nonNull(cached)) {
+                return cached.getValue();
+            }
+        }
+        return this.loadAndSet(key, time, loader, options);
+    }
+
+    private Object loadAndSet(String key, long time, Supplier<?> loader, CacheLoadOptions options) {
+        long start = System.currentTimeMillis();
+        Object value = loader.get();
+        long now = System.currentTimeMillis();
+        long ttl = Objects.isNull(value) ? options.getNullTime() : time;
+        if (Objects.nonNull(value) || ttl > 0) {
+            long expireAt = ttl > 0 ? now + TimeUnit.SECONDS.toMillis(ttl) : Long.MAX_VALUE;
+            this.setString(key, new CachedValue(value, now - start, expireAt), ttl);
+        }
+        return value;
+    }
+
     /**
      * 递增
      *
@@ -154,25 +803,31 @@ public class RedisUtil {
      * @param delta 递增因数
      * @return 结果
      */
+    @Override
     public Long incrementString(String key, long delta) {
         if (delta <= 0) {
-            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "递增因子必须大于0");
+            throw DoItRedisException.of(RedisExceptionCode.INCREMENT_DELTA);
         }
-        return redisTemplate.opsForValue().increment(key, delta);
+        Long result = this.template(key).opsForValue().increment(key, delta);
+        this.invalidateNearCache(key);
+        return result;
     }
 
     /**
      * 递减
      *
      * @param key   键
-     * @param delta 递减因数
+     * @param delta 递减因数，需传入负数
      * @return 结果
      */
+    @Override
     public Long decrementString(String key, long delta) {
         if (delta >= 0) {
-            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "递减因子必须大于0");
+            throw DoItRedisException.of(RedisExceptionCode.DECREMENT_DELTA);
         }
-        return redisTemplate.opsForValue().decrement(key, delta);
+        Long result = this.template(key).opsForValue().increment(key, delta);
+        this.invalidateNearCache(key);
+        return result;
     }
 
     /**
@@ -183,235 +838,612 @@ public class RedisUtil {
      * @param value 值
      * @return 结果
      */
+    @Override
     public boolean setMap(String key, String hash, Object value) {
+        String mapKey = this.mapKey(key, hash);
+        try {
+            this.template(mapKey).opsForHash().put(mapKey, hash, value);
+            this.invalidateNearCache(key);
+            this.sampleBigKey(mapKey, template -> template.opsForHash().size(mapKey));
+            return true;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+        }
+        return false;
+    }
+
+    /**
+     * 设置 map 并设置超时时间（秒）
+     *
+     * @param key   键
+     * @param hash  项
+     * @param value 值
+     * @param time  超时时间
+     * @return 结果
+     */
+    @Override
+    public boolean setMap(String key, String hash, Object value, long time) {
+        String mapKey = this.mapKey(key, hash);
+        try {
+            Object[] args = RedisScripts.hashArgs(time, Collections.singletonMap(hash, value),
+                    redisTemplate.getHashKeySerializer(), redisTemplate.getHashValueSerializer());
+            Long result = this.executeScript(RedisScripts.HSET_EXPIRE, mapKey, args);
+            this.invalidateNearCache(key);
+            this.sampleBigKey(mapKey, template -> template.opsForHash().size(mapKey));
+            return Objects.nonNull(result) && result > 0;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+        }
+        return false;
+    }
+
+    /**
+     * 获取map
+     *
+     * @param key 键
+     * @return MAP
+     */
+    @Override
+    public Map<Object, Object> getMap(String key) {
+        NearCache nearCache = this.localCache(key);
+        Map<Object, Object> entries = Objects.isNull(nearCache) ? null : nearCache.getEntries(key);
+        if (Objects.nonNull(entries)) {
+            return entries;
+        }
+        NearCache fallbackCache = this.fallbackCache();
+        long nearStamp = Objects.isNull(nearCache) ? 0 : nearCache.stamp(key);
+        long fallbackStamp = Objects.isNull(fallbackCache) ? 0 : fallbackCache.stamp(key);
+        try {
+            entries = this.entries(key);
+        } catch (RedisCircuitOpenException e) {
+            if (Objects.isNull(fallbackCache)) {
+                throw e;
+            }
+            entries = fallbackCache.getEntries(key);
+            return Objects.isNull(entries) ? new HashMap<>(0) : entries;
+        }
+        if (Objects.nonNull(nearCache)) {
+            nearCache.putEntries(key, entries, nearStamp);
+        }
+        if (Objects.nonNull(fallbackCache)) {
+            fallbackCache.putEntries(key, entries, fallbackStamp);
+        }
+        return entries;
+    }
+
+    /**
+     * 获取map中key对应的value
+     *
+     * @param key  键
+     * @param hash 项
+     * @return 值
+     */
+    @Override
+    public Object getMap(String key, String hash) {
+        NearCache nearCache = this.localCache(key);
+        Object value = Objects.isNull(nearCache) ? null : nearCache.getField(key, hash);
+        if (Objects.nonNull(value)) {
+            return value;
+        }
+        NearCache fallbackCache = this.fallbackCache();
+        long nearStamp = Objects.isNull(nearCache) ? 0 : nearCache.stamp(key);
+        long fallbackStamp = Objects.isNull(fallbackCache) ? 0 : fallbackCache.stamp(key);
         try {
-            redisTemplate.opsForHash().put(key, hash, value);
+            String mapKey = this.mapKey(key, hash);
+            value = this.template(mapKey).opsForHash().get(mapKey, hash);
+        } catch (RedisCircuitOpenException e) {
+            if (Objects.isNull(fallbackCache)) {
+                throw e;
+            }
+            return fallbackCache.getField(key, hash);
+        }
+        if (Objects.nonNull(nearCache)) {
+            nearCache.putField(key, hash, value, nearStamp);
+        }
+        if (Objects.nonNull(fallbackCache)) {
+            fallbackCache.putField(key, hash, value, fallbackStamp);
+        }
+        return value;
+    }
+
+    /**
+     * 通过HSCAN分批遍历map，适用于项很多的map<br/>
+     * 返回的Stream持有连接，使用完毕后必须关闭（try-with-resources）
+     *
+     * @param key 键
+     * @return 项与值
+     */
+    public Stream<Map.Entry<Object, Object>> streamMap(String key) {
+        return this.streamMap(key, RedisConstants.DEFAULT_SCAN_COUNT);
+    }
+
+    /**
+     * 通过HSCAN分批遍历map，适用于项很多的map<br/>
+     * 返回的Stream持有连接，使用完毕后必须关闭（try-with-resources）
+     *
+     * @param key       键
+     * @param batchSize 每批读取的数量（COUNT），仅为建议值
+     * @return 项与值
+     */
+    public Stream<Map.Entry<Object, Object>> streamMap(String key, int batchSize) {
+        ScanOptions options = ScanOptions.scanOptions().count(batchSize).build();
+        List<String> physicalKeys = this.physicalKeys(key);
+        if (physicalKeys.size() == 1) {
+            return this.template(key).opsForHash().scan(key, options).stream();
+        }
+        return physicalKeys.stream().flatMap(physicalKey -> this.template(physicalKey).opsForHash().scan(physicalKey, options).stream());
+    }
+
+    /**
+     * 添加MAP
+     *
+     * @param key 键
+     * @param map MAP
+     * @return 结果
+     */
+    @Override
+    public boolean setMap(String key, Map<String, Object> map) {
+        Map<String, Map<String, Object>> buckets = this.splitMap(key, map);
+        try {
+            for (Map.Entry<String, Map<String, Object>> bucket : buckets.entrySet()) {
+                String mapKey = bucket.getKey();
+                this.template(mapKey).opsForHash().putAll(mapKey, bucket.getValue());
+                this.sampleBigKey(mapKey, template -> template.opsForHash().size(mapKey));
+            }
+            this.invalidateNearCache(key);
             return true;
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+        }
+        return false;
+    }
+
+    /**
+     * 添加MAP并设置超时时间（秒）
+     *
+     * @param key  键
+     * @param map  MAP
+     * @param time 时间（秒）
+     * @return 结果
+     */
+    @Override
+    public boolean setMap(String key, Map<String, Object> map, long time) {
+        Map<String, Map<String, Object>> buckets = this.splitMap(key, map);
+        try {
+            long result = 0;
+            for (Map.Entry<String, Map<String, Object>> bucket : buckets.entrySet()) {
+                String mapKey = bucket.getKey();
+                Object[] args = RedisScripts.hashArgs(time, bucket.getValue(),
+                        redisTemplate.getHashKeySerializer(), redisTemplate.getHashValueSerializer());
+                Long added = this.executeScript(RedisScripts.HSET_EXPIRE, mapKey, args);
+                result += Objects.isNull(added) ? 0 : added;
+                this.sampleBigKey(mapKey, template -> template.opsForHash().size(mapKey));
+            }
+            this.invalidateNearCache(key);
+            return result > 0;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+        }
+        return false;
+    }
+
+    /**
+     * 删除
+     *
+     * @param key  键
+     * @param hash hash
+     */
+    @Override
+    public void deleteMap(String key, Object... hash) {
+        if (Objects.isNull(hashBuckets)) {
+            this.template(key).opsForHash().delete(key, hash);
+        } else {
+            Map<String, List<Object>> buckets = new LinkedHashMap<>();
+            for (Object item : hash) {
+                buckets.computeIfAbsent(this.mapKey(key, item), mapKey -> new ArrayList<>()).add(item);
+            }
+            buckets.forEach((mapKey, items) -> this.template(mapKey).opsForHash().delete(mapKey, items.toArray()));
+        }
+        this.invalidateNearCache(key);
+    }
+
+    /**
+     * 判断hash表中是否有该项的值
+     *
+     * @param key  键
+     * @param hash 项
+     * @return 结果
+     */
+    @Override
+    public boolean hasMapKey(String key, String hash) {
+        String mapKey = this.mapKey(key, hash);
+        return this.template(mapKey).opsForHash().hasKey(mapKey, hash);
+    }
+
+    /**
+     * 递增
+     *
+     * @param key   键
+     * @param hash  项
+     * @param delta 递增因数
+     * @return 结果
+     */
+    @Override
+    public Double incrementMap(String key, String hash, double delta) {
+        if (delta <= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.INCREMENT_DELTA);
+        }
+        String mapKey = this.mapKey(key, hash);
+        Double result = this.template(mapKey).opsForHash().increment(mapKey, hash, delta);
+        this.invalidateNearCache(key);
+        return result;
+    }
+
+    /**
+     * 递减
+     *
+     * @param key   键
+     * @param hash  项
+     * @param delta 递减因数，需传入负数
+     * @return 结果
+     */
+    @Override
+    public Double decrementMap(String key, String hash, double delta) {
+        if (delta >= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.DECREMENT_DELTA);
+        }
+        String mapKey = this.mapKey(key, hash);
+        Double result = this.template(mapKey).opsForHash().increment(mapKey, hash, delta);
+        this.invalidateNearCache(key);
+        return result;
+    }
+
+    /**
+     * 获取Set
+     *
+     * @param key 键
+     * @return 结果
+     */
+    @Override
+    public Set<Object> getSet(String key) {
+        try {
+            return this.template(key).opsForSet().members(key);
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+    }
+
+    /**
+     * 通过SSCAN分批遍历set，适用于成员很多的set<br/>
+     * 返回的Stream持有连接，使用完毕后必须关闭（try-with-resources）
+     *
+     * @param key 键
+     * @return 成员
+     */
+    public Stream<Object> streamSet(String key) {
+        return this.streamSet(key, RedisConstants.DEFAULT_SCAN_COUNT);
+    }
+
+    /**
+     * 通过SSCAN分批遍历set，适用于成员很多的set<br/>
+     * 返回的Stream持有连接，使用完毕后必须关闭（try-with-resources）
+     *
+     * @param key       键
+     * @param batchSize 每批读取的数量（COUNT），仅为建议值
+     * @return 成员
+     */
+    public Stream<Object> streamSet(String key, int batchSize) {
+        return this.template(key).opsForSet().scan(key, ScanOptions.scanOptions().count(batchSize).build()).stream();
+    }
+
+    /**
+     * 查询set是否存在value
+     *
+     * @param key   键
+     * @param value 值
+     * @return 是否存在
+     */
+    @Override
+    public boolean hasSetValue(String key, Object value) {
+        try {
+            return Boolean.TRUE.equals(this.template(key).opsForSet().isMember(key, value));
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_CHECK_KEY_ERROR, e);
+            return false;
+        }
+    }
+
+    /**
+     * 增加set
+     *
+     * @param key    键
+     * @param values 值
+     * @return 成功数
+     */
+    @Override
+    public Long setSet(String key, Object... values) {
+        this.checkBigKey(key, values.length);
+        try {
+            Long result = this.template(key).opsForSet().add(key, values);
+            this.sampleBigKey(key, template -> template.opsForSet().size(key));
+            return result;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 增加set并设置超时时间
+     *
+     * @param key    键
+     * @param time   时间
+     * @param values 值
+     * @return 成功数
+     */
+    @Override
+    public Long setSet(String key, long time, Object... values) {
+        this.checkBigKey(key, values.length);
+        try {
+            Long result = this.executeScript(RedisScripts.SADD_EXPIRE, key, RedisScripts.valueArgs(time, Arrays.asList(values), redisTemplate.getValueSerializer()));
+            this.sampleBigKey(key, template -> template.opsForSet().size(key));
+            return result;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 获取set的大小
+     *
+     * @param key 键
+     * @return size
+     */
+    @Override
+    public Long getSetSize(String key) {
+        try {
+            return this.template(key).opsForSet().size(key);
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 移除值为value的
+     *
+     * @param key    键
+     * @param values 值 可以是多个
+     * @return 移除的个数
+     */
+    @Override
+    public Long deleteSet(String key, Object... values) {
+        try {
+            return this.template(key).opsForSet().remove(key, values);
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_DELETE_ERROR, e);
+            return 0L;
         }
-        return false;
     }
 
     /**
-     * 设置 map 并设置超时时间（秒）
+     * 增加zset
      *
      * @param key   键
-     * @param hash  项
      * @param value 值
-     * @param time  超时时间
-     * @return 结果
+     * @param score 分数
+     * @return 是否为新增
      */
-    public boolean setMap(String key, String hash, Object value, long time) {
+    public boolean setZSet(String key, Object value, double score) {
         try {
-            redisTemplate.opsForHash().put(key, hash, value);
-            return this.expire(key, time);
+            return Boolean.TRUE.equals(this.template(key).opsForZSet().add(key, value, score));
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+            return false;
         }
-        return false;
     }
 
     /**
-     * 获取map
+     * 批量增加zset，一次ZADD提交
      *
-     * @param key 键
-     * @return MAP
+     * @param key    键
+     * @param values 值 -> 分数
+     * @return 新增数
      */
-    public Map<Object, Object> getMap(String key) {
-        return redisTemplate.opsForHash().entries(key);
+    public Long setZSet(String key, Map<Object, Double> values) {
+        if (Objects.isNull(values) || values.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return this.template(key).opsForZSet().add(key, this.toTuples(values));
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+            return 0L;
+        }
     }
 
     /**
-     * 获取map中key对应的value
+     * 增加zset中值的分数
      *
-     * @param key  键
-     * @param hash 项
-     * @return 值
+     * @param key   键
+     * @param value 值
+     * @param delta 增量，可以为负数
+     * @return 增加后的分数
      */
-    public Object getMap(String key, String hash) {
-        return redisTemplate.opsForHash().get(key, hash);
+    public Double incrementZSet(String key, Object value, double delta) {
+        return this.template(key).opsForZSet().incrementScore(key, value, delta);
     }
 
     /**
-     * 添加MAP
+     * 获取zset中值的分数
      *
-     * @param key 键
-     * @param map MAP
-     * @return 结果
+     * @param key   键
+     * @param value 值
+     * @return 分数，不存在时为null
      */
-    public boolean setMap(String key, Map<String, Object> map) {
+    public Double getZSetScore(String key, Object value) {
         try {
-            redisTemplate.opsForHash().putAll(key, map);
-            return true;
+            return this.template(key).opsForZSet().score(key, value);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
         }
-        return false;
     }
 
     /**
-     * 添加MAP并设置超时时间（秒）
+     * 获取zset的大小
      *
-     * @param key  键
-     * @param map  MAP
-     * @param time 时间（秒）
-     * @return 结果
+     * @param key 键
+     * @return size
      */
-    public boolean setMap(String key, Map<String, Object> map, long time) {
+    public Long getZSetSize(String key) {
         try {
-            redisTemplate.opsForHash().putAll(key, map);
-            return expire(key, time);
+            return this.template(key).opsForZSet().zCard(key);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return 0L;
         }
-        return false;
-    }
-
-    /**
-     * 删除
-     *
-     * @param key  键
-     * @param hash hash
-     */
-    public void deleteMap(String key, Object... hash) {
-        redisTemplate.opsForHash().delete(key, hash);
-    }
-
-    /**
-     * 判断hash表中是否有该项的值
-     *
-     * @param key  键
-     * @param hash 项
-     * @return 结果
-     */
-    public boolean hasMapKey(String key, String hash) {
-        return redisTemplate.opsForHash().hasKey(key, hash);
     }
 
     /**
-     * 递增
+     * 获取zset中分数在范围内的值的个数
      *
-     * @param key   键
-     * @param hash  项
-     * @param delta 递增因数
-     * @return 结果
+     * @param key 键
+     * @param min 最小分数（包含）
+     * @param max 最大分数（包含）
+     * @return 个数
      */
-    public Double incrementMap(String key, String hash, double delta) {
-        if (delta <= 0) {
-            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "递增因子必须大于0");
+    public Long getZSetCount(String key, double min, double max) {
+        try {
+            return this.template(key).opsForZSet().count(key, min, max);
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return 0L;
         }
-        return redisTemplate.opsForHash().increment(key, hash, delta);
     }
 
     /**
-     * 递减
+     * 按排名获取zset，分数从小到大
      *
      * @param key   键
-     * @param hash  项
-     * @param delta 递减因数
+     * @param start 开始（0为第一个）
+     * @param end   结束（-1为最后一个）
      * @return 结果
      */
-    public Double decrementMap(String key, String hash, double delta) {
-        if (delta >= 0) {
-            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "递减因子必须大于0");
+    public Set<Object> getZSetRange(String key, long start, long end) {
+        try {
+            return this.template(key).opsForZSet().range(key, start, end);
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
         }
-        return redisTemplate.opsForHash().increment(key, hash, -delta);
     }
 
     /**
-     * 获取Set
+     * 按分数获取zset，分数从小到大
      *
      * @param key 键
+     * @param min 最小分数（包含）
+     * @param max 最大分数（包含）
      * @return 结果
      */
-    public Set<Object> getSet(String key) {
+    public Set<Object> getZSetRangeByScore(String key, double min, double max) {
         try {
-            return redisTemplate.opsForSet().members(key);
+            return this.template(key).opsForZSet().rangeByScore(key, min, max);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_GET_ERROR, e);
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
             return null;
         }
     }
 
     /**
-     * 查询set是否存在value
+     * 按分数分页获取zset，分数从小到大
      *
-     * @param key   键
-     * @param value 值
-     * @return 是否存在
+     * @param key    键
+     * @param min    最小分数（包含）
+     * @param max    最大分数（包含）
+     * @param offset 跳过的个数
+     * @param count  最多返回的个数
+     * @return 结果
      */
-    public boolean hasSetValue(String key, Object value) {
+    public Set<Object> getZSetRangeByScore(String key, double min, double max, long offset, long count) {
         try {
-            return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(key, value));
+            return this.template(key).opsForZSet().rangeByScore(key, min, max, offset, count);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_CHECK_KEY_ERROR, e);
-            return false;
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
         }
     }
 
     /**
-     * 增加set
+     * 按分数分页获取zset及分数，分数从小到大
      *
      * @param key    键
-     * @param values 值
-     * @return 成功数
+     * @param min    最小分数（包含）
+     * @param max    最大分数（包含）
+     * @param offset 跳过的个数
+     * @param count  最多返回的个数
+     * @return 结果
      */
-    public Long setSet(String key, Object... values) {
+    public Set<ZSetOperations.TypedTuple<Object>> getZSetRangeByScoreWithScores(String key, double min, double max, long offset, long count) {
         try {
-            return redisTemplate.opsForSet().add(key, values);
+            return this.template(key).opsForZSet().rangeByScoreWithScores(key, min, max, offset, count);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
-            return 0L;
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
         }
     }
 
     /**
-     * 增加set并设置超时时间
+     * 按分数分页获取zset，分数从大到小
      *
      * @param key    键
-     * @param time   时间
-     * @param values 值
-     * @return 成功数
+     * @param min    最小分数（包含）
+     * @param max    最大分数（包含）
+     * @param offset 跳过的个数
+     * @param count  最多返回的个数
+     * @return 结果
      */
-    public Long setSet(String key, long time, Object... values) {
+    public Set<Object> getZSetReverseRangeByScore(String key, double min, double max, long offset, long count) {
         try {
-            Long count = redisTemplate.opsForSet().add(key, values);
-            expire(key, time);
-            return count;
+            return this.template(key).opsForZSet().reverseRangeByScore(key, min, max, offset, count);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
-            return 0L;
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
         }
     }
 
     /**
-     * 获取set的大小
+     * 批量删除zset中的值，一次ZREM提交
      *
-     * @param key 键
-     * @return size
+     * @param key    键
+     * @param values 值
+     * @return 删除的个数
      */
-    public Long getSetSize(String key) {
+    public Long deleteZSet(String key, Object... values) {
         try {
-            return redisTemplate.opsForSet().size(key);
+            return this.template(key).opsForZSet().remove(key, values);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_GET_ERROR, e);
+            this.error(RedisConstants.REDIS_DELETE_ERROR, e);
             return 0L;
         }
     }
 
     /**
-     * 移除值为value的
+     * 删除zset中分数在范围内的值
      *
-     * @param key    键
-     * @param values 值 可以是多个
-     * @return 移除的个数
+     * @param key 键
+     * @param min 最小分数（包含）
+     * @param max 最大分数（包含）
+     * @return 删除的个数
      */
-    public Long deleteSet(String key, Object... values) {
+    public Long deleteZSetByScore(String key, double min, double max) {
         try {
-            return redisTemplate.opsForSet().remove(key, values);
+            return this.template(key).opsForZSet().removeRangeByScore(key, min, max);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_DELETE_ERROR);
+            this.error(RedisConstants.REDIS_DELETE_ERROR, e);
             return 0L;
         }
     }
@@ -424,13 +1456,14 @@ public class RedisUtil {
      * @param time  超时时间
      * @return 结果
      */
+    @Override
     public boolean setList(String key, Object value, long time) {
         try {
-            redisTemplate.opsForList().rightPush(key, value);
-            expire(key, time);
+            this.executeScript(RedisScripts.RPUSH_EXPIRE, key, RedisScripts.valueArgs(time, Collections.singletonList(value), redisTemplate.getValueSerializer()));
+            this.sampleBigKey(key, template -> template.opsForList().size(key));
             return true;
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
             return false;
         }
     }
@@ -442,12 +1475,15 @@ public class RedisUtil {
      * @param value 值
      * @return 结果
      */
+    @Override
     public boolean setList(String key, List<Object> value) {
+        this.checkBigKey(key, value.size());
         try {
-            redisTemplate.opsForList().rightPushAll(key, value);
+            this.template(key).opsForList().rightPushAll(key, value);
+            this.sampleBigKey(key, template -> template.opsForList().size(key));
             return true;
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
             return false;
         }
     }
@@ -460,15 +1496,15 @@ public class RedisUtil {
      * @param time  超时时间
      * @return 结果
      */
+    @Override
     public boolean listSet(String key, List<Object> value, long time) {
+        this.checkBigKey(key, value.size());
         try {
-            redisTemplate.opsForList().rightPushAll(key, value);
-            if (time > 0) {
-                expire(key, time);
-            }
+            this.executeScript(RedisScripts.RPUSH_EXPIRE, key, RedisScripts.valueArgs(time, value, redisTemplate.getValueSerializer()));
+            this.sampleBigKey(key, template -> template.opsForList().size(key));
             return true;
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
             return false;
         }
     }
@@ -482,26 +1518,52 @@ public class RedisUtil {
      * @param end   结束
      * @return list
      */
+    @Override
     public List<Object> getList(String key, long start, long end) {
         try {
-            return redisTemplate.opsForList().range(key, start, end);
+            return this.template(key).opsForList().range(key, start, end);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_GET_ERROR, e);
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
             return null;
         }
     }
 
+    /**
+     * 通过LRANGE分批遍历整个list，适用于很长的list<br/>
+     * 只在消费时按需读取下一批
+     *
+     * @param key 键
+     * @return 值
+     */
+    public Stream<Object> streamList(String key) {
+        return this.streamList(key, RedisConstants.DEFAULT_SCAN_COUNT);
+    }
+
+    /**
+     * 通过LRANGE分批遍历整个list，适用于很长的list<br/>
+     * 只在消费时按需读取下一批
+     *
+     * @param key       键
+     * @param batchSize 每批读取的数量
+     * @return 值
+     */
+    public Stream<Object> streamList(String key, int batchSize) {
+        Iterator<Object> iterator = new ListRangeIterator(this.template(key), key, batchSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
     /**
      * 获取list的大小
      *
      * @param key 键
      * @return size
      */
+    @Override
     public Long getListSize(String key) {
         try {
-            return redisTemplate.opsForList().size(key);
+            return this.template(key).opsForList().size(key);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_GET_ERROR, e);
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
             return 0L;
         }
     }
@@ -515,11 +1577,12 @@ public class RedisUtil {
      * @param index 索引
      * @return 值
      */
+    @Override
     public Object getListItemByIndex(String key, long index) {
         try {
-            return redisTemplate.opsForList().index(key, index);
+            return this.template(key).opsForList().index(key, index);
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_GET_ERROR, e);
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
             return null;
         }
     }
@@ -531,12 +1594,14 @@ public class RedisUtil {
      * @param item 值
      * @return 结果
      */
+    @Override
     public boolean setListItem(String key, Object item) {
         try {
-            redisTemplate.opsForList().rightPush(key, item);
+            this.template(key).opsForList().rightPush(key, item);
+            this.sampleBigKey(key, template -> template.opsForList().size(key));
             return true;
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
             return false;
         }
     }
@@ -549,23 +1614,346 @@ public class RedisUtil {
      * @param item  值
      * @return 结果
      */
+    @Override
     public boolean updateListItemByIndex(String key, long index, Object item) {
         try {
-            redisTemplate.opsForList().set(key, index, item);
+            this.template(key).opsForList().set(key, index, item);
             return true;
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_SET_ERROR, e);
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
             return false;
         }
     }
 
+    @Override
     public Long deleteListItem(String key, long count, Object value) {
         try {
-            return redisTemplate.opsForList().remove(key, count, value);
+            return this.template(key).opsForList().remove(key, count, value);
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_DELETE_ERROR, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 批量获取 str<br/>
+     * 结果顺序与键的顺序一致，不存在的键对应null
+     *
+     * @param keys 键
+     * @return 值
+     */
+    @Override
+    public List<Object> batchGetString(List<String> keys) {
+        if (Objects.isNull(keys) || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        NearCache nearCache = this.nearCache();
+        Object[] values = new Object[keys.size()];
+        long[] stamps = new long[keys.size()];
+        List<Integer> missIndexes = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            values[i] = Objects.isNull(nearCache) ? null : nearCache.getValue(keys.get(i));
+            if (Objects.isNull(values[i])) {
+                stamps[i] = Objects.isNull(nearCache) ? 0 : nearCache.stamp(keys.get(i));
+                missIndexes.add(i);
+            }
+        }
+        try {
+            this.executeBatches(missIndexes, keys::get, (template, chunk) -> {
+                List<Object> results = this.executePipelined(template, operations -> {
+                    for (Integer index : chunk) {
+                        operations.opsForValue().get(keys.get(index));
+                    }
+                });
+                for (int i = 0; i < chunk.size(); i++) {
+                    int index = chunk.get(i);
+                    values[index] = results.get(i);
+                    if (Objects.nonNull(nearCache)) {
+                        nearCache.putValue(keys.get(index), values[index], stamps[index]);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * 批量添加 str 并设置相同的时间
+     *
+     * @param values 键值
+     * @param time   时间（秒） 小于等于0时为无限期
+     * @return 结果
+     */
+    @Override
+    public boolean batchSetString(Map<String, Object> values, long time) {
+        if (Objects.isNull(values) || values.isEmpty()) {
+            return true;
+        }
+        List<RedisBatchItem> items = new ArrayList<>(values.size());
+        values.forEach((key, value) -> items.add(RedisBatchItem.of(key, value, time)));
+        return this.batchSetString(items);
+    }
+
+    /**
+     * 批量添加 str，每一项可以设置各自的时间
+     *
+     * @param items 写入项
+     * @return 结果
+     */
+    @Override
+    public boolean batchSetString(List<RedisBatchItem> items) {
+        if (Objects.isNull(items) || items.isEmpty()) {
+            return true;
+        }
+        try {
+            this.executeBatches(items, RedisBatchItem::getKey, (template, chunk) -> {
+                this.executePipelined(template, operations -> {
+                    for (RedisBatchItem item : chunk) {
+                        if (item.getTime() > 0) {
+                            operations.opsForValue().set(item.getKey(), item.getValue(), item.getTime(), TimeUnit.SECONDS);
+                        } else {
+                            operations.opsForValue().set(item.getKey(), item.getValue());
+                        }
+                    }
+                });
+                this.invalidateNearCache(chunk.stream().map(RedisBatchItem::getKey).toArray(String[]::new));
+            });
+            return true;
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_SET_ERROR, e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量获取map<br/>
+     * 结果顺序与键的顺序一致，不存在的键对应空map
+     *
+     * @param keys 键
+     * @return MAP
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Map<Object, Object>> batchGetMap(List<String> keys) {
+        if (Objects.isNull(keys) || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        NearCache nearCache = this.nearCache();
+        List<Map<Object, Object>> values = new ArrayList<>(Collections.nCopies(keys.size(), null));
+        long[] stamps = new long[keys.size()];
+        List<Integer> missIndexes = new ArrayList<>(keys.size());
+        List<Integer> bucketedIndexes = new ArrayList<>(0);
+        for (int i = 0; i < keys.size(); i++) {
+            values.set(i, Objects.isNull(nearCache) ? null : nearCache.getEntries(keys.get(i)));
+            if (Objects.isNull(values.get(i))) {
+                stamps[i] = Objects.isNull(nearCache) ? 0 : nearCache.stamp(keys.get(i));
+                (Objects.nonNull(hashBuckets) && hashBuckets.bucketCount(keys.get(i)) > 0 ? bucketedIndexes : missIndexes).add(i);
+            }
+        }
+        try {
+            for (Integer index : bucketedIndexes) {
+                values.set(index, this.entries(keys.get(index)));
+                if (Objects.nonNull(nearCache)) {
+                    nearCache.putEntries(keys.get(index), values.get(index), stamps[index]);
+                }
+            }
+            this.executeBatches(missIndexes, keys::get, (template, chunk) -> {
+                List<Object> results = this.executePipelined(template, operations -> {
+                    for (Integer index : chunk) {
+                        operations.opsForHash().entries(keys.get(index));
+                    }
+                });
+                for (int i = 0; i < chunk.size(); i++) {
+                    int index = chunk.get(i);
+                    Map<Object, Object> entries = (Map<Object, Object>) results.get(i);
+                    values.set(index, Objects.isNull(entries) ? new HashMap<>(0) : entries);
+                    if (Objects.nonNull(nearCache)) {
+                        nearCache.putEntries(keys.get(index), values.get(index), stamps[index]);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+        return values;
+    }
+
+    /**
+     * 批量获取多个map中同一项的值<br/>
+     * 结果顺序与键的顺序一致，不存在的项对应null
+     *
+     * @param keys 键
+     * @param hash 项
+     * @return 值
+     */
+    @Override
+    public List<Object> batchGetMap(List<String> keys, String hash) {
+        if (Objects.isNull(keys) || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        NearCache nearCache = this.nearCache();
+        Object[] values = new Object[keys.size()];
+        long[] stamps = new long[keys.size()];
+        List<Integer> missIndexes = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            values[i] = Objects.isNull(nearCache) ? null : nearCache.getField(keys.get(i), hash);
+            if (Objects.isNull(values[i])) {
+                stamps[i] = Objects.isNull(nearCache) ? 0 : nearCache.stamp(keys.get(i));
+                missIndexes.add(i);
+            }
+        }
+        try {
+            this.executeBatches(missIndexes, index -> this.mapKey(keys.get(index), hash), (template, chunk) -> {
+                List<Object> results = this.executePipelined(template, operations -> {
+                    for (Integer index : chunk) {
+                        operations.opsForHash().get(this.mapKey(keys.get(index), hash), hash);
+                    }
+                });
+                for (int i = 0; i < chunk.size(); i++) {
+                    int index = chunk.get(i);
+                    values[index] = results.get(i);
+                    if (Objects.nonNull(nearCache)) {
+                        nearCache.putField(keys.get(index), hash, values[index], stamps[index]);
+                    }
+                }
+            });
         } catch (Exception e) {
-            log.error(RedisConstants.REDIS_DELETE_ERROR, e);
+            this.error(RedisConstants.REDIS_GET_ERROR, e);
+            return null;
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * 批量删除缓存，按批次分多次提交
+     *
+     * @param keys 键
+     * @return 删除的个数
+     */
+    @Override
+    public Long batchDeleteByKey(List<String> keys) {
+        if (Objects.isNull(keys) || keys.isEmpty()) {
             return 0L;
         }
+        LongAdder count = new LongAdder();
+        try {
+            this.executeBatches(this.physicalKeys(keys), key -> key, (template, chunk) -> {
+                Long deleted = template.delete(chunk);
+                count.add(Objects.isNull(deleted) ? 0 : deleted);
+            });
+            this.invalidateNearCache(keys.toArray(new String[0]));
+        } catch (Exception e) {
+            this.error(RedisConstants.REDIS_DELETE_ERROR, e);
+        }
+        return count.sum();
+    }
+
+    /**
+     * 记录被捕获的异常，并标记当前操作失败
+     *
+     * @param message 日志信息
+     * @param e       异常
+     */
+    private void error(String message, Exception e) {
+        errorLogLimiter.error(log, message, e);
+        RedisMetrics.markError();
+    }
+
+    /**
+     * 执行Lua脚本，参数需已序列化
+     *
+     * @param script 脚本
+     * @param key    键
+     * @param args   已序列化的参数
+     * @return 结果
+     */
+    private Long executeScript(RedisScript<Long> script, String key, Object[] args) {
+        return this.template(key).execute(script, RedisSerializer.byteArray(), null, Collections.singletonList(key), args);
+    }
+
+    /**
+     * 按batchChunkSize分批执行；启用分片时先按节点分组，各节点并行执行
+     *
+     * @param items 数据
+     * @param keyOf 数据对应的键
+     * @param batch 在一个节点上执行一批数据
+     * @param <T>   泛型
+     */
+    private <T> void executeBatches(List<T> items, Function<T, String> keyOf,
+                                    BiConsumer<RedisTemplate<String, Object>, List<T>> batch) {
+        if (Objects.isNull(shardedRedisTemplates)) {
+            for (List<T> chunk : this.partition(items)) {
+                batch.accept(redisTemplate, chunk);
+            }
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        shardedRedisTemplates.group(items, keyOf).forEach((template, group) -> tasks.add(() -> {
+            for (List<T> chunk : this.partition(group)) {
+                batch.accept(template, chunk);
+            }
+            return null;
+        }));
+        shardedRedisTemplates.invokeAll(tasks);
+    }
+
+    /**
+     * 在同一个pipeline中执行命令
+     *
+     * @param template 节点
+     * @param commands 命令
+     * @return 每条命令的结果，顺序与命令顺序一致
+     */
+    private List<Object> executePipelined(RedisTemplate<String, Object> template, Consumer<RedisOperations<String, Object>> commands) {
+        return template.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 按物理键拆分写入的map，并检查各个物理键本次写入的项数
+     *
+     * @param key 键
+     * @param map MAP
+     * @return 物理键 -> 写入的项与值
+     */
+    private Map<String, Map<String, Object>> splitMap(String key, Map<String, Object> map) {
+        Map<String, Map<String, Object>> buckets = Objects.isNull(hashBuckets) || hashBuckets.bucketCount(key) == 0
+                ? Collections.singletonMap(key, map) : hashBuckets.split(key, map);
+        buckets.forEach((mapKey, bucket) -> this.checkBigKey(mapKey, bucket.size()));
+        return buckets;
+    }
+
+    private Set<ZSetOperations.TypedTuple<Object>> toTuples(Map<Object, Double> values) {
+        Set<ZSetOperations.TypedTuple<Object>> tuples = new LinkedHashSet<>(values.size() * 2);
+        for (Map.Entry<Object, Double> entry : values.entrySet()) {
+            tuples.add(ZSetOperations.TypedTuple.of(entry.getKey(), entry.getValue()));
+        }
+        return tuples;
+    }
+
+    /**
+     * 按batchChunkSize拆分
+     *
+     * @param list 原始数据
+     * @param <T>  泛型
+     * @return 拆分后的批次
+     */
+    private <T> List<List<T>> partition(List<T> list) {
+        List<List<T>> chunks = new ArrayList<>((list.size() + batchChunkSize - 1) / batchChunkSize);
+        for (int i = 0; i < list.size(); i += batchChunkSize) {
+            chunks.add(list.subList(i, Math.min(i + batchChunkSize, list.size())));
+        }
+        return chunks;
     }
 
 }
@@ -0,0 +1,42 @@
+package com.xml.common.util.cache.redis.batch;
+
+import lombok.Getter;
+
+/**
+ * 批量写入str时的单项
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+public class RedisBatchItem {
+
+    /**
+     * 键
+     */
+    private final String key;
+
+    /**
+     * 值
+     */
+    private final Object value;
+
+    /**
+     * 超时时间（秒） 小于等于0时为无限期
+     */
+    private final long time;
+
+    private RedisBatchItem(String key, Object value, long time) {
+        this.key = key;
+        this.value = value;
+        this.time = time;
+    }
+
+    public static RedisBatchItem of(String key, Object value) {
+        return new RedisBatchItem(key, value, 0);
+    }
+
+    public static RedisBatchItem of(String key, Object value, long time) {
+        return new RedisBatchItem(key, value, time);
+    }
+}
@@ -0,0 +1,146 @@
+package com.xml.common.util.cache.redis.bigkey;
+
+import com.xml.common.util.cache.redis.exception.DoItRedisException;
+import com.xml.common.util.cache.redis.exception.RedisExceptionCode;
+import com.xml.common.util.cache.redis.metrics.RedisMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大键检查<br/>
+ * <li>每次写入集合时检查本次写入的项数，超出上限时告警，或按配置拒绝写入</li>
+ * <li>按采样率抽查写入后集合的实际大小及str值序列化后的字节数，超出上限时告警</li>
+ * <li>同一个键在一个周期内只告警一次，每次超出都计入 doit.redis.bigkey 指标</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Slf4j
+public class BigKeyGuard {
+
+    public static final String REASON_ENTRIES = "entries";
+
+    public static final String REASON_BYTES = "bytes";
+
+    /**
+     * 告警记录的最大数量，超出时清空
+     */
+    private static final int MAX_WARNED_KEYS = 1000;
+
+    private final long maxEntries;
+
+    private final long maxBytes;
+
+    private final int sampleRate;
+
+    private final boolean reject;
+
+    private final long warnIntervalNanos;
+
+    private final Map<String, Long> warned = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private RedisMetrics redisMetrics;
+
+    /**
+     * @param maxEntries          集合最多的项数，小于等于0时不检查
+     * @param maxBytes            str值序列化后最多的字节数，小于等于0时不检查
+     * @param sampleRate          每sampleRate次写入抽查一次实际大小
+     * @param reject              单次写入的项数超出上限时是否拒绝写入
+     * @param warnIntervalSeconds 同一个键的告警周期（秒）
+     */
+    public BigKeyGuard(long maxEntries, long maxBytes, int sampleRate, boolean reject, long warnIntervalSeconds) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("sampleRate must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.sampleRate = sampleRate;
+        this.reject = reject;
+        this.warnIntervalNanos = TimeUnit.SECONDS.toNanos(warnIntervalSeconds);
+    }
+
+    /**
+     * 检查单次写入的项数
+     *
+     * @param key     键
+     * @param entries 本次写入的项数
+     */
+    public void checkWrite(String key, int entries) {
+        if (maxEntries <= 0 || entries <= maxEntries) {
+            return;
+        }
+        if (reject) {
+            this.record(key, REASON_ENTRIES);
+            throw DoItRedisException.stackless(RedisExceptionCode.SYSTEM_501.getCode(),
+                    "单次写入" + entries + "项，超出大键上限" + maxEntries + "：" + key);
+        }
+        this.warn(key, REASON_ENTRIES, entries, maxEntries);
+    }
+
+    /**
+     * 是否抽查本次写入
+     *
+     * @return 结果
+     */
+    public boolean shouldSample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    public boolean isCheckEntries() {
+        return maxEntries > 0;
+    }
+
+    public boolean isCheckBytes() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * 检查集合写入后的实际项数
+     *
+     * @param key     键
+     * @param entries 项数
+     */
+    public void checkEntries(String key, long entries) {
+        if (maxEntries > 0 && entries > maxEntries) {
+            this.warn(key, REASON_ENTRIES, entries, maxEntries);
+        }
+    }
+
+    /**
+     * 检查str值序列化后的字节数
+     *
+     * @param key   键
+     * @param bytes 字节数
+     */
+    public void checkBytes(String key, long bytes) {
+        if (maxBytes > 0 && bytes > maxBytes) {
+            this.warn(key, REASON_BYTES, bytes, maxBytes);
+        }
+    }
+
+    private void warn(String key, String reason, long actual, long limit) {
+        this.record(key, reason);
+        long now = System.nanoTime();
+        Long last = warned.get(key);
+        if (last != null && now - last < warnIntervalNanos) {
+            return;
+        }
+        if (warned.size() >= MAX_WARNED_KEYS) {
+            warned.clear();
+        }
+        warned.put(key, now);
+        log.warn("Redis big key {}: {} {} exceeds limit {}", key, actual, reason, limit);
+    }
+
+    private void record(String key, String reason) {
+        if (redisMetrics != null) {
+            redisMetrics.recordBigKey(key, reason);
+        }
+    }
+}
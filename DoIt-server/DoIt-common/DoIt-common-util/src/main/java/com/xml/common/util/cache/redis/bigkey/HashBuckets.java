@@ -0,0 +1,101 @@
+package com.xml.common.util.cache.redis.bigkey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分桶map：按前缀配置的map拆分到多个物理hash中，避免单个hash过大<br/>
+ * <li>项按 String.hashCode 对桶数取模分配到桶，各节点结果一致</li>
+ * <li>物理键为 逻辑键::桶序号，逻辑键含哈希标签时各个桶位于同一个分片节点</li>
+ * <li>桶数确定后不能修改，修改前需要删除已有的数据</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class HashBuckets {
+
+    private static final String BUCKET_SEPARATOR = "::";
+
+    /**
+     * 键前缀 -> 桶数，按前缀长度降序匹配
+     */
+    private final Map<String, Integer> buckets = new LinkedHashMap<>();
+
+    /**
+     * @param buckets 键前缀 -> 桶数
+     */
+    public HashBuckets(Map<String, Integer> buckets) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(buckets.entrySet());
+        entries.sort((a, b) -> b.getKey().length() - a.getKey().length());
+        for (Map.Entry<String, Integer> entry : entries) {
+            if (entry.getValue() == null || entry.getValue() <= 1) {
+                throw new IllegalArgumentException("bucket count of " + entry.getKey() + " must be greater than 1");
+            }
+            this.buckets.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 桶数
+     *
+     * @param key 逻辑键
+     * @return 桶数，不分桶时为0
+     */
+    public int bucketCount(String key) {
+        for (Map.Entry<String, Integer> entry : buckets.entrySet()) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 项所在的物理键
+     *
+     * @param key  逻辑键
+     * @param hash 项
+     * @return 物理键，不分桶时为逻辑键
+     */
+    public String bucketKey(String key, Object hash) {
+        int count = this.bucketCount(key);
+        return count == 0 ? key : key + BUCKET_SEPARATOR + Math.floorMod(String.valueOf(hash).hashCode(), count);
+    }
+
+    /**
+     * 所有物理键
+     *
+     * @param key 逻辑键
+     * @return 物理键，不分桶时为逻辑键
+     */
+    public List<String> bucketKeys(String key) {
+        int count = this.bucketCount(key);
+        if (count == 0) {
+            return Collections.singletonList(key);
+        }
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(key + BUCKET_SEPARATOR + i);
+        }
+        return keys;
+    }
+
+    /**
+     * 按物理键拆分
+     *
+     * @param key 逻辑键
+     * @param map 项与值
+     * @param <V> 值
+     * @return 物理键 -> 项与值
+     */
+    public <V> Map<String, Map<String, V>> split(String key, Map<String, V> map) {
+        Map<String, Map<String, V>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, V> entry : map.entrySet()) {
+            result.computeIfAbsent(this.bucketKey(key, entry.getKey()), bucket -> new LinkedHashMap<>()).put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+}
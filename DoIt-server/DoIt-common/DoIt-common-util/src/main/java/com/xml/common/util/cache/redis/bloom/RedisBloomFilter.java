@@ -0,0 +1,240 @@
+package com.xml.common.util.cache.redis.bloom;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import com.xml.common.util.cache.redis.exception.DoItRedisException;
+import com.xml.common.util.cache.redis.exception.RedisExceptionCode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 基于Redis位图的布隆过滤器，用于在读取缓存或数据库前拦截一定不存在的键<br/>
+ * <li>判断为不存在时一定不存在，判断为存在时有一定误判率</li>
+ * <li>位图保存在一个Redis键中，容量上限为2^32位（512MB）</li>
+ * <li>不支持删除，数据删除较多时通过 {@link #rebuild(Iterable)} 重建</li>
+ * <li>位图不存在（未构建、被清空、淘汰或过期）时所有值都判断为可能存在，避免误拦截真实数据</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class RedisBloomFilter {
+
+    /**
+     * Redis位图的最大位数
+     */
+    private static final long MAX_BITS = 1L << 32;
+
+    /**
+     * 重建时每个pipeline写入的值数量
+     */
+    private static final int REBUILD_CHUNK_VALUES = 1000;
+
+    private static final String REBUILD_SUFFIX = ":rebuild";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final String key;
+
+    private final long numBits;
+
+    private final int numHashFunctions;
+
+    /**
+     * @param redisTemplate      redisTemplate
+     * @param key                位图的键
+     * @param expectedInsertions 预计插入数量
+     * @param falsePositiveRate  期望的误判率，0 ~ 1
+     */
+    public RedisBloomFilter(RedisTemplate<String, Object> redisTemplate, String key,
+                            long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "预计插入数量必须大于0");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "误判率必须在0和1之间");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        if (bits > MAX_BITS) {
+            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "布隆过滤器超出Redis位图容量上限");
+        }
+        this.redisTemplate = redisTemplate;
+        this.key = key;
+        this.numBits = Math.max(bits, Byte.SIZE);
+        this.numHashFunctions = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getNumBits() {
+        return numBits;
+    }
+
+    public int getNumHashFunctions() {
+        return numHashFunctions;
+    }
+
+    /**
+     * 添加
+     *
+     * @param value 值
+     */
+    public void add(String value) {
+        this.addAll(Collections.singletonList(value));
+    }
+
+    /**
+     * 批量添加，在同一个pipeline中提交
+     *
+     * @param values 值
+     */
+    public void addAll(Collection<String> values) {
+        if (Objects.isNull(values) || values.isEmpty()) {
+            return;
+        }
+        byte[] rawKey = this.rawKey(key);
+        this.executePipelined(connection -> {
+            for (String value : values) {
+                for (long offset : this.offsets(value)) {
+                    connection.stringCommands().setBit(rawKey, offset, true);
+                }
+            }
+        });
+    }
+
+    /**
+     * 是否可能存在
+     *
+     * @param value 值
+     * @return false时一定不存在
+     */
+    public boolean mightContain(String value) {
+        return this.mightContainAll(Collections.singletonList(value)).get(0);
+    }
+
+    /**
+     * 批量判断是否可能存在，在同一个pipeline中查询
+     *
+     * @param values 值
+     * @return 结果，顺序与values一致；false时一定不存在，位图不存在时全部为true
+     */
+    public List<Boolean> mightContainAll(List<String> values) {
+        if (Objects.isNull(values) || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        byte[] rawKey = this.rawKey(key);
+        List<Object> bits = this.executePipelined(connection -> {
+            connection.keyCommands().exists(rawKey);
+            for (String value : values) {
+                for (long offset : this.offsets(value)) {
+                    connection.stringCommands().getBit(rawKey, offset);
+                }
+            }
+        });
+        if (!Boolean.TRUE.equals(bits.get(0))) {
+            // 位图不存在时GETBIT全部返回0，按可能存在处理
+            return new ArrayList<>(Collections.nCopies(values.size(), Boolean.TRUE));
+        }
+        List<Boolean> result = new ArrayList<>(values.size());
+        int index = 1;
+        for (int i = 0; i < values.size(); i++) {
+            boolean contains = true;
+            for (int j = 0; j < numHashFunctions; j++) {
+                contains &= Boolean.TRUE.equals(bits.get(index++));
+            }
+            result.add(contains);
+        }
+        return result;
+    }
+
+    /**
+     * 根据数据源全量重建<br/>
+     * 分批通过pipeline写入临时键后RENAME替换，本地不保存整个位图，重建期间原位图仍可正常使用。
+     * 重建过程中新增的值需要在重建完成后再次添加
+     *
+     * @param source 数据源中全部的值
+     * @return 写入的值数量
+     */
+    public long rebuild(Iterable<String> source) {
+        byte[] rawKey = this.rawKey(key);
+        byte[] rawTempKey = this.rawKey(key + REBUILD_SUFFIX);
+        // 先写入最后一位，数据源为空时临时键同样存在，替换后不会被当作位图不存在
+        this.executePipelined(connection -> {
+            connection.keyCommands().del(rawTempKey);
+            connection.stringCommands().setBit(rawTempKey, numBits - 1, false);
+        });
+        long count = 0;
+        List<String> chunk = new ArrayList<>(REBUILD_CHUNK_VALUES);
+        for (String value : source) {
+            chunk.add(value);
+            if (chunk.size() == REBUILD_CHUNK_VALUES) {
+                count += this.writeChunk(rawTempKey, chunk);
+            }
+        }
+        count += this.writeChunk(rawTempKey, chunk);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.keyCommands().rename(rawTempKey, rawKey);
+            return null;
+        });
+        return count;
+    }
+
+    /**
+     * 删除位图
+     */
+    public void delete() {
+        redisTemplate.delete(key);
+    }
+
+    /**
+     * 双重哈希计算各哈希函数对应的位，使用128位MurmurHash的高低两部分
+     */
+    long[] offsets(String value) {
+        long[] hash = MurmurHash.hash128(value.getBytes(StandardCharsets.UTF_8));
+        long combined = hash[0];
+        long[] offsets = new long[numHashFunctions];
+        for (int i = 0; i < numHashFunctions; i++) {
+            offsets[i] = (combined & Long.MAX_VALUE) % numBits;
+            combined += hash[1];
+        }
+        return offsets;
+    }
+
+    private int writeChunk(byte[] rawTempKey, List<String> chunk) {
+        int size = chunk.size();
+        if (size == 0) {
+            return 0;
+        }
+        this.executePipelined(connection -> {
+            for (String value : chunk) {
+                for (long offset : this.offsets(value)) {
+                    connection.stringCommands().setBit(rawTempKey, offset, true);
+                }
+            }
+        });
+        chunk.clear();
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    private List<Object> executePipelined(Consumer<RedisConnection> commands) {
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            commands.accept(connection);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.xml.common.util.cache.redis.bloom;
+
+import com.xml.common.util.cache.redis.exception.DoItRedisException;
+import com.xml.common.util.cache.redis.exception.RedisExceptionCode;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按名称管理配置的布隆过滤器
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class RedisBloomFilters {
+
+    private final Map<String, RedisBloomFilter> filters = new ConcurrentHashMap<>();
+
+    /**
+     * 注册
+     *
+     * @param name   名称
+     * @param filter 布隆过滤器
+     */
+    public void register(String name, RedisBloomFilter filter) {
+        filters.put(name, filter);
+    }
+
+    /**
+     * 获取
+     *
+     * @param name 名称
+     * @return 布隆过滤器
+     */
+    public RedisBloomFilter get(String name) {
+        RedisBloomFilter filter = filters.get(name);
+        if (filter == null) {
+            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "未配置布隆过滤器：" + name);
+        }
+        return filter;
+    }
+
+    public Collection<String> getNames() {
+        return Collections.unmodifiableCollection(filters.keySet());
+    }
+}
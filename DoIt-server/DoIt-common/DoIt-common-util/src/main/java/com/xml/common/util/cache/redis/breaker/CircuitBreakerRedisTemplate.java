@@ -0,0 +1,61 @@
+package com.xml.common.util.cache.redis.breaker;
+
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * 经过熔断器访问Redis的RedisTemplate<br/>
+ * opsForXxx、pipeline、脚本等操作最终都通过 {@link #execute(RedisCallback, boolean, boolean)} 访问连接，
+ * 嵌套调用（如pipeline中的命令）只计一次
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class CircuitBreakerRedisTemplate extends RedisTemplate<String, Object> {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public CircuitBreakerRedisTemplate(RedisCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public RedisCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        int[] depth = DEPTH.get();
+        if (depth[0] > 0) {
+            return super.execute(action, exposeConnection, pipeline);
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            throw new RedisCircuitOpenException();
+        }
+        depth[0]++;
+        // 任何情况下都要上报结果，否则半开状态下的探测名额无法释放，熔断器会一直拒绝请求
+        boolean reported = false;
+        try {
+            T result = super.execute(action, exposeConnection, pipeline);
+            reported = true;
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            reported = true;
+            if (circuitBreaker.isFailure(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        } finally {
+            depth[0]--;
+            if (!reported) {
+                // Error等非RuntimeException按失败处理
+                circuitBreaker.onFailure();
+            }
+        }
+    }
+}
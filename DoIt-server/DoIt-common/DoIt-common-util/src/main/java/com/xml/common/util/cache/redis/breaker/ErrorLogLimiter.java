@@ -0,0 +1,67 @@
+package com.xml.common.util.cache.redis.breaker;
+
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 限制错误日志的频率<br/>
+ * 同一条日志信息在一个周期内只输出一次堆栈，其余的只计数，在下一次输出时附带被忽略的次数；
+ * 熔断器打开导致的失败不输出堆栈
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class ErrorLogLimiter {
+
+    private final long intervalNanos;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * @param intervalSeconds 周期（秒），小于等于0时不限制
+     */
+    public ErrorLogLimiter(long intervalSeconds) {
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(intervalSeconds);
+    }
+
+    /**
+     * 输出错误日志
+     *
+     * @param log     日志
+     * @param message 日志信息，使用常量以免统计项无限增长
+     * @param e       异常
+     */
+    public void error(Logger log, String message, Throwable e) {
+        if (intervalNanos <= 0) {
+            log.error(message, e);
+            return;
+        }
+        Window window = windows.computeIfAbsent(message, key -> new Window());
+        long now = System.nanoTime();
+        long next = window.nextAt.get();
+        if (now - next < 0 || !window.nextAt.compareAndSet(next, now + intervalNanos)) {
+            window.suppressed.increment();
+            return;
+        }
+        long suppressed = window.suppressed.sumThenReset();
+        if (e instanceof RedisCircuitOpenException) {
+            log.error("{}: {} ({} similar errors suppressed)", message, e.getMessage(), suppressed);
+        } else if (suppressed > 0) {
+            log.error("{} ({} similar errors suppressed)", message, suppressed, e);
+        } else {
+            log.error(message, e);
+        }
+    }
+
+    private static final class Window {
+
+        private final AtomicLong nextAt = new AtomicLong(System.nanoTime());
+
+        private final LongAdder suppressed = new LongAdder();
+    }
+}
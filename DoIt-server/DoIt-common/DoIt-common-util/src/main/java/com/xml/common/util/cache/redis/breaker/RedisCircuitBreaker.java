@@ -0,0 +1,128 @@
+package com.xml.common.util.cache.redis.breaker;
+
+import com.xml.common.util.cache.redis.near.NearCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Redis熔断器<br/>
+ * <li>CLOSED：正常访问，连续失败达到阈值后打开</li>
+ * <li>OPEN：直接抛出 {@link RedisCircuitOpenException}，不再等待超时；打开一段时间后进入半开</li>
+ * <li>HALF_OPEN：同一时间只放行一个探测请求，成功则关闭，失败则重新打开</li>
+ * 只有连接失败和超时计为失败，命令本身的错误说明Redis可用
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final long openNanos;
+
+    private final NearCache fallbackCache;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    private volatile long openedAt;
+
+    /**
+     * @param failureThreshold 连续失败多少次后打开
+     * @param openSeconds      打开后多久进入半开（秒）
+     * @param fallbackCache    打开期间读操作使用的本地缓存，为null时不降级读
+     */
+    public RedisCircuitBreaker(int failureThreshold, long openSeconds, NearCache fallbackCache) {
+        if (failureThreshold <= 0 || openSeconds <= 0) {
+            throw new IllegalArgumentException("failureThreshold and openSeconds must be greater than 0");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+        this.fallbackCache = fallbackCache;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * 打开期间读操作使用的本地缓存
+     *
+     * @return 本地缓存，未启用时为null
+     */
+    public NearCache getFallbackCache() {
+        return fallbackCache;
+    }
+
+    /**
+     * 是否允许访问Redis
+     *
+     * @return 允许时必须在结束后调用 {@link #onSuccess()} 或 {@link #onFailure()}
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return probing.compareAndSet(false, true);
+    }
+
+    /**
+     * Redis正常响应
+     */
+    public void onSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+        if (state.get() != State.CLOSED) {
+            if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                log.warn("Redis circuit breaker closed");
+            }
+            probing.set(false);
+        }
+    }
+
+    /**
+     * Redis连接失败或超时
+     */
+    public void onFailure() {
+        State current = state.get();
+        if (current == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.nanoTime();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("Redis circuit breaker opened, fail fast for {} ms", TimeUnit.NANOSECONDS.toMillis(openNanos));
+            }
+        }
+        probing.set(false);
+    }
+
+    /**
+     * 是否为需要计入熔断的失败
+     *
+     * @param e 异常
+     * @return 连接失败或超时时为true
+     */
+    public boolean isFailure(Throwable e) {
+        return e instanceof DataAccessResourceFailureException || e instanceof QueryTimeoutException;
+    }
+}
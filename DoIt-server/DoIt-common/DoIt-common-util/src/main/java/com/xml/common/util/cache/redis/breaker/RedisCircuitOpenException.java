@@ -0,0 +1,24 @@
+package com.xml.common.util.cache.redis.breaker;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+/**
+ * 熔断器打开时快速失败抛出的异常<br/>
+ * 不收集堆栈，抛出的开销很小
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class RedisCircuitOpenException extends RedisConnectionFailureException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RedisCircuitOpenException() {
+        super("Redis circuit breaker is open");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
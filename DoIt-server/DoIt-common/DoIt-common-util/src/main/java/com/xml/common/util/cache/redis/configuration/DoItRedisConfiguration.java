@@ -0,0 +1,291 @@
+package com.xml.common.util.cache.redis.configuration;
+
+import com.xml.common.util.cache.memory.MemoryCacheUtil;
+import com.xml.common.util.cache.redis.AsyncRedisUtil;
+import com.xml.common.util.cache.redis.RedisUtil;
+import com.xml.common.util.cache.redis.bigkey.BigKeyGuard;
+import com.xml.common.util.cache.redis.bigkey.HashBuckets;
+import com.xml.common.util.cache.redis.bloom.RedisBloomFilter;
+import com.xml.common.util.cache.redis.bloom.RedisBloomFilters;
+import com.xml.common.util.cache.redis.breaker.CircuitBreakerRedisTemplate;
+import com.xml.common.util.cache.redis.breaker.ErrorLogLimiter;
+import com.xml.common.util.cache.redis.breaker.RedisCircuitBreaker;
+import com.xml.common.util.cache.redis.constants.RedisConstants;
+import com.xml.common.util.cache.redis.counter.BufferedCounter;
+import com.xml.common.util.cache.redis.hotkey.HotKeyDetector;
+import com.xml.common.util.cache.redis.hotkey.HotKeyEndpoint;
+import com.xml.common.util.cache.redis.metrics.RedisKeyPrefixExtractor;
+import com.xml.common.util.cache.redis.metrics.RedisMetrics;
+import com.xml.common.util.cache.redis.metrics.RedisMetricsPostProcessor;
+import com.xml.common.util.cache.redis.near.NearCache;
+import com.xml.common.util.cache.redis.near.NearCacheInvalidator;
+import com.xml.common.util.cache.redis.serializer.CompactRedisSerializer;
+import com.xml.common.util.cache.redis.shard.ShardedRedisTemplates;
+import io.lettuce.core.RedisURI;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Redis工具配置类
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(DoItRedisProperties.class)
+public class DoItRedisConfiguration {
+
+    /**
+     * 替代默认的redisTemplate，键保持默认序列化方式以便继续访问已有的键<br/>
+     * <li>doit.redis.serializer.type=compact 时值使用紧凑序列化</li>
+     * <li>启用熔断器时经过熔断器访问Redis</li>
+     */
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       DoItRedisProperties properties,
+                                                       ObjectProvider<RedisCircuitBreaker> circuitBreaker) throws ClassNotFoundException {
+        RedisCircuitBreaker breaker = circuitBreaker.getIfAvailable();
+        RedisTemplate<String, Object> redisTemplate = breaker == null ? new RedisTemplate<>() : new CircuitBreakerRedisTemplate(breaker);
+        redisTemplate.setConnectionFactory(connectionFactory);
+        DoItRedisProperties.Serializer config = properties.getSerializer();
+        if (DoItRedisProperties.Serializer.COMPACT.equals(config.getType())) {
+            Map<Class<?>, Integer> registrations = new LinkedHashMap<>();
+            ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+            for (Map.Entry<String, Integer> entry : config.getRegistrations().entrySet()) {
+                registrations.put(ClassUtils.forName(entry.getKey(), classLoader), entry.getValue());
+            }
+            CompactRedisSerializer serializer = new CompactRedisSerializer(config.getCompressThreshold(), registrations);
+            redisTemplate.setValueSerializer(serializer);
+            redisTemplate.setHashValueSerializer(serializer);
+        }
+        return redisTemplate;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "doit.redis", name = "backend", havingValue = DoItRedisProperties.BACKEND_REDIS, matchIfMissing = true)
+    public RedisUtil redisUtil(DoItRedisProperties properties) {
+        RedisUtil redisUtil = new RedisUtil();
+        redisUtil.setBatchChunkSize(properties.getBatch().getChunkSize());
+        redisUtil.setErrorLogLimiter(new ErrorLogLimiter(properties.getErrorLogIntervalSeconds()));
+        return redisUtil;
+    }
+
+    /**
+     * 进程内缓存，替代RedisUtil作为CacheUtil；其他组件仍使用Redis连接
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "doit.redis", name = "backend", havingValue = DoItRedisProperties.BACKEND_MEMORY)
+    public MemoryCacheUtil memoryCacheUtil(DoItRedisProperties properties) {
+        DoItRedisProperties.Memory config = properties.getMemory();
+        return new MemoryCacheUtil(config.getTickMillis(), config.getWheelSize());
+    }
+
+    /**
+     * 非阻塞操作需要Lettuce提供的响应式连接
+     */
+    @Bean
+    @ConditionalOnClass(name = "io.lettuce.core.RedisClient")
+    public AsyncRedisUtil asyncRedisUtil(ReactiveRedisConnectionFactory connectionFactory,
+                                         RedisTemplate<String, Object> redisTemplate,
+                                         DoItRedisProperties properties) {
+        AsyncRedisUtil asyncRedisUtil = new AsyncRedisUtil(connectionFactory, redisTemplate);
+        asyncRedisUtil.setErrorLogLimiter(new ErrorLogLimiter(properties.getErrorLogIntervalSeconds()));
+        return asyncRedisUtil;
+    }
+
+    /**
+     * 通过 {@link RedisBloomFilters#get(String)} 获取 doit.redis.bloom-filters 中配置的布隆过滤器；
+     * 启用分片时每个布隆过滤器整体位于其键所在的节点
+     */
+    @Bean
+    public RedisBloomFilters redisBloomFilters(RedisTemplate<String, Object> redisTemplate, DoItRedisProperties properties,
+                                               ObjectProvider<ShardedRedisTemplates> shardedRedisTemplates) {
+        ShardedRedisTemplates shards = shardedRedisTemplates.getIfAvailable();
+        RedisBloomFilters filters = new RedisBloomFilters();
+        properties.getBloomFilters().forEach((name, config) -> {
+            String key = RedisConstants.BLOOM_FILTER_KEY_PREFIX + name;
+            filters.register(name, new RedisBloomFilter(shards == null ? redisTemplate : shards.route(key),
+                    key, config.getExpectedInsertions(), config.getFalsePositiveRate()));
+        });
+        return filters;
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "doit.redis.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static class MetricsConfiguration {
+
+        /**
+         * MeterRegistry在第一次记录时才获取，本配置类通过组件扫描加载，早于指标自动配置，不能使用@ConditionalOnBean判断；
+         * 没有MeterRegistry时不记录指标；可以通过声明RedisKeyPrefixExtractor类型的bean自定义前缀提取方式
+         */
+        @Bean
+        public RedisMetrics redisMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+                                         ObjectProvider<RedisKeyPrefixExtractor> prefixExtractor,
+                                         DoItRedisProperties properties) {
+            DoItRedisProperties.Metrics config = properties.getMetrics();
+            RedisKeyPrefixExtractor extractor = prefixExtractor.getIfAvailable(
+                    () -> RedisKeyPrefixExtractor.delimiter(config.getKeyPrefixDelimiter()));
+            return new RedisMetrics(meterRegistry::getIfAvailable, extractor, config.getMaxPrefixes(), config.isHistogram());
+        }
+
+        @Bean
+        public static RedisMetricsPostProcessor redisMetricsPostProcessor(ObjectProvider<RedisMetrics> redisMetrics) {
+            return new RedisMetricsPostProcessor(redisMetrics);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "doit.redis.circuit-breaker", name = "enabled", havingValue = "true")
+    public static class CircuitBreakerConfiguration {
+
+        @Bean
+        public RedisCircuitBreaker redisCircuitBreaker(DoItRedisProperties properties) {
+            DoItRedisProperties.CircuitBreaker config = properties.getCircuitBreaker();
+            NearCache fallbackCache = config.isFallbackCacheEnabled()
+                    ? new NearCache(config.getFallbackCacheMaximumSize(), config.getFallbackCacheExpireSeconds())
+                    : null;
+            return new RedisCircuitBreaker(config.getFailureThreshold(), config.getOpenSeconds(), fallbackCache);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "doit.redis.counter", name = "enabled", havingValue = "true")
+    public static class CounterConfiguration {
+
+        @Bean
+        public BufferedCounter bufferedCounter(RedisTemplate<String, Object> redisTemplate, DoItRedisProperties properties) {
+            DoItRedisProperties.Counter config = properties.getCounter();
+            BufferedCounter counter = new BufferedCounter(redisTemplate, config.getFlushIntervalMillis(),
+                    config.getMaxPendingKeys(), config.getMaxBufferedKeys(), properties.getBatch().getChunkSize());
+            counter.setErrorLogLimiter(new ErrorLogLimiter(properties.getErrorLogIntervalSeconds()));
+            return counter;
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "doit.redis.hot-key", name = "enabled", havingValue = "true")
+    public static class HotKeyConfiguration {
+
+        @Bean
+        public HotKeyDetector hotKeyDetector(DoItRedisProperties properties) {
+            DoItRedisProperties.HotKey config = properties.getHotKey();
+            return new HotKeyDetector(config.getSampleRate(), config.getWindowMillis(), config.getThreshold(),
+                    config.getCapacity(), config.getReplicaSeconds());
+        }
+
+        @Bean
+        @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+        public HotKeyEndpoint hotKeyEndpoint(HotKeyDetector hotKeyDetector) {
+            return new HotKeyEndpoint(hotKeyDetector);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "doit.redis.big-key", name = "enabled", havingValue = "true")
+    public static class BigKeyConfiguration {
+
+        @Bean
+        public BigKeyGuard bigKeyGuard(DoItRedisProperties properties) {
+            DoItRedisProperties.BigKey config = properties.getBigKey();
+            return new BigKeyGuard(config.getMaxEntries(), config.getMaxBytes(), config.getSampleRate(),
+                    config.isReject(), properties.getErrorLogIntervalSeconds());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "doit.redis.hash-bucket", name = "enabled", havingValue = "true")
+    public static class HashBucketConfiguration {
+
+        @Bean
+        public HashBuckets hashBuckets(DoItRedisProperties properties) {
+            return new HashBuckets(properties.getHashBucket().getMaps());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "io.lettuce.core.RedisClient")
+    @ConditionalOnProperty(prefix = "doit.redis.sharding", name = "enabled", havingValue = "true")
+    public static class ShardingConfiguration {
+
+        /**
+         * 每个节点使用独立的Lettuce连接，序列化方式与默认的redisTemplate一致；
+         * 启用熔断器时每个节点有各自的熔断状态，共用降级读取的本地缓存
+         */
+        @Bean
+        public ShardedRedisTemplates shardedRedisTemplates(DoItRedisProperties properties,
+                                                           RedisTemplate<String, Object> redisTemplate,
+                                                           ObjectProvider<RedisCircuitBreaker> circuitBreaker) {
+            DoItRedisProperties.Sharding config = properties.getSharding();
+            if (config.getNodes().isEmpty()) {
+                throw new IllegalStateException("doit.redis.sharding.nodes must not be empty");
+            }
+            RedisCircuitBreaker breaker = circuitBreaker.getIfAvailable();
+            DoItRedisProperties.CircuitBreaker breakerConfig = properties.getCircuitBreaker();
+            Map<String, RedisTemplate<String, Object>> nodes = new LinkedHashMap<>();
+            config.getNodes().forEach((name, uri) -> {
+                RedisTemplate<String, Object> template = breaker == null ? new RedisTemplate<>()
+                        : new CircuitBreakerRedisTemplate(new RedisCircuitBreaker(breakerConfig.getFailureThreshold(),
+                        breakerConfig.getOpenSeconds(), breaker.getFallbackCache()));
+                template.setConnectionFactory(connectionFactory(uri));
+                template.setKeySerializer(redisTemplate.getKeySerializer());
+                template.setValueSerializer(redisTemplate.getValueSerializer());
+                template.setHashKeySerializer(redisTemplate.getHashKeySerializer());
+                template.setHashValueSerializer(redisTemplate.getHashValueSerializer());
+                template.afterPropertiesSet();
+                nodes.put(name, template);
+            });
+            return new ShardedRedisTemplates(nodes, config.getVirtualNodes());
+        }
+
+        private static LettuceConnectionFactory connectionFactory(String uri) {
+            // 地址、库、用户名和密码由Spring Data Redis解析，SSL需要在客户端配置中开启
+            LettuceClientConfiguration.LettuceClientConfigurationBuilder client = LettuceClientConfiguration.builder();
+            if (RedisURI.create(uri).isSsl()) {
+                client.useSsl();
+            }
+            LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                    LettuceConnectionFactory.createRedisConfiguration(uri), client.build());
+            connectionFactory.afterPropertiesSet();
+            return connectionFactory;
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "doit.redis.near-cache", name = "enabled", havingValue = "true")
+    public static class NearCacheConfiguration {
+
+        @Bean
+        public NearCacheInvalidator nearCacheInvalidator(DoItRedisProperties properties,
+                                                         RedisTemplate<String, Object> redisTemplate) {
+            DoItRedisProperties.NearCache config = properties.getNearCache();
+            NearCache nearCache = new NearCache(config.getMaximumSize(), config.getExpireSeconds());
+            return new NearCacheInvalidator(nearCache, redisTemplate, config.getChannel());
+        }
+
+        @Bean
+        public RedisMessageListenerContainer nearCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        NearCacheInvalidator nearCacheInvalidator,
+                                                                        DoItRedisProperties properties) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(nearCacheInvalidator, new ChannelTopic(properties.getNearCache().getChannel()));
+            return container;
+        }
+    }
+}
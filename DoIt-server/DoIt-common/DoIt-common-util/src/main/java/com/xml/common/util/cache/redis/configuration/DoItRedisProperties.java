@@ -0,0 +1,372 @@
+package com.xml.common.util.cache.redis.configuration;
+
+import com.xml.common.util.cache.redis.constants.RedisConstants;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Redis工具配置项
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "doit.redis")
+public class DoItRedisProperties {
+
+    public static final String BACKEND_REDIS = "redis";
+
+    public static final String BACKEND_MEMORY = "memory";
+
+    /**
+     * CacheUtil的实现：redis 为RedisUtil；memory 为进程内的MemoryCacheUtil，不访问Redis，适用于单节点部署及测试
+     */
+    private String backend = BACKEND_REDIS;
+
+    /**
+     * 进程内缓存，doit.redis.backend=memory 时生效
+     */
+    private Memory memory = new Memory();
+
+    /**
+     * 同一条错误日志的输出周期（秒），周期内重复的错误只计数，小于等于0时不限制
+     */
+    private long errorLogIntervalSeconds = RedisConstants.DEFAULT_ERROR_LOG_INTERVAL_SECONDS;
+
+    /**
+     * 一级缓存
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * 批量操作
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 值序列化
+     */
+    private Serializer serializer = new Serializer();
+
+    /**
+     * 操作指标
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 熔断器
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * 写后合并计数器
+     */
+    private Counter counter = new Counter();
+
+    /**
+     * 布隆过滤器：名称 -> 配置，位图保存在 doit:bloom:{名称} 中
+     */
+    private Map<String, BloomFilter> bloomFilters = new LinkedHashMap<>();
+
+    /**
+     * 热点键探测
+     */
+    private HotKey hotKey = new HotKey();
+
+    /**
+     * 客户端分片
+     */
+    private Sharding sharding = new Sharding();
+
+    /**
+     * 大键检查
+     */
+    private BigKey bigKey = new BigKey();
+
+    /**
+     * 分桶map
+     */
+    private HashBucket hashBucket = new HashBucket();
+
+    @Getter
+    @Setter
+    public static class NearCache {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最多缓存的键数量
+         */
+        private int maximumSize = 10000;
+
+        /**
+         * 写入后的有效时间（秒）
+         */
+        private long expireSeconds = 30;
+
+        /**
+         * 失效广播频道
+         */
+        private String channel = RedisConstants.NEAR_CACHE_CHANNEL;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * 每个pipeline最多包含的命令数，超出时自动拆分为多次提交
+         */
+        private int chunkSize = RedisConstants.DEFAULT_BATCH_CHUNK_SIZE;
+    }
+
+    @Getter
+    @Setter
+    public static class Serializer {
+
+        public static final String JDK = "jdk";
+
+        public static final String COMPACT = "compact";
+
+        /**
+         * 序列化方式：jdk 或 compact
+         */
+        private String type = JDK;
+
+        /**
+         * 压缩阈值（字节），小于等于0时不压缩
+         */
+        private int compressThreshold = RedisConstants.DEFAULT_COMPRESS_THRESHOLD;
+
+        /**
+         * 注册的类型：类的全限定名 -> id，各节点必须一致，id建议从100开始
+         */
+        private Map<String, Integer> registrations = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Metrics {
+
+        /**
+         * 是否启用，需存在MeterRegistry
+         */
+        private boolean enabled = true;
+
+        /**
+         * 键的分类分隔符，取第一个分隔符之前的部分作为prefix标签
+         */
+        private String keyPrefixDelimiter = ":";
+
+        /**
+         * prefix标签的最大取值数量，超出后归为other
+         */
+        private int maxPrefixes = 100;
+
+        /**
+         * 是否发布耗时直方图，每个operation和prefix组合会多出几十个桶，默认关闭
+         */
+        private boolean histogram = false;
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 连续失败多少次后打开
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * 打开后多久进入半开并放行一个探测请求（秒）
+         */
+        private long openSeconds = 10;
+
+        /**
+         * 打开期间getString、getMap是否从本地缓存读取最近读到的值
+         */
+        private boolean fallbackCacheEnabled = false;
+
+        /**
+         * 本地缓存最多缓存的键数量
+         */
+        private int fallbackCacheMaximumSize = 10000;
+
+        /**
+         * 本地缓存的有效时间（秒）
+         */
+        private long fallbackCacheExpireSeconds = 300;
+    }
+
+    @Getter
+    @Setter
+    public static class Counter {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 提交周期（毫秒），也是进程异常退出时最多丢失增量的时间范围；提交失败的增量在下一周期重试，可能重复计入
+         */
+        private long flushIntervalMillis = RedisConstants.DEFAULT_COUNTER_FLUSH_INTERVAL_MILLIS;
+
+        /**
+         * 待提交的键数量达到该值时立即提交
+         */
+        private int maxPendingKeys = RedisConstants.DEFAULT_COUNTER_MAX_PENDING_KEYS;
+
+        /**
+         * 本地最多缓存的键数量，Redis长时间不可用导致缓存已满时，新键的增量被丢弃
+         */
+        private int maxBufferedKeys = RedisConstants.DEFAULT_COUNTER_MAX_BUFFERED_KEYS;
+    }
+
+    @Getter
+    @Setter
+    public static class HotKey {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 采样率，每sampleRate次读取抽样一次
+         */
+        private int sampleRate = RedisConstants.DEFAULT_HOT_KEY_SAMPLE_RATE;
+
+        /**
+         * 统计周期（毫秒）
+         */
+        private long windowMillis = 1000;
+
+        /**
+         * 一个统计周期内读取多少次成为热点键
+         */
+        private long threshold = 1000;
+
+        /**
+         * 每个分段每个周期最多统计的键数量（分段数不超过16），也是热点键数量的上限
+         */
+        private int capacity = 64;
+
+        /**
+         * 热点键本地副本的有效时间（秒），也是其他节点写入后本节点读到旧值的最长时间
+         */
+        private long replicaSeconds = 2;
+    }
+
+    @Getter
+    @Setter
+    public static class Sharding {
+
+        /**
+         * 是否启用，启用后RedisUtil、AsyncRedisUtil、BufferedCounter按键路由到各节点；
+         * 布隆过滤器和通过 {@link com.xml.common.util.cache.redis.queue.RedisDelayQueue#RedisDelayQueue(
+         * com.xml.common.util.cache.redis.shard.ShardedRedisTemplates, String, long)} 创建的延时队列整体位于其键所在的节点；
+         * 一级缓存失效广播仍使用默认的Redis连接
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每个节点的虚拟节点数
+         */
+        private int virtualNodes = RedisConstants.DEFAULT_SHARD_VIRTUAL_NODES;
+
+        /**
+         * 节点名称 -> 节点地址，如 redis://:password@localhost:6380/0；名称决定键的分布，更换地址时保持名称不变
+         */
+        private Map<String, String> nodes = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class BloomFilter {
+
+        /**
+         * 预计插入数量
+         */
+        private long expectedInsertions = 1000000;
+
+        /**
+         * 期望的误判率
+         */
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Getter
+    @Setter
+    public static class BigKey {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 集合（map、set、list）最多的项数，小于等于0时不检查
+         */
+        private long maxEntries = RedisConstants.DEFAULT_BIG_KEY_MAX_ENTRIES;
+
+        /**
+         * str值序列化后最多的字节数，小于等于0时不检查
+         */
+        private long maxBytes = RedisConstants.DEFAULT_BIG_KEY_MAX_BYTES;
+
+        /**
+         * 采样率，每sampleRate次写入抽查一次实际大小
+         */
+        private int sampleRate = RedisConstants.DEFAULT_BIG_KEY_SAMPLE_RATE;
+
+        /**
+         * 单次写入的项数超出上限时是否拒绝写入，否则只告警
+         */
+        private boolean reject = false;
+    }
+
+    @Getter
+    @Setter
+    public static class HashBucket {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 键前缀 -> 桶数，匹配的map通过RedisUtil读写时拆分到多个物理hash中；桶数确定后不能修改
+         */
+        private Map<String, Integer> maps = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Memory {
+
+        /**
+         * 时间轮刻度（毫秒），过期的键最多延迟一个刻度被清理，读取时不会读到过期的键
+         */
+        private long tickMillis = RedisConstants.DEFAULT_MEMORY_TICK_MILLIS;
+
+        /**
+         * 时间轮槽数
+         */
+        private int wheelSize = RedisConstants.DEFAULT_MEMORY_WHEEL_SIZE;
+    }
+}
@@ -18,5 +18,122 @@ public class RedisConstants {
 
     public static final String REDIS_EXPIRE_ERROR = "Redis expire error";
 
+    public static final String REDIS_PUBLISH_ERROR = "Redis publish error";
+
+    public static final String REDIS_SCRIPT_LOAD_ERROR = "Redis script load error";
+
+    public static final String REDIS_LOAD_ERROR = "Redis load error";
+
+    public static final String REDIS_COUNTER_FLUSH_ERROR = "Redis counter flush error";
+
+    public static final String REDIS_COUNTER_DROPPED_ERROR = "Redis counter buffer full, delta dropped";
+
+    public static final String REDIS_BLOOM_FILTER_ERROR = "Redis bloom filter error";
+
+    /**
+     * 配置的布隆过滤器位图键的前缀
+     */
+    public static final String BLOOM_FILTER_KEY_PREFIX = "doit:bloom:";
+
+    /**
+     * getOrLoad跨节点加载锁的后缀
+     */
+    public static final String LOAD_LOCK_SUFFIX = ":load-lock";
+
+    /**
+     * 延时队列键的前缀，队列名使用{}包裹，同一个队列的键在集群中位于同一个槽
+     */
+    public static final String DELAY_QUEUE_KEY_PREFIX = "doit:delay:";
+
+    /**
+     * 标签索引键的前缀
+     */
+    public static final String TAG_KEY_PREFIX = "doit:tag:";
+
+    /**
+     * 关联标签时，每多少次写入抽查一次标签索引
+     */
+    public static final int TAG_PRUNE_SAMPLE_RATE = 16;
+
+    /**
+     * 每次抽查标签索引中键的数量
+     */
+    public static final int TAG_PRUNE_SAMPLE_SIZE = 20;
+
+    /**
+     * 批量操作时每个pipeline默认最多包含的命令数
+     */
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 500;
+
+    /**
+     * 写后合并计数器默认的提交周期（毫秒）
+     */
+    public static final long DEFAULT_COUNTER_FLUSH_INTERVAL_MILLIS = 1000;
+
+    /**
+     * 写后合并计数器默认的待提交键数量上限
+     */
+    public static final int DEFAULT_COUNTER_MAX_PENDING_KEYS = 10000;
+
+    /**
+     * 写后合并计数器默认最多缓存的键数量
+     */
+    public static final int DEFAULT_COUNTER_MAX_BUFFERED_KEYS = 100000;
+
+    /**
+     * 热点键探测默认的采样率
+     */
+    public static final int DEFAULT_HOT_KEY_SAMPLE_RATE = 10;
+
+    /**
+     * 客户端分片时每个节点默认的虚拟节点数
+     */
+    public static final int DEFAULT_SHARD_VIRTUAL_NODES = 160;
+
+    /**
+     * 集合默认的最大项数
+     */
+    public static final long DEFAULT_BIG_KEY_MAX_ENTRIES = 5000;
+
+    /**
+     * str值序列化后默认的最大字节数
+     */
+    public static final long DEFAULT_BIG_KEY_MAX_BYTES = 10 * 1024;
+
+    /**
+     * 大键检查默认的采样率
+     */
+    public static final int DEFAULT_BIG_KEY_SAMPLE_RATE = 100;
+
+    /**
+     * 进程内缓存时间轮默认的刻度（毫秒）
+     */
+    public static final long DEFAULT_MEMORY_TICK_MILLIS = 100;
+
+    /**
+     * 进程内缓存时间轮默认的槽数
+     */
+    public static final int DEFAULT_MEMORY_WHEEL_SIZE = 512;
+
+    /**
+     * 同一条错误日志默认的输出周期（秒）
+     */
+    public static final long DEFAULT_ERROR_LOG_INTERVAL_SECONDS = 10;
+
+    /**
+     * 分批遍历时每批默认读取的数量
+     */
+    public static final int DEFAULT_SCAN_COUNT = 100;
+
+    /**
+     * 紧凑序列化默认的压缩阈值（字节）
+     */
+    public static final int DEFAULT_COMPRESS_THRESHOLD = 1024;
+
+    /**
+     * 一级缓存失效广播的默认频道
+     */
+    public static final String NEAR_CACHE_CHANNEL = "doit:near-cache:invalidate";
+
 
 }
@@ -0,0 +1,427 @@
+package com.xml.common.util.cache.redis.counter;
+
+import com.xml.common.util.cache.redis.bigkey.HashBuckets;
+import com.xml.common.util.cache.redis.breaker.ErrorLogLimiter;
+import com.xml.common.util.cache.redis.constants.RedisConstants;
+import com.xml.common.util.cache.redis.exception.DoItRedisException;
+import com.xml.common.util.cache.redis.exception.RedisExceptionCode;
+import com.xml.common.util.cache.redis.metrics.RedisMetrics;
+import com.xml.common.util.cache.redis.near.NearCacheInvalidator;
+import com.xml.common.util.cache.redis.shard.ShardedRedisTemplates;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 写后合并的计数器<br/>
+ * 适用于浏览数、完成数等高频且允许短暂延迟的计数
+ * <li>增量先累加到本地的LongAdder中，同一个键的多次增量合并为一条INCRBY/HINCRBY</li>
+ * <li>按固定周期或待提交的键数量达到上限时，通过pipeline分批提交</li>
+ * <li>与 {@link com.xml.common.util.cache.redis.RedisUtil} 相同，经过分桶和分片路由写入实际的键，两者读写的数据互通</li>
+ * <li>提交失败的增量放回本地，下次重试；语义为至少一次：pipeline超时等命令可能已经发出的失败同样会重试，
+ * 这部分增量可能被重复计入，不适用于余额、库存等要求精确的计数</li>
+ * <li>本地最多缓存maxBufferedKeys个键，Redis长时间不可用导致缓存已满时，已缓存键的增量继续合并，
+ * 新键的增量直接丢弃，记录日志和doit.redis.counter.dropped指标</li>
+ * <li>容器关闭时提交剩余的增量，Redis仍不可用时丢弃；最多丢失的数据为：缓存满后新键的增量，
+ * 加上进程退出时本地未提交的最多maxBufferedKeys个键的增量（正常情况下为一个周期内的增量）</li>
+ * <li>Redis中的值在提交前不包含本地未提交的增量</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Slf4j
+public class BufferedCounter implements DisposableBean {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final long flushIntervalMillis;
+
+    private final int maxPendingKeys;
+
+    private final int maxBufferedKeys;
+
+    private final int batchChunkSize;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final Object flushLock = new Object();
+
+    @Autowired(required = false)
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    /**
+     * 分片节点，未启用时为null
+     */
+    @Autowired(required = false)
+    private ShardedRedisTemplates shardedRedisTemplates;
+
+    /**
+     * 分桶map，未启用时为null
+     */
+    @Autowired(required = false)
+    private HashBuckets hashBuckets;
+
+    /**
+     * 指标，未启用时为null
+     */
+    @Autowired(required = false)
+    private RedisMetrics redisMetrics;
+
+    /**
+     * 缓存已满时丢弃的增量次数
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    private ErrorLogLimiter errorLogLimiter = new ErrorLogLimiter(RedisConstants.DEFAULT_ERROR_LOG_INTERVAL_SECONDS);
+
+    /**
+     * 当前累加的增量
+     */
+    private volatile ConcurrentHashMap<CounterKey, LongAdder> cells = new ConcurrentHashMap<>();
+
+    /**
+     * 上一周期替换下来的增量，在下一次提交时再读取一次，以收集替换时仍在写入的增量
+     */
+    private volatile ConcurrentHashMap<CounterKey, LongAdder> retired = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    /**
+     * @param redisTemplate       redisTemplate
+     * @param flushIntervalMillis 提交周期（毫秒），也是进程异常退出时最多丢失增量的时间范围；
+     *                            提交失败时增量在下一周期重试，可能重复计入（至少一次）
+     * @param maxPendingKeys      待提交的键数量达到该值时立即提交
+     * @param batchChunkSize      每个pipeline最多包含的命令数
+     */
+    public BufferedCounter(RedisTemplate<String, Object> redisTemplate, long flushIntervalMillis,
+                           int maxPendingKeys, int batchChunkSize) {
+        this(redisTemplate, flushIntervalMillis, maxPendingKeys,
+                Math.max(maxPendingKeys, RedisConstants.DEFAULT_COUNTER_MAX_BUFFERED_KEYS), batchChunkSize);
+    }
+
+    /**
+     * @param redisTemplate       redisTemplate
+     * @param flushIntervalMillis 提交周期（毫秒），也是进程异常退出时最多丢失增量的时间范围；
+     *                            提交失败时增量在下一周期重试，可能重复计入（至少一次）
+     * @param maxPendingKeys      待提交的键数量达到该值时立即提交
+     * @param maxBufferedKeys     本地最多缓存的键数量，达到后新键的增量被丢弃，不能小于maxPendingKeys
+     * @param batchChunkSize      每个pipeline最多包含的命令数
+     */
+    public BufferedCounter(RedisTemplate<String, Object> redisTemplate, long flushIntervalMillis,
+                           int maxPendingKeys, int maxBufferedKeys, int batchChunkSize) {
+        if (flushIntervalMillis <= 0 || maxPendingKeys <= 0 || batchChunkSize <= 0) {
+            throw new IllegalArgumentException("flushIntervalMillis, maxPendingKeys and batchChunkSize must be greater than 0");
+        }
+        if (maxBufferedKeys < maxPendingKeys) {
+            throw new IllegalArgumentException("maxBufferedKeys must not be less than maxPendingKeys");
+        }
+        this.redisTemplate = redisTemplate;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPendingKeys = maxPendingKeys;
+        this.maxBufferedKeys = maxBufferedKeys;
+        this.batchChunkSize = batchChunkSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "doit-redis-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void setErrorLogLimiter(ErrorLogLimiter errorLogLimiter) {
+        this.errorLogLimiter = errorLogLimiter;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    /**
+     * 递增
+     *
+     * @param key   键
+     * @param delta 递增因数
+     */
+    public void incrementString(String key, long delta) {
+        if (delta <= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.INCREMENT_DELTA);
+        }
+        this.add(new CounterKey(key, null), delta);
+    }
+
+    /**
+     * 递减
+     *
+     * @param key   键
+     * @param delta 递减因数，与 {@link com.xml.common.util.cache.redis.RedisUtil#decrementString(String, long)} 一致需传入负数
+     */
+    public void decrementString(String key, long delta) {
+        if (delta >= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.DECREMENT_DELTA);
+        }
+        this.add(new CounterKey(key, null), delta);
+    }
+
+    /**
+     * 递增
+     *
+     * @param key   键
+     * @param hash  项
+     * @param delta 递增因数
+     */
+    public void incrementMap(String key, String hash, long delta) {
+        if (delta <= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.INCREMENT_DELTA);
+        }
+        this.add(new CounterKey(key, Objects.requireNonNull(hash, "hash")), delta);
+    }
+
+    /**
+     * 递减
+     *
+     * @param key   键
+     * @param hash  项
+     * @param delta 递减因数，需传入负数
+     */
+    public void decrementMap(String key, String hash, long delta) {
+        if (delta >= 0) {
+            throw DoItRedisException.of(RedisExceptionCode.DECREMENT_DELTA);
+        }
+        this.add(new CounterKey(key, Objects.requireNonNull(hash, "hash")), delta);
+    }
+
+    /**
+     * 本地尚未提交的增量
+     *
+     * @param key  键
+     * @param hash 项，str计数时为null
+     * @return 增量
+     */
+    public long getPending(String key, String hash) {
+        CounterKey counterKey = new CounterKey(key, hash);
+        long pending = 0;
+        LongAdder adder = cells.get(counterKey);
+        if (adder != null) {
+            pending += adder.sum();
+        }
+        adder = retired.get(counterKey);
+        if (adder != null) {
+            pending += adder.sum();
+        }
+        return pending;
+    }
+
+    /**
+     * 本地尚未提交的键数量
+     *
+     * @return 数量
+     */
+    public int getPendingSize() {
+        return cells.size();
+    }
+
+    /**
+     * 本地缓存已满时丢弃的增量次数
+     *
+     * @return 次数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 立即提交本地累加的增量
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            ConcurrentHashMap<CounterKey, LongAdder> previous = retired;
+            ConcurrentHashMap<CounterKey, LongAdder> current = cells;
+            cells = new ConcurrentHashMap<>();
+            retired = current;
+            Map<CounterKey, Long> deltas = new LinkedHashMap<>();
+            drain(previous, deltas);
+            drain(current, deltas);
+            if (deltas.isEmpty()) {
+                return;
+            }
+            List<Map.Entry<CounterKey, Long>> entries = new ArrayList<>(deltas.entrySet());
+            for (int i = 0; i < entries.size(); i += batchChunkSize) {
+                List<Map.Entry<CounterKey, Long>> chunk = entries.subList(i, Math.min(i + batchChunkSize, entries.size()));
+                try {
+                    this.write(chunk);
+                } catch (Exception e) {
+                    // 无法区分命令是否已经发出，整块放回重试，可能重复计入
+                    errorLogLimiter.error(log, RedisConstants.REDIS_COUNTER_FLUSH_ERROR, e);
+                    for (Map.Entry<CounterKey, Long> entry : entries.subList(i, entries.size())) {
+                        this.accumulate(entry.getKey(), entry.getValue());
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 停止定时提交并提交剩余的增量，之后的增量直接写入Redis
+     */
+    @Override
+    public void destroy() {
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.flush();
+        this.flush();
+        if (!cells.isEmpty()) {
+            log.error(RedisConstants.REDIS_COUNTER_FLUSH_ERROR + ", {} pending counters dropped on shutdown", cells.size());
+        }
+    }
+
+    private void add(CounterKey key, long delta) {
+        if (closed) {
+            this.write(Collections.singletonList(new AbstractMap.SimpleImmutableEntry<>(key, delta)));
+            return;
+        }
+        this.accumulate(key, delta);
+    }
+
+    private void accumulate(CounterKey key, long delta) {
+        ConcurrentHashMap<CounterKey, LongAdder> current = cells;
+        LongAdder adder = current.get(key);
+        if (adder == null) {
+            if (current.size() >= maxBufferedKeys) {
+                // Redis长时间不可用时限制内存占用，并发写入时最多超出写入线程数个键
+                this.drop();
+                return;
+            }
+            adder = current.computeIfAbsent(key, k -> new LongAdder());
+            if (!closed && current.size() >= maxPendingKeys && flushRequested.compareAndSet(false, true)) {
+                scheduler.execute(this::flushQuietly);
+            }
+        }
+        adder.add(delta);
+    }
+
+    private void drop() {
+        dropped.increment();
+        errorLogLimiter.error(log, RedisConstants.REDIS_COUNTER_DROPPED_ERROR, null);
+        if (redisMetrics != null) {
+            redisMetrics.recordCounterDropped();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (Exception e) {
+            errorLogLimiter.error(log, RedisConstants.REDIS_COUNTER_FLUSH_ERROR, e);
+        }
+    }
+
+    private static void drain(Map<CounterKey, LongAdder> source, Map<CounterKey, Long> target) {
+        for (Map.Entry<CounterKey, LongAdder> entry : source.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                target.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+    }
+
+    private void write(List<Map.Entry<CounterKey, Long>> chunk) {
+        if (shardedRedisTemplates == null) {
+            this.write(redisTemplate, chunk);
+        } else {
+            shardedRedisTemplates.group(chunk, entry -> this.physicalKey(entry.getKey())).forEach(this::write);
+        }
+        if (nearCacheInvalidator != null) {
+            nearCacheInvalidator.invalidate(chunk.stream().map(entry -> entry.getKey().key).distinct().toArray(String[]::new));
+        }
+    }
+
+    private void write(RedisTemplate<String, Object> template, List<Map.Entry<CounterKey, Long>> chunk) {
+        template.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (Map.Entry<CounterKey, Long> entry : chunk) {
+                    CounterKey key = entry.getKey();
+                    if (key.hash == null) {
+                        ops.opsForValue().increment(key.key, entry.getValue());
+                    } else {
+                        ops.opsForHash().increment(physicalKey(key), key.hash, entry.getValue());
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 实际写入的键，与 {@link com.xml.common.util.cache.redis.RedisUtil} 一样按项分桶
+     *
+     * @param key 计数项
+     * @return 键
+     */
+    private String physicalKey(CounterKey key) {
+        return key.hash == null || hashBuckets == null ? key.key : hashBuckets.bucketKey(key.key, key.hash);
+    }
+
+    /**
+     * 计数项
+     */
+    private static final class CounterKey {
+
+        private final String key;
+
+        private final String hash;
+
+        private final int hashCode;
+
+        private CounterKey(String key, String hash) {
+            this.key = Objects.requireNonNull(key, "key");
+            this.hash = hash;
+            this.hashCode = 31 * key.hashCode() + (hash == null ? 0 : hash.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterKey)) {
+                return false;
+            }
+            CounterKey that = (CounterKey) o;
+            return key.equals(that.key) && Objects.equals(hash, that.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.xml.common.util.cache.redis.cursor;
+
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 分批读取list的迭代器<br/>
+ * 每次通过LRANGE读取batchSize个元素，内存占用与list长度无关。
+ * 读取期间list被修改时，结果可能重复或遗漏元素
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class ListRangeIterator implements Iterator<Object> {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final String key;
+
+    private final int batchSize;
+
+    private long offset;
+
+    private Iterator<Object> batch = Collections.emptyIterator();
+
+    private boolean exhausted;
+
+    public ListRangeIterator(RedisTemplate<String, Object> redisTemplate, String key, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        this.redisTemplate = redisTemplate;
+        this.key = key;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!batch.hasNext() && !exhausted) {
+            List<Object> values = redisTemplate.opsForList().range(key, offset, offset + batchSize - 1);
+            if (values == null || values.size() < batchSize) {
+                exhausted = true;
+            }
+            if (values != null) {
+                offset += values.size();
+                batch = values.iterator();
+            }
+        }
+        return batch.hasNext();
+    }
+
+    @Override
+    public Object next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return batch.next();
+    }
+}
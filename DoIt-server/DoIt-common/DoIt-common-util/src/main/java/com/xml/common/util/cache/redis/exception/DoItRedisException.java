@@ -1,6 +1,7 @@
 package com.xml.common.util.cache.redis.exception;
 
 import com.xml.doit.common.core.api.ServiceResult;
+import com.xml.doit.common.core.exception.CachedExceptions;
 import com.xml.doit.common.core.exception.DoItException;
 
 /**
@@ -10,6 +11,13 @@ import com.xml.doit.common.core.exception.DoItException;
  * @since 1.0.0
  */
 public class DoItRedisException extends DoItException {
+
+    /**
+     * 每个异常枚举预先创建的无调用栈实例
+     */
+    private static final CachedExceptions<RedisExceptionCode, DoItRedisException> CACHED =
+            new CachedExceptions<>(RedisExceptionCode.class, code -> new DoItRedisException(code, false));
+
     public DoItRedisException(ServiceResult serviceResult) {
         super(serviceResult);
     }
@@ -17,4 +25,29 @@ public class DoItRedisException extends DoItException {
     public DoItRedisException(int code, String msg) {
         super(code, msg);
     }
+
+    protected DoItRedisException(ServiceResult serviceResult, boolean writableStackTrace) {
+        super(serviceResult, writableStackTrace);
+    }
+
+    /**
+     * 获取预先创建的无调用栈异常，用于参数校验等预期内的异常
+     *
+     * @param code 异常枚举
+     * @return 共享的实例，不能修改
+     */
+    public static DoItRedisException of(RedisExceptionCode code) {
+        return CACHED.get(code);
+    }
+
+    /**
+     * 创建无调用栈的异常
+     *
+     * @param code 响应代码
+     * @param msg  响应信息
+     * @return 异常
+     */
+    public static DoItRedisException stackless(int code, String msg) {
+        return new DoItRedisException(new SimpleServiceResult(code, msg), false);
+    }
 }
@@ -9,7 +9,9 @@ import com.xml.doit.common.core.api.ServiceResult;
  * @since 1.0.0
  */
 public enum RedisExceptionCode implements ServiceResult {
-    SYSTEM_501(501, "参数异常");
+    SYSTEM_501(501, "参数异常"),
+    INCREMENT_DELTA(501, "递增因子必须大于0"),
+    DECREMENT_DELTA(501, "递减因子必须小于0");
 
     private int code;
     private String message;
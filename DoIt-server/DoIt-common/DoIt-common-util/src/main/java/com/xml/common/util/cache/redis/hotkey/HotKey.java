@@ -0,0 +1,30 @@
+package com.xml.common.util.cache.redis.hotkey;
+
+import lombok.Getter;
+
+/**
+ * 热点键快照
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+public class HotKey {
+
+    private final String key;
+
+    /**
+     * 最近一个统计周期内估算的读取次数，已按采样率换算
+     */
+    private final long estimatedCount;
+
+    public HotKey(String key, long estimatedCount) {
+        this.key = key;
+        this.estimatedCount = estimatedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "HotKey{key=" + key + ", estimatedCount=" + estimatedCount + "}";
+    }
+}
@@ -0,0 +1,259 @@
+package com.xml.common.util.cache.redis.hotkey;
+
+import com.xml.common.util.cache.redis.near.NearCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 热点键探测<br/>
+ * <li>按采样率抽样记录读取的键，每个统计周期使用Space-Saving算法保留读取次数最多的若干个键</li>
+ * <li>抽样按线程分散到多个分段中统计，分段之间不共享锁，分段正在被其他线程使用时换一个分段，都在使用时放弃本次抽样</li>
+ * <li>周期结束时合并各分段，估算读取次数达到阈值的键成为下一个周期的热点键</li>
+ * <li>热点键的值在本地保留一个短时间的副本，写入时清理本节点的副本，其他节点的副本在有效时间后过期</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class HotKeyDetector {
+
+    /**
+     * 分段数量的上限
+     */
+    private static final int MAX_STRIPES = 16;
+
+    private final int sampleRate;
+
+    private final long windowMillis;
+
+    private final long threshold;
+
+    private final int capacity;
+
+    private final NearCache replicas;
+
+    private final int stripeMask;
+
+    /**
+     * 同一时间只有一个线程计算热点键
+     */
+    private final AtomicBoolean rotating = new AtomicBoolean();
+
+    /**
+     * 当前周期各分段的统计，周期结束时整体替换
+     */
+    private volatile Sketch[] sketches;
+
+    private volatile long windowEnd;
+
+    /**
+     * 上一个周期的热点键，按读取次数降序
+     */
+    private volatile Map<String, HotKey> hotKeys = Collections.emptyMap();
+
+    /**
+     * @param sampleRate     采样率，每sampleRate次读取抽样一次
+     * @param windowMillis   统计周期（毫秒）
+     * @param threshold      一个周期内读取多少次成为热点键
+     * @param capacity       每个分段每个周期最多统计的键数量，也是热点键数量的上限
+     * @param replicaSeconds 本地副本的有效时间（秒）
+     */
+    public HotKeyDetector(int sampleRate, long windowMillis, long threshold, int capacity, long replicaSeconds) {
+        if (sampleRate <= 0 || windowMillis <= 0 || threshold <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("sampleRate, windowMillis, threshold and capacity must be greater than 0");
+        }
+        this.sampleRate = sampleRate;
+        this.windowMillis = windowMillis;
+        this.threshold = threshold;
+        this.capacity = capacity;
+        this.replicas = new NearCache(capacity, replicaSeconds);
+        int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2));
+        this.stripeMask = stripes - 1;
+        this.sketches = this.newSketches();
+        this.windowEnd = System.currentTimeMillis() + windowMillis;
+    }
+
+    /**
+     * 记录一次读取
+     *
+     * @param key 键
+     * @return 是否为热点键
+     */
+    public boolean record(String key) {
+        if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            this.rotate(System.currentTimeMillis());
+            Sketch[] current = sketches;
+            int start = (int) Thread.currentThread().getId();
+            for (int i = 0; i <= stripeMask; i++) {
+                Sketch sketch = current[(start + i) & stripeMask];
+                if (sketch.busy.compareAndSet(false, true)) {
+                    try {
+                        sketch.offer(key);
+                    } finally {
+                        sketch.busy.set(false);
+                    }
+                    break;
+                }
+            }
+        }
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 是否为热点键
+     *
+     * @param key 键
+     * @return 结果
+     */
+    public boolean isHot(String key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 当前的热点键，按读取次数降序
+     *
+     * @return 热点键
+     */
+    public List<HotKey> getHotKeys() {
+        this.rotate(System.currentTimeMillis());
+        return new ArrayList<>(hotKeys.values());
+    }
+
+    /**
+     * 热点键的本地副本
+     *
+     * @return 缓存
+     */
+    public NearCache getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 周期结束时合并各分段并计算热点键；超过一个周期没有抽样时热点键清空
+     */
+    private void rotate(long now) {
+        if (now < windowEnd || !rotating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long end = windowEnd;
+            if (now < end) {
+                return;
+            }
+            Sketch[] previous = sketches;
+            sketches = this.newSketches();
+            windowEnd = now + windowMillis;
+            boolean idle = now >= end + windowMillis;
+            Map<String, HotKey> next = idle ? Collections.emptyMap() : this.merge(previous);
+            for (String key : hotKeys.keySet()) {
+                if (!next.containsKey(key)) {
+                    replicas.invalidate(key);
+                }
+            }
+            hotKeys = Collections.unmodifiableMap(next);
+        } finally {
+            rotating.set(false);
+        }
+    }
+
+    /**
+     * 合并各分段的统计：同一个键在各分段的计数与误差分别相加，计数减误差仍是读取次数的下界
+     */
+    private Map<String, HotKey> merge(Sketch[] previous) {
+        Map<String, Counter> merged = new HashMap<>(capacity * 2);
+        for (Sketch sketch : previous) {
+            // 等待仍在写入旧分段的线程完成
+            while (!sketch.busy.compareAndSet(false, true)) {
+                Thread.yield();
+            }
+            for (Map.Entry<String, Counter> entry : sketch.counters.entrySet()) {
+                Counter counter = entry.getValue();
+                merged.merge(entry.getKey(), new Counter(counter.count, counter.error),
+                        (a, b) -> new Counter(a.count + b.count, a.error + b.error));
+            }
+        }
+        List<HotKey> candidates = new ArrayList<>();
+        for (Map.Entry<String, Counter> entry : merged.entrySet()) {
+            // 使用下界估算，避免被挤出后重新进入的键误判为热点键
+            long estimated = (entry.getValue().count - entry.getValue().error) * sampleRate;
+            if (estimated >= threshold) {
+                candidates.add(new HotKey(entry.getKey(), estimated));
+            }
+        }
+        candidates.sort(Comparator.comparingLong(HotKey::getEstimatedCount).reversed());
+        Map<String, HotKey> next = new LinkedHashMap<>();
+        for (HotKey hotKey : candidates.subList(0, Math.min(capacity, candidates.size()))) {
+            next.put(hotKey.getKey(), hotKey);
+        }
+        return next;
+    }
+
+    private Sketch[] newSketches() {
+        Sketch[] next = new Sketch[stripeMask + 1];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = new Sketch(capacity);
+        }
+        return next;
+    }
+
+    /**
+     * 一个分段的统计，由busy标记保证同一时间只有一个线程访问
+     */
+    private static final class Sketch {
+
+        private final AtomicBoolean busy = new AtomicBoolean();
+
+        private final int capacity;
+
+        private final Map<String, Counter> counters;
+
+        private Sketch(int capacity) {
+            this.capacity = capacity;
+            this.counters = new HashMap<>(capacity * 2);
+        }
+
+        /**
+         * Space-Saving：已满时替换计数最小的键，新键继承其计数作为误差
+         */
+        private void offer(String key) {
+            Counter counter = counters.get(key);
+            if (counter != null) {
+                counter.count++;
+                return;
+            }
+            if (counters.size() < capacity) {
+                counters.put(key, new Counter(1, 0));
+                return;
+            }
+            String minKey = null;
+            long minCount = Long.MAX_VALUE;
+            for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+                if (entry.getValue().count < minCount) {
+                    minCount = entry.getValue().count;
+                    minKey = entry.getKey();
+                }
+            }
+            counters.remove(minKey);
+            counters.put(key, new Counter(minCount + 1, minCount));
+        }
+    }
+
+    private static final class Counter {
+
+        private long count;
+
+        private final long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
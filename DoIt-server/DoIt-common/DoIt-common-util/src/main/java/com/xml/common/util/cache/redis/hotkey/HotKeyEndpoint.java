@@ -0,0 +1,27 @@
+package com.xml.common.util.cache.redis.hotkey;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * 查看当前的热点键：/actuator/redishotkeys
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Endpoint(id = "redishotkeys")
+public class HotKeyEndpoint {
+
+    private final HotKeyDetector hotKeyDetector;
+
+    public HotKeyEndpoint(HotKeyDetector hotKeyDetector) {
+        this.hotKeyDetector = hotKeyDetector;
+    }
+
+    @ReadOperation
+    public List<HotKey> hotKeys() {
+        return hotKeyDetector.getHotKeys();
+    }
+}
@@ -0,0 +1,68 @@
+package com.xml.common.util.cache.redis.loader;
+
+import com.xml.common.util.cache.redis.bloom.RedisBloomFilter;
+import lombok.Getter;
+
+/**
+ * getOrLoad的可选配置
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+public class CacheLoadOptions {
+
+    /**
+     * 数据不存在时缓存空值的时间（秒），小于等于0时不缓存空值
+     */
+    private long nullTime = 0;
+
+    /**
+     * 跨节点加载锁的持有时间（毫秒），小于等于0时只在本JVM内合并加载
+     */
+    private long lockMillis = 0;
+
+    /**
+     * 未获取到加载锁时，轮询缓存的间隔（毫秒）
+     */
+    private long lockPollMillis = 50;
+
+    /**
+     * 提前刷新系数，大于1时更积极，小于等于0时不提前刷新
+     */
+    private double beta = 1.0;
+
+    /**
+     * 布隆过滤器，其中保存的是缓存的键；判断为不存在的键直接返回null，不读取缓存也不调用loader
+     */
+    private RedisBloomFilter bloomFilter;
+
+    public static CacheLoadOptions defaults() {
+        return new CacheLoadOptions();
+    }
+
+    public CacheLoadOptions setNullTime(long nullTime) {
+        this.nullTime = nullTime;
+        return this;
+    }
+
+    public CacheLoadOptions setLockMillis(long lockMillis) {
+        this.lockMillis = lockMillis;
+        return this;
+    }
+
+    public CacheLoadOptions setLockPollMillis(long lockPollMillis) {
+        this.lockPollMillis = lockPollMillis;
+        return this;
+    }
+
+    public CacheLoadOptions setBeta(double beta) {
+        this.beta = beta;
+        return this;
+    }
+
+    public CacheLoadOptions setBloomFilter(RedisBloomFilter bloomFilter) {
+        this.bloomFilter = bloomFilter;
+        return this;
+    }
+}
@@ -0,0 +1,57 @@
+package com.xml.common.util.cache.redis.loader;
+
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * getOrLoad写入Redis的值<br/>
+ * 除了值本身，还记录了加载耗时和过期时间，用于提前刷新；值为null时表示数据不存在（负缓存）
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+public class CachedValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 值，为null时表示数据不存在
+     */
+    private Object value;
+
+    /**
+     * 加载耗时（毫秒）
+     */
+    private long loadMillis;
+
+    /**
+     * 过期时间戳（毫秒）
+     */
+    private long expireAt;
+
+    public CachedValue() {
+    }
+
+    public CachedValue(Object value, long loadMillis, long expireAt) {
+        this.value = value;
+        this.loadMillis = loadMillis;
+        this.expireAt = expireAt;
+    }
+
+    /**
+     * 按XFetch算法判断是否需要提前刷新：越接近过期、加载越慢，越可能提前刷新
+     *
+     * @param beta 提前刷新系数，小于等于0时不提前刷新
+     * @return 是否需要刷新
+     */
+    public boolean shouldRefreshEarly(double beta) {
+        if (beta <= 0 || expireAt == Long.MAX_VALUE) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return System.currentTimeMillis() - loadMillis * beta * Math.log(random) >= expireAt;
+    }
+}
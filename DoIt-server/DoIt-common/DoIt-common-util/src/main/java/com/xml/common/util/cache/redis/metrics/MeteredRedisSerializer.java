@@ -0,0 +1,53 @@
+package com.xml.common.util.cache.redis.metrics;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 记录序列化后数据大小的序列化器
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class MeteredRedisSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> delegate;
+
+    private final RedisMetrics metrics;
+
+    public MeteredRedisSerializer(RedisSerializer<Object> delegate, RedisMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    public RedisSerializer<Object> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            metrics.recordPayload(RedisMetrics.DIRECTION_WRITE, bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null) {
+            metrics.recordPayload(RedisMetrics.DIRECTION_READ, bytes.length);
+        }
+        return delegate.deserialize(bytes);
+    }
+
+    @Override
+    public boolean canSerialize(Class<?> type) {
+        return delegate.canSerialize(type);
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+}
@@ -0,0 +1,33 @@
+package com.xml.common.util.cache.redis.metrics;
+
+/**
+ * 从键中提取用于指标标签的前缀（键的分类）<br/>
+ * 返回值会作为标签值，需保证取值有限
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface RedisKeyPrefixExtractor {
+
+    /**
+     * 提取前缀
+     *
+     * @param key 键
+     * @return 前缀
+     */
+    String extract(String key);
+
+    /**
+     * 取第一个分隔符之前的部分，没有分隔符时返回 {@link RedisMetrics#NONE}
+     *
+     * @param delimiter 分隔符
+     * @return 提取器
+     */
+    static RedisKeyPrefixExtractor delimiter(String delimiter) {
+        return key -> {
+            int index = key.indexOf(delimiter);
+            return index > 0 ? key.substring(0, index) : RedisMetrics.NONE;
+        };
+    }
+}
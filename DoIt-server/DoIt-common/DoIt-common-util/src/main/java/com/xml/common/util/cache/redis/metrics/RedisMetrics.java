@@ -0,0 +1,337 @@
+package com.xml.common.util.cache.redis.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Redis操作指标<br/>
+ * <li>doit.redis.operation：耗时及调用次数，开启histogram时同时发布直方图</li>
+ * <li>doit.redis.errors：失败次数，包括RedisUtil内部捕获并记录日志的异常</li>
+ * <li>doit.redis.payload：序列化后的数据大小（字节）</li>
+ * 标签为operation（方法名）和prefix（键的分类），Meter按标签缓存，记录时不需要重新注册<br/>
+ * MeterRegistry在第一次记录时获取，不依赖配置类与指标自动配置的先后顺序；获取不到时本次不记录，之后再次尝试
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class RedisMetrics {
+
+    public static final String NONE = "none";
+
+    public static final String OTHER = "other";
+
+    public static final String DIRECTION_WRITE = "write";
+
+    public static final String DIRECTION_READ = "read";
+
+    private static final long REGISTRY_LOOKUP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
+    private final Supplier<MeterRegistry> registrySupplier;
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * 获取不到MeterRegistry时，下一次尝试获取的时间，避免每次记录都查找bean
+     */
+    private volatile long nextLookupNanos;
+
+    /**
+     * 尚未获取到MeterRegistry时使用，不包含任何注册中心，记录的数据直接丢弃
+     */
+    private final Meters noopMeters;
+
+    private final RedisKeyPrefixExtractor prefixExtractor;
+
+    private final int maxPrefixes;
+
+    private final boolean histogram;
+
+    private final Map<String, Boolean> prefixes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger prefixCount = new AtomicInteger();
+
+    private final Map<String, Map<String, Meters>> meters = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry        指标注册中心
+     * @param prefixExtractor 前缀提取器
+     * @param maxPrefixes     前缀的最大数量，超出后归为 {@link #OTHER}
+     * @param histogram       是否发布耗时直方图
+     */
+    public RedisMetrics(MeterRegistry registry, RedisKeyPrefixExtractor prefixExtractor, int maxPrefixes, boolean histogram) {
+        this(() -> registry, prefixExtractor, maxPrefixes, histogram);
+    }
+
+    /**
+     * @param registrySupplier 指标注册中心，返回null表示暂不可用
+     * @param prefixExtractor  前缀提取器
+     * @param maxPrefixes      前缀的最大数量，超出后归为 {@link #OTHER}
+     * @param histogram        是否发布耗时直方图
+     */
+    public RedisMetrics(Supplier<MeterRegistry> registrySupplier, RedisKeyPrefixExtractor prefixExtractor,
+                        int maxPrefixes, boolean histogram) {
+        this.registrySupplier = registrySupplier;
+        this.prefixExtractor = prefixExtractor;
+        this.maxPrefixes = maxPrefixes;
+        this.histogram = histogram;
+        this.noopMeters = new Meters(new CompositeMeterRegistry(), NONE, NONE);
+        this.nextLookupNanos = System.nanoTime();
+    }
+
+    /**
+     * 当前线程正在执行的操作，没有时为null
+     *
+     * @return 操作
+     */
+    public static String currentOperation() {
+        return CONTEXT.get().operation;
+    }
+
+    /**
+     * 当前线程正在执行的操作的前缀，没有时为null
+     *
+     * @return 前缀
+     */
+    public static String currentPrefix() {
+        return CONTEXT.get().prefix;
+    }
+
+    /**
+     * 标记当前线程正在执行的操作失败，用于RedisUtil内部捕获的异常
+     */
+    public static void markError() {
+        CONTEXT.get().error = true;
+    }
+
+    /**
+     * 根据操作的第一个参数提取前缀
+     *
+     * @param argument 键、键的集合或其他
+     * @return 前缀
+     */
+    public String prefixOf(Object argument) {
+        Object key = argument;
+        if (argument instanceof Collection) {
+            Collection<?> keys = (Collection<?>) argument;
+            key = keys.isEmpty() ? null : keys.iterator().next();
+        } else if (argument instanceof String[]) {
+            String[] keys = (String[]) argument;
+            key = keys.length == 0 ? null : keys[0];
+        }
+        if (!(key instanceof String)) {
+            return NONE;
+        }
+        String prefix = prefixExtractor.extract((String) key);
+        if (prefix == null) {
+            return NONE;
+        }
+        if (prefixes.containsKey(prefix)) {
+            return prefix;
+        }
+        if (prefixCount.get() >= maxPrefixes) {
+            return OTHER;
+        }
+        // 在computeIfAbsent中占用名额，并发登记时前缀数量也不会超出上限；未占到名额的前缀不登记
+        Boolean accepted = prefixes.computeIfAbsent(prefix,
+                p -> prefixCount.incrementAndGet() <= maxPrefixes ? Boolean.TRUE : null);
+        return accepted == null ? OTHER : prefix;
+    }
+
+    /**
+     * 开始记录操作
+     *
+     * @param operation 操作
+     * @param prefix    前缀
+     * @return 是否为最外层的操作，只有最外层的操作需要调用 {@link #end(long)}
+     */
+    boolean begin(String operation, String prefix) {
+        Context context = CONTEXT.get();
+        if (context.operation != null) {
+            return false;
+        }
+        context.operation = operation;
+        context.prefix = prefix;
+        context.error = false;
+        return true;
+    }
+
+    /**
+     * 结束同步操作并记录
+     *
+     * @param startNanos 开始时间
+     * @return 操作内部是否标记了失败
+     */
+    boolean end(long startNanos) {
+        Context context = CONTEXT.get();
+        boolean error = context.error;
+        this.record(context.operation, context.prefix, System.nanoTime() - startNanos, error);
+        context.operation = null;
+        context.prefix = null;
+        context.error = false;
+        return error;
+    }
+
+    /**
+     * 结束当前线程的操作但不记录，用于异步操作
+     */
+    void detach() {
+        Context context = CONTEXT.get();
+        context.operation = null;
+        context.prefix = null;
+        context.error = false;
+    }
+
+    /**
+     * 记录一次操作
+     *
+     * @param operation 操作
+     * @param prefix    前缀
+     * @param nanos     耗时（纳秒）
+     * @param error     是否失败
+     */
+    public void record(String operation, String prefix, long nanos, boolean error) {
+        Meters meters = this.meters(operation, prefix);
+        meters.timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (error) {
+            meters.errors.increment();
+        }
+    }
+
+    /**
+     * 记录一次在其他线程中被捕获的失败
+     *
+     * @param operation 操作
+     * @param prefix    前缀
+     */
+    public void recordError(String operation, String prefix) {
+        this.meters(operation, prefix).errors.increment();
+    }
+
+    /**
+     * 记录当前线程正在执行的操作的数据大小
+     *
+     * @param direction {@link #DIRECTION_WRITE} 或 {@link #DIRECTION_READ}
+     * @param bytes     字节数
+     */
+    public void recordPayload(String direction, int bytes) {
+        Context context = CONTEXT.get();
+        Meters meters = this.meters(context.operation, context.prefix);
+        (DIRECTION_WRITE.equals(direction) ? meters.written : meters.read).record(bytes);
+    }
+
+    /**
+     * 记录一次超出限制的大键
+     *
+     * @param key    键
+     * @param reason {@link com.xml.common.util.cache.redis.bigkey.BigKeyGuard#REASON_ENTRIES} 或
+     *               {@link com.xml.common.util.cache.redis.bigkey.BigKeyGuard#REASON_BYTES}
+     */
+    public void recordBigKey(String key, String reason) {
+        MeterRegistry registry = this.registry();
+        if (registry == null) {
+            return;
+        }
+        Counter.builder("doit.redis.bigkey")
+                .tag("prefix", this.prefixOf(key))
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 记录一次写后合并计数器缓存已满时丢弃的增量
+     */
+    public void recordCounterDropped() {
+        MeterRegistry registry = this.registry();
+        if (registry == null) {
+            return;
+        }
+        Counter.builder("doit.redis.counter.dropped").register(registry).increment();
+    }
+
+    private Meters meters(String operation, String prefix) {
+        MeterRegistry registry = this.registry();
+        if (registry == null) {
+            return noopMeters;
+        }
+        String op = operation == null ? NONE : operation;
+        String tag = prefix == null ? NONE : prefix;
+        return meters.computeIfAbsent(op, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(tag, key -> new Meters(registry, op, tag));
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry current = registry;
+        if (current == null) {
+            long now = System.nanoTime();
+            if (now - nextLookupNanos < 0) {
+                return null;
+            }
+            current = registrySupplier.get();
+            if (current == null) {
+                nextLookupNanos = now + REGISTRY_LOOKUP_INTERVAL_NANOS;
+            } else {
+                registry = current;
+            }
+        }
+        return current;
+    }
+
+    private static final class Context {
+
+        private String operation;
+
+        private String prefix;
+
+        private boolean error;
+    }
+
+    private final class Meters {
+
+        private final Timer timer;
+
+        private final Counter errors;
+
+        private final DistributionSummary written;
+
+        private final DistributionSummary read;
+
+        private Meters(MeterRegistry registry, String operation, String prefix) {
+            this.timer = Timer.builder("doit.redis.operation")
+                    .tag("operation", operation)
+                    .tag("prefix", prefix)
+                    .publishPercentileHistogram(histogram)
+                    .minimumExpectedValue(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(100)))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+            this.errors = Counter.builder("doit.redis.errors")
+                    .tag("operation", operation)
+                    .tag("prefix", prefix)
+                    .register(registry);
+            this.written = this.payload(registry, operation, prefix, DIRECTION_WRITE);
+            this.read = this.payload(registry, operation, prefix, DIRECTION_READ);
+        }
+
+        private DistributionSummary payload(MeterRegistry registry, String operation, String prefix, String direction) {
+            return DistributionSummary.builder("doit.redis.payload")
+                    .baseUnit("bytes")
+                    .tag("operation", operation)
+                    .tag("prefix", prefix)
+                    .tag("direction", direction)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.xml.common.util.cache.redis.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 为RedisUtil、AsyncRedisUtil的每个操作记录指标<br/>
+ * 操作名取方法名，前缀取第一个参数（键或键的集合）；
+ * 返回CompletableFuture的操作在完成时记录
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class RedisMetricsInterceptor implements MethodInterceptor {
+
+    private final RedisMetrics metrics;
+
+    public RedisMetricsInterceptor(RedisMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String operation = invocation.getMethod().getName();
+        Object[] arguments = invocation.getArguments();
+        String prefix = metrics.prefixOf(arguments.length > 0 ? arguments[0] : null);
+        if (!metrics.begin(operation, prefix)) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            RedisMetrics.markError();
+            metrics.end(start);
+            throw e;
+        }
+        if (result instanceof CompletableFuture) {
+            metrics.detach();
+            ((CompletableFuture<?>) result).whenComplete((value, e) ->
+                    metrics.record(operation, prefix, System.nanoTime() - start, e != null));
+        } else {
+            metrics.end(start);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package com.xml.common.util.cache.redis.metrics;
+
+import com.xml.common.util.cache.CacheUtil;
+import com.xml.common.util.cache.redis.AsyncRedisUtil;
+import com.xml.common.util.cache.redis.shard.ShardedRedisTemplates;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+
+/**
+ * 为CacheUtil的实现、AsyncRedisUtil创建记录指标的代理，并为RedisTemplate的值序列化器记录数据大小；
+ * 分片的各节点RedisTemplate不是bean，通过ShardedRedisTemplates逐个处理
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class RedisMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RedisMetrics> metricsProvider;
+
+    public RedisMetricsPostProcessor(ObjectProvider<RedisMetrics> metricsProvider) {
+        this.metricsProvider = metricsProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof CacheUtil || bean instanceof AsyncRedisUtil || bean instanceof RedisTemplate
+                || bean instanceof ShardedRedisTemplates)) {
+            return bean;
+        }
+        RedisMetrics metrics = metricsProvider.getIfAvailable();
+        if (metrics == null) {
+            return bean;
+        }
+        if (bean instanceof RedisTemplate) {
+            meterSerializers((RedisTemplate<?, ?>) bean, metrics);
+            return bean;
+        }
+        if (bean instanceof ShardedRedisTemplates) {
+            for (RedisTemplate<String, Object> template : ((ShardedRedisTemplates) bean).getTemplates()) {
+                meterSerializers(template, metrics);
+            }
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(new OperationPointcut(), new RedisMetricsInterceptor(metrics)));
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void meterSerializers(RedisTemplate<?, ?> redisTemplate, RedisMetrics metrics) {
+        if (!(redisTemplate.getValueSerializer() instanceof MeteredRedisSerializer)) {
+            redisTemplate.setValueSerializer(new MeteredRedisSerializer((RedisSerializer<Object>) redisTemplate.getValueSerializer(), metrics));
+        }
+        if (!(redisTemplate.getHashValueSerializer() instanceof MeteredRedisSerializer)) {
+            redisTemplate.setHashValueSerializer(new MeteredRedisSerializer((RedisSerializer<Object>) redisTemplate.getHashValueSerializer(), metrics));
+        }
+    }
+
+    /**
+     * 只匹配以键或键的集合为第一个参数的公共方法
+     */
+    private static class OperationPointcut extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class
+                    || method.getParameterCount() == 0) {
+                return false;
+            }
+            Class<?> first = method.getParameterTypes()[0];
+            return first == String.class || first == String[].class || Collection.class.isAssignableFrom(first);
+        }
+    }
+}
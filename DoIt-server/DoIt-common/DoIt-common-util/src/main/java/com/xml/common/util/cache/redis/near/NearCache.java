@@ -0,0 +1,332 @@
+package com.xml.common.util.cache.redis.near;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 进程内一级缓存（L1），位于RedisTemplate之前<br/>
+ * <li>数据保存在ConcurrentHashMap中，读取不加锁</li>
+ * <li>按键数量限制容量，超出时从抽样的键中淘汰最久未访问的键（近似LRU）</li>
+ * <li>每个键写入后在固定时间内有效，过期后视为未命中</li>
+ * <li>同一个Redis键下的str、整个map以及map中的单项统一失效</li>
+ * <li>读取Redis前通过 {@link #stamp(String)} 获取版本，写入时版本已变化说明期间发生过失效，放弃写入，避免缓存旧值</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class NearCache {
+
+    /**
+     * 每次淘汰时抽样的键数量
+     */
+    private static final int EVICTION_SAMPLES = 16;
+
+    /**
+     * 失效版本的分段数，不同的键可能共用一个版本，只会多放弃一些写入
+     */
+    private static final int STAMP_STRIPES = 1024;
+
+    /**
+     * 访问时间的精度，间隔小于该值的访问不更新访问时间，减少写共享变量
+     */
+    private static final long ACCESS_RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int maximumSize;
+
+    private final long expireNanos;
+
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maximumSize   最多缓存的键数量
+     * @param expireSeconds 写入后的有效时间（秒）
+     */
+    public NearCache(int maximumSize, long expireSeconds) {
+        if (maximumSize <= 0 || expireSeconds <= 0) {
+            throw new IllegalArgumentException("maximumSize and expireSeconds must be greater than 0");
+        }
+        this.maximumSize = maximumSize;
+        this.expireNanos = TimeUnit.SECONDS.toNanos(expireSeconds);
+    }
+
+    /**
+     * 获取键当前的失效版本，读取Redis之前调用，写入缓存时传入
+     *
+     * @param key 键
+     * @return 版本
+     */
+    public long stamp(String key) {
+        return stamps.get(stripe(key));
+    }
+
+    /**
+     * 获取str
+     *
+     * @param key 键
+     * @return 值，未命中时为null
+     */
+    public Object getValue(String key) {
+        Entry entry = this.live(key);
+        return this.record(entry == null ? null : entry.value);
+    }
+
+    /**
+     * 缓存str
+     *
+     * @param key   键
+     * @param value 值，为null时不缓存
+     * @param stamp 读取前获取的版本
+     */
+    public void putValue(String key, Object value, long stamp) {
+        if (value == null) {
+            return;
+        }
+        this.put(key, stamp, entry -> entry.value = value);
+    }
+
+    /**
+     * 获取整个map的副本
+     *
+     * @param key 键
+     * @return map，未命中时为null
+     */
+    public Map<Object, Object> getEntries(String key) {
+        Entry entry = this.live(key);
+        Map<Object, Object> entries = entry == null ? null : entry.entries;
+        this.record(entries);
+        return entries == null ? null : new HashMap<>(entries);
+    }
+
+    /**
+     * 缓存整个map
+     *
+     * @param key     键
+     * @param entries map，为空时不缓存
+     * @param stamp   读取前获取的版本
+     */
+    public void putEntries(String key, Map<Object, Object> entries, long stamp) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        Map<Object, Object> copy = new HashMap<>(entries);
+        this.put(key, stamp, entry -> entry.entries = copy);
+    }
+
+    /**
+     * 获取map中的单项
+     *
+     * @param key  键
+     * @param hash 项
+     * @return 值，未命中时为null
+     */
+    public Object getField(String key, String hash) {
+        Entry entry = this.live(key);
+        if (entry == null) {
+            return this.record(null);
+        }
+        Object value = entry.fields.get(hash);
+        if (value == null) {
+            Map<Object, Object> entries = entry.entries;
+            value = entries == null ? null : entries.get(hash);
+        }
+        return this.record(value);
+    }
+
+    /**
+     * 缓存map中的单项
+     *
+     * @param key   键
+     * @param hash  项
+     * @param value 值，为null时不缓存
+     * @param stamp 读取前获取的版本
+     */
+    public void putField(String key, String hash, Object value, long stamp) {
+        if (value == null) {
+            return;
+        }
+        this.put(key, stamp, entry -> entry.fields.put(hash, value));
+    }
+
+    /**
+     * 使键失效，先更新版本再删除，正在读取Redis的写入会被放弃
+     *
+     * @param key 键
+     */
+    public void invalidate(String key) {
+        stamps.incrementAndGet(stripe(key));
+        cache.remove(key);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STAMP_STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        cache.clear();
+    }
+
+    /**
+     * 清理已过期的键
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        Iterator<Entry> iterator = cache.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now)) {
+                iterator.remove();
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 当前缓存的键数量
+     *
+     * @return 数量
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * 获取命中统计
+     *
+     * @return 统计快照
+     */
+    public NearCacheStats stats() {
+        return new NearCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), this.size(), maximumSize);
+    }
+
+    private Entry live(String key) {
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (entry.isExpired(now)) {
+            if (cache.remove(key, entry)) {
+                evictionCount.increment();
+            }
+            return null;
+        }
+        if (now - entry.accessTime > ACCESS_RESOLUTION_NANOS) {
+            entry.accessTime = now;
+        }
+        return entry;
+    }
+
+    /**
+     * 写入后再次检查版本，与 {@link #invalidate(String)} 交错执行时撤销本次写入
+     */
+    private void put(String key, long stamp, Consumer<Entry> writer) {
+        int stripe = stripe(key);
+        if (stamps.get(stripe) != stamp) {
+            return;
+        }
+        long now = System.nanoTime();
+        Entry entry = cache.compute(key, (k, current) -> {
+            Entry target = current == null || current.isExpired(now) ? new Entry(now + expireNanos, now) : current;
+            writer.accept(target);
+            return target;
+        });
+        if (stamps.get(stripe) != stamp) {
+            cache.remove(key, entry);
+            return;
+        }
+        if (cache.size() > maximumSize) {
+            this.evict();
+        }
+    }
+
+    /**
+     * 近似LRU淘汰：每轮抽样若干个键，淘汰其中已过期或最久未访问的键，同一时间只有一个线程执行
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Iterator<Map.Entry<String, Entry>> iterator = cache.entrySet().iterator();
+            long now = System.nanoTime();
+            while (cache.size() > maximumSize) {
+                Map.Entry<String, Entry> victim = null;
+                for (int i = 0; i < EVICTION_SAMPLES; i++) {
+                    if (!iterator.hasNext()) {
+                        iterator = cache.entrySet().iterator();
+                        if (!iterator.hasNext()) {
+                            return;
+                        }
+                    }
+                    Map.Entry<String, Entry> candidate = iterator.next();
+                    if (candidate.getValue().isExpired(now)) {
+                        victim = candidate;
+                        break;
+                    }
+                    if (victim == null || candidate.getValue().accessTime - victim.getValue().accessTime < 0) {
+                        victim = candidate;
+                    }
+                }
+                if (victim != null && cache.remove(victim.getKey(), victim.getValue())) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    private <V> V record(V value) {
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    private static final class Entry {
+
+        private final long expireAt;
+
+        private final Map<String, Object> fields = new ConcurrentHashMap<>(4);
+
+        private volatile long accessTime;
+
+        private volatile Object value;
+
+        private volatile Map<Object, Object> entries;
+
+        private Entry(long expireAt, long accessTime) {
+            this.expireAt = expireAt;
+            this.accessTime = accessTime;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expireAt >= 0;
+        }
+    }
+}
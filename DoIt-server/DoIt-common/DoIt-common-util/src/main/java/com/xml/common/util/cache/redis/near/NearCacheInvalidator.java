@@ -0,0 +1,100 @@
+package com.xml.common.util.cache.redis.near;
+
+import com.xml.common.util.cache.redis.constants.RedisConstants;
+import com.xml.doit.common.core.constants.DoItStrPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 一级缓存失效广播<br/>
+ * 本节点写入时先清理本地缓存，再通过Redis pub/sub通知其他节点清理，
+ * 同时监听该频道以清理其他节点写入的键
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Slf4j
+public class NearCacheInvalidator implements MessageListener {
+
+    private final NearCache nearCache;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final byte[] channel;
+
+    public NearCacheInvalidator(NearCache nearCache, RedisTemplate<String, Object> redisTemplate, String channel) {
+        this.nearCache = nearCache;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    /**
+     * 清理本地缓存并广播
+     *
+     * @param keys 键
+     */
+    public void invalidate(String... keys) {
+        if (keys == null || keys.length == 0) {
+            return;
+        }
+        this.invalidateLocal(keys);
+        byte[] message = message(keys);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, message));
+        } catch (Exception e) {
+            log.error(RedisConstants.REDIS_PUBLISH_ERROR, e);
+        }
+    }
+
+    /**
+     * 非阻塞方式清理本地缓存并广播，供响应式调用链使用<br/>
+     * 消息直接以字节发送，与 {@link #invalidate(String...)} 的格式一致，不经过模板的值序列化；广播失败时错误沿调用链传递
+     *
+     * @param operations 响应式模板
+     * @param keys       键
+     * @return 广播完成
+     */
+    public Mono<Void> invalidate(ReactiveRedisOperations<String, ?> operations, String... keys) {
+        if (keys == null || keys.length == 0) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            this.invalidateLocal(keys);
+            ByteBuffer rawChannel = ByteBuffer.wrap(channel);
+            ByteBuffer rawMessage = ByteBuffer.wrap(message(keys));
+            return operations.execute((ReactiveRedisCallback<Long>) connection ->
+                    connection.pubSubCommands().publish(rawChannel, rawMessage)).then();
+        });
+    }
+
+    private void invalidateLocal(String... keys) {
+        for (String key : keys) {
+            nearCache.invalidate(key);
+        }
+    }
+
+    private static byte[] message(String... keys) {
+        return String.join(DoItStrPool.LF, keys).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String key : body.split(DoItStrPool.LF)) {
+            nearCache.invalidate(key);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.xml.common.util.cache.redis.near;
+
+import lombok.Getter;
+
+/**
+ * 一级缓存命中统计快照
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+public class NearCacheStats {
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    private final int size;
+
+    private final int maximumSize;
+
+    public NearCacheStats(long hitCount, long missCount, long evictionCount, int size, int maximumSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * 命中率
+     *
+     * @return 0 ~ 1，没有请求时为1
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount
+                + ", size=" + size + ", maximumSize=" + maximumSize + "}";
+    }
+}
@@ -0,0 +1,30 @@
+package com.xml.common.util.cache.redis.queue;
+
+import lombok.Getter;
+
+/**
+ * 延时队列中领取到的任务
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Getter
+public class DelayedJob {
+
+    private final String id;
+
+    /**
+     * 任务内容，任务在领取前被取消时为null
+     */
+    private final Object payload;
+
+    public DelayedJob(String id, Object payload) {
+        this.id = id;
+        this.payload = payload;
+    }
+
+    @Override
+    public String toString() {
+        return "DelayedJob{id=" + id + ", payload=" + payload + "}";
+    }
+}
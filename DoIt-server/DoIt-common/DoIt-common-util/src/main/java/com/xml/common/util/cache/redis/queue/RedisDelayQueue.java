@@ -0,0 +1,250 @@
+package com.xml.common.util.cache.redis.queue;
+
+import com.xml.common.util.cache.redis.constants.RedisConstants;
+import com.xml.common.util.cache.redis.exception.DoItRedisException;
+import com.xml.common.util.cache.redis.exception.RedisExceptionCode;
+import com.xml.common.util.cache.redis.script.RedisScripts;
+import com.xml.common.util.cache.redis.shard.ShardedRedisTemplates;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 基于zset的延时队列<br/>
+ * <li>待执行的任务按到期时间保存在zset中，任务内容保存在hash中</li>
+ * <li>通过Lua脚本原子地领取到期任务，多个节点同时领取时同一个任务只会被一个节点领取</li>
+ * <li>领取后需要在可见超时时间内确认，超时未确认的任务在之后的领取中重新投递，因此任务至少执行一次</li>
+ * <li>到期时间使用调用方的时钟，各节点的时钟偏差会体现为任务的提前或延后</li>
+ * <li>与RedisUtil不同，操作失败时直接抛出异常</li>
+ * <li>启用分片时通过 {@link #RedisDelayQueue(ShardedRedisTemplates, String, long)} 创建，整个队列位于同一个节点</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class RedisDelayQueue {
+
+    private static final RedisSerializer<String> ID_SERIALIZER = RedisSerializer.string();
+
+    /**
+     * 脚本返回列表时按元素反序列化，元素保持原始字节
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisSerializer<List> LIST_RESULT_SERIALIZER = (RedisSerializer) RedisSerializer.byteArray();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final String name;
+
+    private final long visibilityMillis;
+
+    /**
+     * 待执行zset、执行中zset、任务内容hash
+     */
+    private final List<String> keys;
+
+    private final List<String> offerKeys;
+
+    /**
+     * @param redisTemplate    redisTemplate
+     * @param name             队列名
+     * @param visibilityMillis 默认的可见超时时间（毫秒），领取后超过该时间未确认的任务会重新投递
+     */
+    public RedisDelayQueue(RedisTemplate<String, Object> redisTemplate, String name, long visibilityMillis) {
+        if (visibilityMillis <= 0) {
+            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "可见超时时间必须大于0");
+        }
+        this.redisTemplate = redisTemplate;
+        this.name = name;
+        this.visibilityMillis = visibilityMillis;
+        String prefix = keyPrefix(name);
+        this.keys = Collections.unmodifiableList(Arrays.asList(prefix + "ready", prefix + "processing", prefix + "jobs"));
+        this.offerKeys = Collections.unmodifiableList(Arrays.asList(keys.get(0), keys.get(2)));
+    }
+
+    /**
+     * 启用分片时使用，队列的键带有相同的哈希标签，整个队列位于同一个节点
+     *
+     * @param shardedRedisTemplates 分片节点
+     * @param name                  队列名
+     * @param visibilityMillis      默认的可见超时时间（毫秒），领取后超过该时间未确认的任务会重新投递
+     */
+    public RedisDelayQueue(ShardedRedisTemplates shardedRedisTemplates, String name, long visibilityMillis) {
+        this(shardedRedisTemplates.route(keyPrefix(name)), name, visibilityMillis);
+    }
+
+    private static String keyPrefix(String name) {
+        return RedisConstants.DELAY_QUEUE_KEY_PREFIX + "{" + name + "}:";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 添加任务，id已存在时覆盖内容和到期时间
+     *
+     * @param id          任务id
+     * @param payload     任务内容
+     * @param delayMillis 延时（毫秒）
+     */
+    public void offer(String id, Object payload, long delayMillis) {
+        this.offerAt(id, payload, System.currentTimeMillis() + delayMillis);
+    }
+
+    /**
+     * 添加在指定时间到期的任务，id已存在时覆盖内容和到期时间
+     *
+     * @param id        任务id
+     * @param payload   任务内容
+     * @param dueMillis 到期时间（毫秒时间戳）
+     */
+    public void offerAt(String id, Object payload, long dueMillis) {
+        this.offerAllAt(Collections.singletonMap(id, payload), dueMillis);
+    }
+
+    /**
+     * 批量添加相同到期时间的任务，按批次分多次提交
+     *
+     * @param jobs      任务id -> 任务内容
+     * @param dueMillis 到期时间（毫秒时间戳）
+     */
+    public void offerAllAt(Map<String, Object> jobs, long dueMillis) {
+        if (Objects.isNull(jobs) || jobs.isEmpty()) {
+            return;
+        }
+        byte[] due = Long.toString(dueMillis).getBytes(StandardCharsets.UTF_8);
+        RedisSerializer<?> valueSerializer = redisTemplate.getValueSerializer();
+        List<Map.Entry<String, Object>> entries = new ArrayList<>(jobs.entrySet());
+        for (int from = 0; from < entries.size(); from += RedisConstants.DEFAULT_BATCH_CHUNK_SIZE) {
+            List<Map.Entry<String, Object>> chunk = entries.subList(from, Math.min(from + RedisConstants.DEFAULT_BATCH_CHUNK_SIZE, entries.size()));
+            Object[] args = new Object[chunk.size() * 3];
+            int i = 0;
+            for (Map.Entry<String, Object> entry : chunk) {
+                args[i++] = due;
+                args[i++] = ID_SERIALIZER.serialize(entry.getKey());
+                args[i++] = RedisScripts.args(valueSerializer, entry.getValue())[0];
+            }
+            redisTemplate.execute(RedisScripts.DELAY_QUEUE_OFFER, RedisSerializer.byteArray(), null, offerKeys, args);
+        }
+    }
+
+    /**
+     * 领取到期的任务，使用默认的可见超时时间
+     *
+     * @param batchSize 最多领取的个数
+     * @return 任务，按到期时间排序
+     */
+    public List<DelayedJob> poll(int batchSize) {
+        return this.poll(batchSize, visibilityMillis);
+    }
+
+    /**
+     * 领取到期的任务
+     *
+     * @param batchSize        最多领取的个数
+     * @param visibilityMillis 可见超时时间（毫秒）
+     * @return 任务，按到期时间排序
+     */
+    @SuppressWarnings("unchecked")
+    public List<DelayedJob> poll(int batchSize, long visibilityMillis) {
+        if (batchSize <= 0) {
+            throw new DoItRedisException(RedisExceptionCode.SYSTEM_501.getCode(), "领取个数必须大于0");
+        }
+        long now = System.currentTimeMillis();
+        Object[] args = RedisScripts.args(ID_SERIALIZER, Long.toString(now), Integer.toString(batchSize),
+                Long.toString(now + visibilityMillis));
+        List<byte[]> result = redisTemplate.execute(RedisScripts.DELAY_QUEUE_CLAIM, RedisSerializer.byteArray(),
+                LIST_RESULT_SERIALIZER, keys, args);
+        if (Objects.isNull(result) || result.isEmpty()) {
+            return Collections.emptyList();
+        }
+        RedisSerializer<?> valueSerializer = redisTemplate.getValueSerializer();
+        List<DelayedJob> jobs = new ArrayList<>(result.size() / 2);
+        for (int i = 0; i < result.size(); i += 2) {
+            byte[] payload = result.get(i + 1);
+            jobs.add(new DelayedJob(ID_SERIALIZER.deserialize(result.get(i)),
+                    payload == null ? null : valueSerializer.deserialize(payload)));
+        }
+        return jobs;
+    }
+
+    /**
+     * 确认任务已完成，删除任务
+     *
+     * @param ids 任务id
+     * @return 删除的任务数
+     */
+    public Long ack(String... ids) {
+        return this.remove(ids);
+    }
+
+    /**
+     * 取消任务，未领取和已领取未确认的任务都会被删除
+     *
+     * @param ids 任务id
+     * @return 删除的任务数
+     */
+    public Long cancel(String... ids) {
+        return this.remove(ids);
+    }
+
+    /**
+     * 延长已领取任务的可见超时时间，用于执行时间较长的任务
+     *
+     * @param id               任务id
+     * @param visibilityMillis 从现在开始的可见超时时间（毫秒）
+     * @return 任务是否仍在执行中
+     */
+    public boolean extend(String id, long visibilityMillis) {
+        byte[] processing = this.rawKey(keys.get(1));
+        byte[] member = ID_SERIALIZER.serialize(id);
+        double deadline = System.currentTimeMillis() + visibilityMillis;
+        Boolean updated = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.zSetCommands()
+                .zAdd(processing, Collections.singleton(Tuple.of(member, deadline)),
+                        RedisZSetCommands.ZAddArgs.ifExists().ch()) > 0);
+        return Boolean.TRUE.equals(updated);
+    }
+
+    /**
+     * 待执行（含未到期）的任务数
+     *
+     * @return 任务数
+     */
+    public Long getReadySize() {
+        byte[] ready = this.rawKey(keys.get(0));
+        return redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zCard(ready));
+    }
+
+    /**
+     * 已领取未确认的任务数
+     *
+     * @return 任务数
+     */
+    public Long getProcessingSize() {
+        byte[] processing = this.rawKey(keys.get(1));
+        return redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zCard(processing));
+    }
+
+    private Long remove(String... ids) {
+        if (Objects.isNull(ids) || ids.length == 0) {
+            return 0L;
+        }
+        return redisTemplate.execute(RedisScripts.DELAY_QUEUE_REMOVE, RedisSerializer.byteArray(), null, keys,
+                RedisScripts.args(ID_SERIALIZER, (Object[]) ids));
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+}
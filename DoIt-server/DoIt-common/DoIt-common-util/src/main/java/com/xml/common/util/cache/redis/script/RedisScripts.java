@@ -0,0 +1,227 @@
+package com.xml.common.util.cache.redis.script;
+
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis Lua脚本<br/>
+ * 写入与设置超时时间在同一个脚本中完成，只需一次往返且不会留下没有超时时间的键。
+ * 脚本的SHA1在创建时计算并缓存，执行时优先使用EVALSHA
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public final class RedisScripts {
+
+    private RedisScripts() {
+    }
+
+    /**
+     * 写入map的多个项并设置超时时间<br/>
+     * KEYS[1] 键，ARGV[1] 超时时间（秒），ARGV[2..] 项与值交替排列<br/>
+     * 超时时间小于等于0时不设置，返回0
+     */
+    public static final RedisScript<Long> HSET_EXPIRE = RedisScript.of(
+            "for i = 2, #ARGV, 2 do\n" +
+            "    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])\n" +
+            "end\n" +
+            "local ttl = tonumber(ARGV[1])\n" +
+            "if ttl > 0 then\n" +
+            "    return redis.call('EXPIRE', KEYS[1], ttl)\n" +
+            "end\n" +
+            "return 0", Long.class);
+
+    /**
+     * 向set添加多个值并设置超时时间<br/>
+     * KEYS[1] 键，ARGV[1] 超时时间（秒），ARGV[2..] 值<br/>
+     * 返回新增的个数
+     */
+    public static final RedisScript<Long> SADD_EXPIRE = RedisScript.of(
+            "local count = 0\n" +
+            "for i = 2, #ARGV do\n" +
+            "    count = count + redis.call('SADD', KEYS[1], ARGV[i])\n" +
+            "end\n" +
+            "local ttl = tonumber(ARGV[1])\n" +
+            "if ttl > 0 then\n" +
+            "    redis.call('EXPIRE', KEYS[1], ttl)\n" +
+            "end\n" +
+            "return count", Long.class);
+
+    /**
+     * 向list尾部追加多个值并设置超时时间<br/>
+     * KEYS[1] 键，ARGV[1] 超时时间（秒），ARGV[2..] 值<br/>
+     * 返回追加后list的长度
+     */
+    public static final RedisScript<Long> RPUSH_EXPIRE = RedisScript.of(
+            "local size = redis.call('LLEN', KEYS[1])\n" +
+            "for i = 2, #ARGV do\n" +
+            "    size = redis.call('RPUSH', KEYS[1], ARGV[i])\n" +
+            "end\n" +
+            "local ttl = tonumber(ARGV[1])\n" +
+            "if ttl > 0 then\n" +
+            "    redis.call('EXPIRE', KEYS[1], ttl)\n" +
+            "end\n" +
+            "return size", Long.class);
+
+    /**
+     * 释放锁，只有值与加锁时一致才删除<br/>
+     * KEYS[1] 锁，ARGV[1] 加锁时写入的值
+     */
+    public static final RedisScript<Long> UNLOCK = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then\n" +
+            "    return redis.call('DEL', KEYS[1])\n" +
+            "end\n" +
+            "return 0", Long.class);
+
+    /**
+     * 向标签索引添加键<br/>
+     * KEYS[1] 标签索引，ARGV[1] 键的超时时间（秒），ARGV[2..] 键<br/>
+     * 索引的超时时间只延长不缩短，有无限期的键时索引也不过期，返回新增的个数
+     */
+    public static final RedisScript<Long> TAG_ADD = RedisScript.of(
+            "local existed = redis.call('EXISTS', KEYS[1])\n" +
+            "local count = 0\n" +
+            "for i = 2, #ARGV do\n" +
+            "    count = count + redis.call('SADD', KEYS[1], ARGV[i])\n" +
+            "end\n" +
+            "local ttl = tonumber(ARGV[1])\n" +
+            "if ttl <= 0 then\n" +
+            "    redis.call('PERSIST', KEYS[1])\n" +
+            "else\n" +
+            "    local current = redis.call('TTL', KEYS[1])\n" +
+            "    if existed == 0 or (current >= 0 and current < ttl) then\n" +
+            "        redis.call('EXPIRE', KEYS[1], ttl)\n" +
+            "    end\n" +
+            "end\n" +
+            "return count", Long.class);
+
+    /**
+     * 延时队列：写入任务<br/>
+     * KEYS[1] 待执行zset，KEYS[2] 任务内容hash，ARGV 依次为 到期时间（毫秒）、任务id、任务内容 的三元组<br/>
+     * 已存在的任务覆盖内容和到期时间，返回写入的任务数
+     */
+    public static final RedisScript<Long> DELAY_QUEUE_OFFER = RedisScript.of(
+            "for i = 1, #ARGV, 3 do\n" +
+            "    redis.call('HSET', KEYS[2], ARGV[i + 1], ARGV[i + 2])\n" +
+            "    redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])\n" +
+            "end\n" +
+            "return #ARGV / 3", Long.class);
+
+    /**
+     * 延时队列：领取到期任务<br/>
+     * KEYS[1] 待执行zset，KEYS[2] 执行中zset，KEYS[3] 任务内容hash，
+     * ARGV[1] 当前时间（毫秒），ARGV[2] 最多领取的个数，ARGV[3] 领取后的可见超时时间点（毫秒）<br/>
+     * 先将超时未确认的任务放回待执行，再将到期任务移入执行中，返回任务id与内容交替排列
+     */
+    @SuppressWarnings("rawtypes")
+    public static final RedisScript<List> DELAY_QUEUE_CLAIM = RedisScript.of(
+            "local limit = tonumber(ARGV[2])\n" +
+            "local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, limit)\n" +
+            "for i = 1, #expired do\n" +
+            "    redis.call('ZREM', KEYS[2], expired[i])\n" +
+            "    redis.call('ZADD', KEYS[1], ARGV[1], expired[i])\n" +
+            "end\n" +
+            "local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, limit)\n" +
+            "local result = {}\n" +
+            "for i = 1, #ids do\n" +
+            "    redis.call('ZREM', KEYS[1], ids[i])\n" +
+            "    redis.call('ZADD', KEYS[2], ARGV[3], ids[i])\n" +
+            "    result[#result + 1] = ids[i]\n" +
+            "    result[#result + 1] = redis.call('HGET', KEYS[3], ids[i])\n" +
+            "end\n" +
+            "return result", List.class);
+
+    /**
+     * 延时队列：确认或取消任务<br/>
+     * KEYS[1] 待执行zset，KEYS[2] 执行中zset，KEYS[3] 任务内容hash，ARGV 任务id<br/>
+     * 返回删除的任务数
+     */
+    public static final RedisScript<Long> DELAY_QUEUE_REMOVE = RedisScript.of(
+            "local count = 0\n" +
+            "for i = 1, #ARGV do\n" +
+            "    redis.call('ZREM', KEYS[1], ARGV[i])\n" +
+            "    redis.call('ZREM', KEYS[2], ARGV[i])\n" +
+            "    count = count + redis.call('HDEL', KEYS[3], ARGV[i])\n" +
+            "end\n" +
+            "return count", Long.class);
+
+    /**
+     * 所有需要预加载的脚本
+     *
+     * @return 脚本
+     */
+    public static List<RedisScript<?>> all() {
+        return Collections.unmodifiableList(Arrays.<RedisScript<?>>asList(HSET_EXPIRE, SADD_EXPIRE, RPUSH_EXPIRE, UNLOCK, TAG_ADD,
+                DELAY_QUEUE_OFFER, DELAY_QUEUE_CLAIM, DELAY_QUEUE_REMOVE));
+    }
+
+    /**
+     * 构造 {@link #HSET_EXPIRE} 的参数
+     *
+     * @param time                超时时间（秒）
+     * @param map                 项与值
+     * @param hashKeySerializer   项的序列化器
+     * @param hashValueSerializer 值的序列化器
+     * @return 已序列化的参数
+     */
+    public static Object[] hashArgs(long time, Map<?, ?> map, RedisSerializer<?> hashKeySerializer,
+                                    RedisSerializer<?> hashValueSerializer) {
+        Object[] args = new Object[map.size() * 2 + 1];
+        args[0] = serializeTime(time);
+        int i = 1;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            args[i++] = serialize(hashKeySerializer, entry.getKey());
+            args[i++] = serialize(hashValueSerializer, entry.getValue());
+        }
+        return args;
+    }
+
+    /**
+     * 构造 {@link #SADD_EXPIRE}、{@link #RPUSH_EXPIRE}、{@link #TAG_ADD} 的参数
+     *
+     * @param time            超时时间（秒）
+     * @param values          值
+     * @param valueSerializer 值的序列化器
+     * @return 已序列化的参数
+     */
+    public static Object[] valueArgs(long time, Collection<?> values, RedisSerializer<?> valueSerializer) {
+        Object[] args = new Object[values.size() + 1];
+        args[0] = serializeTime(time);
+        int i = 1;
+        for (Object value : values) {
+            args[i++] = serialize(valueSerializer, value);
+        }
+        return args;
+    }
+
+    /**
+     * 逐个序列化参数
+     *
+     * @param serializer 序列化器
+     * @param values     参数
+     * @return 已序列化的参数
+     */
+    public static Object[] args(RedisSerializer<?> serializer, Object... values) {
+        Object[] args = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            args[i] = serialize(serializer, values[i]);
+        }
+        return args;
+    }
+
+    private static byte[] serializeTime(long time) {
+        return Long.toString(time).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] serialize(RedisSerializer<?> serializer, Object value) {
+        return serializer == null ? (byte[]) value : ((RedisSerializer<Object>) serializer).serialize(value);
+    }
+}
@@ -0,0 +1,219 @@
+package com.xml.common.util.cache.redis.serializer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 紧凑的二进制序列化器<br/>
+ * 数据格式：[魔数][版本][标志位][Kryo数据]
+ * <li>已注册的类型只写入id，不写入类名</li>
+ * <li>数据超过压缩阈值时使用Deflate压缩，压缩后未变小则保留原始数据</li>
+ * <li>没有魔数的数据按JDK序列化读取，兼容切换前写入的旧数据</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 魔数
+     */
+    static final byte MAGIC = (byte) 0xD0;
+
+    /**
+     * 当前格式版本
+     */
+    static final byte VERSION_1 = 1;
+
+    /**
+     * 标志位：数据已压缩
+     */
+    static final byte FLAG_DEFLATE = 1;
+
+    private static final int HEADER_LENGTH = 3;
+
+    /**
+     * 输出缓冲区的初始大小
+     */
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    /**
+     * 归还对象池时保留的输出缓冲区上限，写入大值后扩容的缓冲区超出该值时丢弃，避免池中每个实例长期占用大块内存
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * JDK序列化数据的前两个字节
+     */
+    private static final byte JDK_STREAM_MAGIC_0 = (byte) 0xAC;
+
+    private static final byte JDK_STREAM_MAGIC_1 = (byte) 0xED;
+
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+
+    private final int compressThreshold;
+
+    private final Map<Class<?>, Integer> registrations = new LinkedHashMap<>();
+
+    private final RedisSerializer<Object> legacySerializer = new JdkSerializationRedisSerializer();
+
+    private final Pool<Codec> pool;
+
+    /**
+     * @param compressThreshold 压缩阈值（字节），小于等于0时不压缩
+     * @param registrations     注册的类型及id，各节点必须一致
+     */
+    public CompactRedisSerializer(int compressThreshold, Map<Class<?>, Integer> registrations) {
+        this.compressThreshold = compressThreshold;
+        if (registrations != null) {
+            this.registrations.putAll(registrations);
+        }
+        this.pool = new Pool<Codec>(true, false, Runtime.getRuntime().availableProcessors() * 4) {
+            @Override
+            protected Codec create() {
+                return new Codec(newKryo());
+            }
+        };
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+        Codec codec = pool.obtain();
+        try {
+            Output output = codec.output;
+            output.reset();
+            output.writeByte(MAGIC);
+            output.writeByte(VERSION_1);
+            output.writeByte(0);
+            codec.kryo.writeClassAndObject(output, value);
+            int payloadLength = output.position() - HEADER_LENGTH;
+            if (compressThreshold > 0 && payloadLength > compressThreshold) {
+                byte[] compressed = codec.deflate(output.getBuffer(), HEADER_LENGTH, payloadLength);
+                if (compressed.length < payloadLength) {
+                    byte[] bytes = new byte[HEADER_LENGTH + compressed.length];
+                    bytes[0] = MAGIC;
+                    bytes[1] = VERSION_1;
+                    bytes[2] = FLAG_DEFLATE;
+                    System.arraycopy(compressed, 0, bytes, HEADER_LENGTH, compressed.length);
+                    return bytes;
+                }
+            }
+            return output.toBytes();
+        } catch (Exception e) {
+            throw new SerializationException("Cannot serialize " + value.getClass().getName(), e);
+        } finally {
+            codec.trimOutput();
+            pool.free(codec);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length >= 2 && bytes[0] == JDK_STREAM_MAGIC_0 && bytes[1] == JDK_STREAM_MAGIC_1) {
+            return legacySerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[0] != MAGIC) {
+            throw new SerializationException("Unknown serialized format");
+        }
+        if (bytes[1] != VERSION_1) {
+            throw new SerializationException("Unsupported serialized format version " + bytes[1]);
+        }
+        Codec codec = pool.obtain();
+        try {
+            Input input = codec.input;
+            if ((bytes[2] & FLAG_DEFLATE) != 0) {
+                input.setBuffer(codec.inflate(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH));
+            } else {
+                input.setBuffer(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            }
+            return codec.kryo.readClassAndObject(input);
+        } catch (Exception e) {
+            throw new SerializationException("Cannot deserialize", e);
+        } finally {
+            codec.input.setBuffer(EMPTY_ARRAY);
+            pool.free(codec);
+        }
+    }
+
+    private Kryo newKryo() {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        kryo.setReferences(true);
+        kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        registrations.forEach(kryo::register);
+        return kryo;
+    }
+
+    /**
+     * 单线程使用的编解码资源，通过对象池复用
+     */
+    private static final class Codec {
+
+        private final Kryo kryo;
+
+        private final Output output = new Output(INITIAL_BUFFER_SIZE, -1);
+
+        private final Input input = new Input();
+
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        private final Inflater inflater = new Inflater();
+
+        private final byte[] buffer = new byte[4096];
+
+        private Codec(Kryo kryo) {
+            this.kryo = kryo;
+        }
+
+        private void trimOutput() {
+            if (output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+                output.setBuffer(new byte[INITIAL_BUFFER_SIZE], -1);
+            }
+        }
+
+        private byte[] deflate(byte[] data, int offset, int length) {
+            deflater.reset();
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2);
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        }
+
+        private byte[] inflate(byte[] data, int offset, int length) throws DataFormatException {
+            inflater.reset();
+            inflater.setInput(data, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 3);
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated compressed data");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.xml.common.util.cache.redis.shard;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 一致性哈希环<br/>
+ * <li>每个节点在环上放置多个虚拟节点，使键分布更均匀；增删节点时只有相邻区间的键会迁移</li>
+ * <li>支持哈希标签：键中包含非空的 {...} 时只对第一个花括号内的内容计算哈希，使相关的键位于同一个节点</li>
+ *
+ * @param <T> 节点
+ * @author XMINGL
+ * @since 1.0.0
+ */
+public class ConsistentHashRing<T> {
+
+    private final TreeMap<Long, T> ring = new TreeMap<>();
+
+    private final List<T> nodes;
+
+    /**
+     * @param nodes        节点，名称用于计算虚拟节点的位置，调整顺序不影响分布
+     * @param virtualNodes 每个节点的虚拟节点数
+     */
+    public ConsistentHashRing(Map<String, T> nodes, int virtualNodes) {
+        if (nodes == null || nodes.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("nodes must not be empty and virtualNodes must be greater than 0");
+        }
+        for (Map.Entry<String, T> node : nodes.entrySet()) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(MurmurHash.hash64(node.getKey() + "#" + i), node.getValue());
+            }
+        }
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes.values()));
+    }
+
+    /**
+     * 获取键所在的节点
+     *
+     * @param key 键
+     * @return 节点
+     */
+    public T route(String key) {
+        Map.Entry<Long, T> entry = ring.ceilingEntry(MurmurHash.hash64(hashTag(key)));
+        return entry == null ? ring.firstEntry().getValue() : entry.getValue();
+    }
+
+    public List<T> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 计算哈希使用的部分，规则与Redis Cluster一致
+     *
+     * @param key 键
+     * @return 第一个非空 {...} 中的内容，没有时为整个键
+     */
+    static String hashTag(String key) {
+        int start = key.indexOf('{');
+        if (start >= 0) {
+            int end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                return key.substring(start + 1, end);
+            }
+        }
+        return key;
+    }
+}
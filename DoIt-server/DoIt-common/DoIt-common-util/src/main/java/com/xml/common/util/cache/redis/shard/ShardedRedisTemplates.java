@@ -0,0 +1,158 @@
+package com.xml.common.util.cache.redis.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 客户端分片：多个相互独立的Redis节点，每个节点一个RedisTemplate<br/>
+ * <li>按一致性哈希将键路由到节点，相关的键可以通过哈希标签 {...} 放在同一个节点</li>
+ * <li>批量操作按节点分组后并行执行，第一组在调用线程中执行，其余组交给共享线程池；
+ * 线程池不排队，线程用尽时由调用线程自己执行，并发的调用方之间不会互相等待</li>
+ * <li>任一组失败时取消其余尚未完成的组</li>
+ * <li>节点之间没有数据迁移，增删节点后迁移区间内的键相当于缓存未命中</li>
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+@Slf4j
+public class ShardedRedisTemplates implements DisposableBean {
+
+    /**
+     * 每个节点最多同时占用的线程数
+     */
+    private static final int THREADS_PER_NODE = 8;
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ConsistentHashRing<RedisTemplate<String, Object>> ring;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param nodes        节点名称 -> 该节点的RedisTemplate，名称决定键的分布，节点地址变化时保持名称不变即可
+     * @param virtualNodes 每个节点的虚拟节点数
+     */
+    public ShardedRedisTemplates(Map<String, RedisTemplate<String, Object>> nodes, int virtualNodes) {
+        this.ring = new ConsistentHashRing<>(nodes, virtualNodes);
+        AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, nodes.size() * THREADS_PER_NODE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "doit-redis-shard-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 获取键所在节点的RedisTemplate
+     *
+     * @param key 键
+     * @return RedisTemplate
+     */
+    public RedisTemplate<String, Object> route(String key) {
+        return ring.route(key);
+    }
+
+    /**
+     * 所有节点的RedisTemplate
+     *
+     * @return RedisTemplate
+     */
+    public List<RedisTemplate<String, Object>> getTemplates() {
+        return ring.getNodes();
+    }
+
+    /**
+     * 按所在节点分组，组内保持原有顺序
+     *
+     * @param items 数据
+     * @param keyOf 数据对应的键
+     * @param <T>   泛型
+     * @return 节点 -> 数据
+     */
+    public <T> Map<RedisTemplate<String, Object>, List<T>> group(List<T> items, Function<T, String> keyOf) {
+        Map<RedisTemplate<String, Object>, List<T>> groups = new LinkedHashMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(ring.route(keyOf.apply(item)), template -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+    /**
+     * 并行执行，第一个任务在当前线程执行；任一任务失败时取消其余任务
+     *
+     * @param tasks 任务
+     * @param <T>   泛型
+     * @return 结果，顺序与任务一致
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.isEmpty()) {
+            return results;
+        }
+        List<Future<T>> futures = new ArrayList<>(tasks.size() - 1);
+        try {
+            for (Callable<T> task : tasks.subList(1, tasks.size())) {
+                futures.add(executor.submit(task));
+            }
+            results.add(tasks.get(0).call());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            cancel(futures);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (RuntimeException e) {
+            cancel(futures);
+            throw e;
+        } catch (Exception e) {
+            cancel(futures);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * 关闭线程池及各节点的连接
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        for (RedisTemplate<String, Object> template : ring.getNodes()) {
+            RedisConnectionFactory connectionFactory = template.getConnectionFactory();
+            if (connectionFactory instanceof DisposableBean) {
+                try {
+                    ((DisposableBean) connectionFactory).destroy();
+                } catch (Exception e) {
+                    log.warn("Failed to close redis shard connection", e);
+                }
+            }
+        }
+    }
+}
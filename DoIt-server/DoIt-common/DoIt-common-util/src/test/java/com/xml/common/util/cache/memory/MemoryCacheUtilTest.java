@@ -0,0 +1,96 @@
+package com.xml.common.util.cache.memory;
+
+import com.xml.common.util.cache.redis.exception.DoItRedisException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MemoryCacheUtil} 的超时时间、类型及递增递减与Redis命令一致
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+class MemoryCacheUtilTest {
+
+    private MemoryCacheUtil cacheUtil;
+
+    @BeforeEach
+    void setUp() {
+        cacheUtil = new MemoryCacheUtil(10, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheUtil.destroy();
+    }
+
+    @Test
+    void expireSecondFollowsTtl() {
+        assertEquals(-2L, cacheUtil.getExpireSecond("missing"));
+        cacheUtil.setString("forever", "v");
+        assertEquals(-1L, cacheUtil.getExpireSecond("forever"));
+        cacheUtil.setString("ttl", "v", 100);
+        assertEquals(100L, cacheUtil.getExpireSecond("ttl"));
+    }
+
+    @Test
+    void expiredKeyIsInvisible() throws InterruptedException {
+        cacheUtil.setString("key", "v");
+        assertTrue(cacheUtil.expire("key", 30, TimeUnit.MILLISECONDS));
+        Thread.sleep(60);
+        assertNull(cacheUtil.getString("key"));
+        assertFalse(cacheUtil.hasKey("key"));
+        assertEquals(-2L, cacheUtil.getExpireSecond("key"));
+        assertFalse(cacheUtil.expire("key", 10));
+    }
+
+    @Test
+    void setClearsTtlAndIncrementKeepsIt() {
+        cacheUtil.setString("key", 1L, 100);
+        assertEquals(3L, cacheUtil.incrementString("key", 2));
+        assertEquals(100L, cacheUtil.getExpireSecond("key"));
+        cacheUtil.setString("key", 1L);
+        assertEquals(-1L, cacheUtil.getExpireSecond("key"));
+    }
+
+    @Test
+    void incrementAndDecrement() {
+        assertEquals(5L, cacheUtil.incrementString("counter", 5));
+        assertEquals(2L, cacheUtil.decrementString("counter", -3));
+        assertEquals(1.5, cacheUtil.incrementMap("map", "hash", 1.5));
+        assertEquals(1.0, cacheUtil.decrementMap("map", "hash", -0.5));
+        assertThrows(DoItRedisException.class, () -> cacheUtil.incrementString("counter", 0));
+        assertThrows(DoItRedisException.class, () -> cacheUtil.decrementString("counter", 1));
+    }
+
+    @Test
+    void wrongTypeIsRejected() {
+        cacheUtil.setString("key", "v");
+        assertThrows(DoItRedisException.class, () -> cacheUtil.getMap("key"));
+        assertThrows(DoItRedisException.class, () -> cacheUtil.incrementMap("key", "hash", 1));
+        assertFalse(cacheUtil.setMap("key", "hash", "v"));
+        cacheUtil.setMap("map", "hash", "v");
+        assertThrows(DoItRedisException.class, () -> cacheUtil.getString("map"));
+        assertThrows(DoItRedisException.class, () -> cacheUtil.incrementString("map", 1));
+    }
+
+    @Test
+    void emptyCollectionRemovesKey() {
+        cacheUtil.setMap("map", Collections.<String, Object>singletonMap("hash", "v"));
+        cacheUtil.deleteMap("map", "hash");
+        assertFalse(cacheUtil.hasKey("map"));
+        cacheUtil.setSet("set", "a");
+        cacheUtil.deleteSet("set", "a");
+        assertFalse(cacheUtil.hasKey("set"));
+    }
+}
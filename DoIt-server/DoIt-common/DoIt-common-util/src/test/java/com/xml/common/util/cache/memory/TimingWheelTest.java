@@ -0,0 +1,58 @@
+package com.xml.common.util.cache.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link TimingWheel} 的到期回调
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+class TimingWheelTest {
+
+    /**
+     * 刻度足够大，定时任务在测试期间不会执行，只通过 {@link TimingWheel#advance()} 前进
+     */
+    private static final long MANUAL_TICK_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    void expiresPastDeadlineOnAdvance() {
+        List<String> expired = new CopyOnWriteArrayList<>();
+        try (TimingWheel wheel = new TimingWheel(MANUAL_TICK_MILLIS, 8, expired::add)) {
+            // 到期时间按刻度向上取整，早于时间轮启动时间的才落在第一个刻度
+            wheel.schedule("past", System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(MANUAL_TICK_MILLIS));
+            wheel.schedule("future", System.nanoTime() + TimeUnit.MINUTES.toNanos(1));
+            wheel.advance();
+            assertEquals(1, expired.size());
+            assertEquals("past", expired.get(0));
+        }
+    }
+
+    @Test
+    void firesOnceAfterDeadline() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<String> expired = new CopyOnWriteArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        long[] firedAt = new long[1];
+        try (TimingWheel wheel = new TimingWheel(5, 4, key -> {
+            firedAt[0] = System.nanoTime();
+            expired.add(key);
+            latch.countDown();
+        })) {
+            // 超出一圈（4个槽 * 5毫秒），经过所在的槽时需要重新放回
+            wheel.schedule("key", deadline);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertTrue(firedAt[0] - deadline >= 0);
+            Thread.sleep(50);
+            assertEquals(1, expired.size());
+        }
+    }
+}
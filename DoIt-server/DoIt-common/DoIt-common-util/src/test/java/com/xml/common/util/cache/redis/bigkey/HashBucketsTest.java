@@ -0,0 +1,81 @@
+package com.xml.common.util.cache.redis.bigkey;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HashBuckets} 的前缀匹配及物理键
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+class HashBucketsTest {
+
+    private final HashBuckets buckets = new HashBuckets(buckets());
+
+    @Test
+    void longestPrefixWins() {
+        assertEquals(4, buckets.bucketCount("todo:1"));
+        assertEquals(16, buckets.bucketCount("todo:list:1"));
+        assertEquals(0, buckets.bucketCount("user:1"));
+    }
+
+    @Test
+    void unbucketedKeyIsUnchanged() {
+        assertEquals("user:1", buckets.bucketKey("user:1", "name"));
+        assertEquals(Collections.singletonList("user:1"), buckets.bucketKeys("user:1"));
+    }
+
+    @Test
+    void bucketKeyIsStableAndListed() {
+        List<String> keys = buckets.bucketKeys("todo:1");
+        assertEquals(Arrays.asList("todo:1::0", "todo:1::1", "todo:1::2", "todo:1::3"), keys);
+        for (int i = 0; i < 100; i++) {
+            String key = buckets.bucketKey("todo:1", "field-" + i);
+            assertEquals(key, buckets.bucketKey("todo:1", "field-" + i));
+            assertTrue(keys.contains(key), key);
+        }
+        // 项按字符串计算，数字与其字符串形式位于同一个桶
+        assertEquals(buckets.bucketKey("todo:1", "42"), buckets.bucketKey("todo:1", 42));
+    }
+
+    @Test
+    void splitKeepsEveryEntryInItsBucket() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            map.put("field-" + i, i);
+        }
+        Map<String, Map<String, Object>> split = buckets.split("todo:1", map);
+        int total = 0;
+        for (Map.Entry<String, Map<String, Object>> bucket : split.entrySet()) {
+            for (Map.Entry<String, Object> entry : bucket.getValue().entrySet()) {
+                assertEquals(bucket.getKey(), buckets.bucketKey("todo:1", entry.getKey()));
+                assertEquals(map.get(entry.getKey()), entry.getValue());
+                total++;
+            }
+        }
+        assertEquals(map.size(), total);
+    }
+
+    @Test
+    void rejectsSingleBucket() {
+        assertThrows(IllegalArgumentException.class, () -> new HashBuckets(Collections.singletonMap("todo:", 1)));
+    }
+
+    private static Map<String, Integer> buckets() {
+        Map<String, Integer> buckets = new HashMap<>();
+        buckets.put("todo:", 4);
+        buckets.put("todo:list:", 16);
+        return buckets;
+    }
+}
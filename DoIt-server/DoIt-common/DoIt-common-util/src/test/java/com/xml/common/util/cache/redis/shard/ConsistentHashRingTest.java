@@ -0,0 +1,82 @@
+package com.xml.common.util.cache.redis.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ConsistentHashRing} 的哈希标签及节点分布
+ *
+ * @author XMINGL
+ * @since 1.0.0
+ */
+class ConsistentHashRingTest {
+
+    @Test
+    void hashTagFollowsRedisCluster() {
+        assertEquals("user:1", ConsistentHashRing.hashTag("user:1"));
+        assertEquals("1", ConsistentHashRing.hashTag("user:{1}:profile"));
+        assertEquals("a", ConsistentHashRing.hashTag("{a}{b}"));
+        // 空的标签不生效，使用整个键
+        assertEquals("user:{}:1", ConsistentHashRing.hashTag("user:{}:1"));
+        assertEquals("user:{1", ConsistentHashRing.hashTag("user:{1"));
+    }
+
+    @Test
+    void sameHashTagRoutesToSameNode() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes(4), 64);
+        for (int i = 0; i < 100; i++) {
+            String node = ring.route("queue:{" + i + "}:ready");
+            assertEquals(node, ring.route("queue:{" + i + "}:processing"));
+            assertEquals(node, ring.route("queue:{" + i + "}:jobs"));
+        }
+    }
+
+    @Test
+    void keysSpreadAcrossNodes() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes(4), 160);
+        Set<String> used = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            used.add(ring.route("key:" + i));
+        }
+        assertEquals(4, used.size());
+    }
+
+    @Test
+    void addingNodeOnlyMovesKeysToIt() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(nodes(4), 160);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(nodes(5), 160);
+        int moved = 0;
+        for (int i = 0; i < 10000; i++) {
+            String key = "key:" + i;
+            String node = after.route(key);
+            if (!node.equals(before.route(key))) {
+                assertEquals("node-4", node);
+                moved++;
+            }
+        }
+        assertTrue(moved > 0 && moved < 4000, "moved " + moved);
+    }
+
+    @Test
+    void rejectsEmptyNodes() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(Collections.<String, String>emptyMap(), 16));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(nodes(1), 0));
+    }
+
+    private static Map<String, String> nodes(int count) {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            nodes.put("node-" + i, "node-" + i);
+        }
+        return nodes;
+    }
+}